@@ -3,6 +3,8 @@ package JOO.jooshop.admin.products.controller;
 import JOO.jooshop.admin.products.model.AdminProductRequestDto;
 import JOO.jooshop.admin.products.model.AdminProductResponseDto;
 import JOO.jooshop.admin.products.service.AdminProductService;
+import JOO.jooshop.product.model.ProductListCacheStatsDto;
+import JOO.jooshop.product.service.ProductListCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +18,7 @@ import java.util.List;
 public class AdminProductApiController {
 
     private final AdminProductService productService;
+    private final ProductListCache productListCache;
 
     /** 상품 전체 조회 */
     @GetMapping
@@ -51,4 +54,10 @@ public class AdminProductApiController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    /** 상품 목록 결과 캐시 hit / miss 통계 (캐시 크기 산정용) */
+    @GetMapping("/list-cache/stats")
+    public ResponseEntity<ProductListCacheStatsDto> listCacheStats() {
+        return ResponseEntity.ok(productListCache.stats());
+    }
 }
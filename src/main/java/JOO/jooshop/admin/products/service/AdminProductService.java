@@ -3,7 +3,7 @@ package JOO.jooshop.admin.products.service;
 import JOO.jooshop.admin.products.model.AdminProductRequestDto;
 import JOO.jooshop.admin.products.model.AdminProductResponseDto;
 import JOO.jooshop.admin.products.repository.AdminProductRepository;
-import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.categorys.repository.CategoryRepository;
 import JOO.jooshop.contentImgs.entity.ContentImages;
 import JOO.jooshop.contentImgs.entity.enums.UploadType;
 import JOO.jooshop.contentImgs.repository.ContentImagesRepository;
@@ -11,18 +11,28 @@ import JOO.jooshop.contentImgs.service.ContentImgService;
 import JOO.jooshop.global.file.FileStorageService;
 import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.ProductColor;
-import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductColorRepository;
+import JOO.jooshop.productManagement.model.ProductOptionRow;
 import JOO.jooshop.productManagement.entity.enums.Size;
 import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.productManagement.repository.ProductOptionBatchRepository;
+import JOO.jooshop.productManagement.stock.FlashSaleStockService;
+import JOO.jooshop.productManagement.stock.StockReservationService;
 import JOO.jooshop.thumbnail.service.ThumbnailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -38,6 +48,12 @@ public class AdminProductService {
 
     private final ContentImagesRepository contentImagesRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductColorRepository productColorRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductOptionBatchRepository productOptionBatchRepository;
+    private final StockReservationService stockReservationService;
+    private final FlashSaleStockService flashSaleStockService;
 
     /* =========================
        Query
@@ -90,6 +106,8 @@ public class AdminProductService {
             contentImgService.uploadContentImages(saved, contentImages, UploadType.PRODUCT);
         }
 
+        eventPublisher.publishEvent(ProductChangedEvent.of(saved.getProductId()));
+
         return toResponseDto(saved);
     }
 
@@ -115,37 +133,106 @@ public class AdminProductService {
             contentImgService.uploadContentImages(product, contentImages, UploadType.PRODUCT);
         }
 
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
+
         return toResponseDto(product);
     }
 
-    private void replaceOptions(Product product, List<AdminProductRequestDto.ProductManagementDto> options) {
-        if (options == null) return; // null이면 변경 없음
+    /*
+        옵션 교체 (diff 반영)
+
+        기존
+        - 수정할 때마다 deleteByProductId 후 옵션 전체 재등록
+          → inventory_id 가 매번 새로 발급되어 장바구니(Cart.productManagement) 참조가 깨지고,
+            사이즈 하나만 바뀌어도 모든 행 / 인덱스 엔트리를 다시 쓴다.
+        - 색상 / 카테고리를 이름으로 새 엔티티를 만들어 넣어 기존 행과 연결되지 않았다.
+
+        변경
+        - 색상 / 카테고리 이름을 IN 조회 한 번씩으로 ID 로 변환 (없는 색상은 등록, 없는 카테고리는 400)
+        - 현재 옵션 행과 (color, category, gender, size) 키로 diff (ProductOptionDiff)
+          → 빠진 행 delete / 재고가 바뀐 행 update / 새 행 insert, 각각 JDBC batch 한 번
+        - 유지되는 옵션은 inventory_id 그대로 → 장바구니 / 주문 참조 유지
+        - 수정 / 삭제되는 옵션이 플래시 세일 중이면 거부, 커밋 후 Redis 가용 재고 카운터 폐기
+     */
+    private ProductOptionDiff.Plan replaceOptions(Product product, List<AdminProductRequestDto.ProductManagementDto> options) {
+        if (options == null) return null; // null이면 변경 없음
 
         Long productId = product.getProductId();
+        List<AdminProductRequestDto.ProductManagementDto> requested = options.stream()
+                .filter(Objects::nonNull)
+                .toList();
 
-        productManagementRepository.deleteByProductId(productId);
+        Map<String, Long> colorIds = resolveColorIds(requested);
+        Map<String, Long> categoryIds = resolveCategoryIds(requested);
+
+        List<ProductOptionRow> desired = new ArrayList<>(requested.size());
+        List<Long> requestedStock = new ArrayList<>(requested.size());
+        for (AdminProductRequestDto.ProductManagementDto opt : requested) {
+            desired.add(new ProductOptionRow(
+                    null,
+                    colorIds.get(opt.getColor()),
+                    categoryIds.get(opt.getCategory()),
+                    opt.getGender(),
+                    Size.valueOf(opt.getSize()),
+                    0L,
+                    0L
+            ));
+            requestedStock.add(opt.getStock());
+        }
 
-        if (options.isEmpty()) return;
+        ProductOptionDiff.Plan plan = ProductOptionDiff.diff(
+                productOptionBatchRepository.findByProductId(productId), desired, requestedStock);
+        if (plan.isEmpty()) return plan;
 
-        List<ProductManagement> newOptions = options.stream()
-                .map(opt -> toProductManagement(product, opt))
-                .toList();
+        List<Long> touched = new ArrayList<>(plan.deletes());
+        plan.updates().forEach(row -> touched.add(row.inventoryId()));
+        if (!touched.isEmpty() && !flashSaleStockService.activeShards(touched).isEmpty()) {
+            throw new IllegalStateException("플래시 세일 중인 옵션은 수정 / 삭제할 수 없습니다. productId=" + productId);
+        }
 
-        productManagementRepository.saveAll(newOptions);
+        productOptionBatchRepository.delete(plan.deletes());
+        productOptionBatchRepository.updateStock(plan.updates());
+        productOptionBatchRepository.insert(productId, plan.inserts());
+        touched.forEach(stockReservationService::evictAfterCommit);
+
+        log.debug("[AdminProduct] options synced. productId={}, insert={}, update={}, delete={}, unchanged={}",
+                productId, plan.inserts().size(), plan.updates().size(), plan.deletes().size(), plan.unchanged());
+        return plan;
     }
 
-    private ProductManagement toProductManagement(Product product, AdminProductRequestDto.ProductManagementDto dto) {
-        ProductColor color = ProductColor.ofName(dto.getColor());
-        Category category = Category.ofName(dto.getCategory());
-        Size size = Size.valueOf(dto.getSize());
-
-        return ProductManagement.create(
-                color,
-                category,
-                dto.getGender(),
-                size,
-                dto.getStock() == null ? 0L : dto.getStock()
-        );
+    // 색상 이름 → ID (없는 색상은 새로 등록)
+    private Map<String, Long> resolveColorIds(List<AdminProductRequestDto.ProductManagementDto> options) {
+        Set<String> names = options.stream()
+                .map(AdminProductRequestDto.ProductManagementDto::getColor)
+                .collect(Collectors.toSet());
+        if (names.isEmpty()) return Map.of();
+
+        Map<String, Long> ids = new HashMap<>();
+        productColorRepository.findByColorIn(names).forEach(c -> ids.put(c.getColor(), c.getColorId()));
+        for (String name : names) {
+            if (!ids.containsKey(name)) {
+                ProductColor saved = productColorRepository.save(ProductColor.ofName(name));
+                ids.put(name, saved.getColorId());
+            }
+        }
+        return ids;
+    }
+
+    // 카테고리 이름 → ID (카테고리 트리는 카테고리 관리에서만 만든다)
+    private Map<String, Long> resolveCategoryIds(List<AdminProductRequestDto.ProductManagementDto> options) {
+        Set<String> names = options.stream()
+                .map(AdminProductRequestDto.ProductManagementDto::getCategory)
+                .collect(Collectors.toSet());
+        if (names.isEmpty()) return Map.of();
+
+        Map<String, Long> ids = new HashMap<>();
+        categoryRepository.findByNameIn(names).forEach(c -> ids.put(c.getName(), c.getCategoryId()));
+        for (String name : names) {
+            if (!ids.containsKey(name)) {
+                throw new IllegalArgumentException("존재하지 않는 카테고리입니다. category=" + name);
+            }
+        }
+        return ids;
     }
 
     /* =========================
@@ -163,8 +250,15 @@ public class AdminProductService {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("상품이 존재하지 않습니다."));
 
-        // 1) 옵션 삭제 (FK 안전)
+        // 1) 옵션 삭제 (FK 안전) - 플래시 세일 중인 옵션이 있으면 거부 (샤드와 DB 재고 불일치 방지)
+        List<Long> inventoryIds = productOptionBatchRepository.findByProductId(productId).stream()
+                .map(ProductOptionRow::inventoryId)
+                .toList();
+        if (!inventoryIds.isEmpty() && !flashSaleStockService.activeShards(inventoryIds).isEmpty()) {
+            throw new IllegalStateException("플래시 세일 중인 옵션이 있는 상품은 삭제할 수 없습니다. productId=" + productId);
+        }
         productManagementRepository.deleteByProductId(productId);
+        inventoryIds.forEach(stockReservationService::evictAfterCommit);
 
         // 2) 썸네일 파일 + DB 삭제 (ThumbnailService 내부도 best-effort)
         thumbnailService.deleteAllThumbnailsByProductId(productId);
@@ -174,6 +268,9 @@ public class AdminProductService {
 
         // 4) Product 삭제 (DB 정리의 최종 단계)
         productRepository.delete(product);
+
+        // 5) 검색 / 패싯 인덱스 정리 (커밋 이후)
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId));
     }
 
     private void deleteAllContentImagesByProductIdBestEffort(Long productId) {
@@ -0,0 +1,74 @@
+package JOO.jooshop.admin.products.service;
+
+import JOO.jooshop.productManagement.model.ProductOptionRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 옵션 diff (현재 행 ↔ 요청 옵션, 키 = color / category / gender / size)
+ *
+ * - 요청에만 있는 키 → insert, 현재에만 있는 키 → delete
+ * - 양쪽에 있는 키는 재고가 다를 때만 update (inventoryId / version 은 현재 행 기준 유지)
+ * - 요청 재고가 null 이면 기존 옵션은 재고 유지, 새 옵션은 0
+ */
+public final class ProductOptionDiff {
+
+    private ProductOptionDiff() {
+    }
+
+    /**
+     * @param desired inventoryId 없는 요청 옵션 (stock 은 requestedStock 으로 따로 전달)
+     * @param requestedStock desired 와 같은 순서의 요청 재고 (null = 지정 안 함)
+     * @throws IllegalArgumentException 요청 안에 같은 옵션 키가 중복됨
+     */
+    public static Plan diff(List<ProductOptionRow> current, List<ProductOptionRow> desired, List<Long> requestedStock) {
+        Map<ProductOptionRow.Key, ProductOptionRow> currentByKey = new HashMap<>(current.size() * 2);
+        for (ProductOptionRow row : current) {
+            currentByKey.put(row.key(), row);
+        }
+
+        List<ProductOptionRow> inserts = new ArrayList<>();
+        List<ProductOptionRow> updates = new ArrayList<>();
+        int unchanged = 0;
+
+        Set<ProductOptionRow.Key> seen = new HashSet<>(desired.size() * 2);
+        for (int i = 0; i < desired.size(); i++) {
+            ProductOptionRow want = desired.get(i);
+            Long stock = requestedStock.get(i);
+            if (stock != null && stock < 0) {
+                throw new IllegalArgumentException("옵션 재고는 0 이상이어야 합니다. " + want.key());
+            }
+            if (!seen.add(want.key())) {
+                throw new IllegalArgumentException("중복된 옵션이 있습니다. " + want.key());
+            }
+
+            ProductOptionRow existing = currentByKey.remove(want.key());
+            if (existing == null) {
+                inserts.add(want.withStock(stock == null ? 0L : stock));
+            } else if (stock != null && stock != existing.stock()) {
+                updates.add(existing.withStock(stock));
+            } else {
+                unchanged++;
+            }
+        }
+
+        List<Long> deletes = currentByKey.values().stream().map(ProductOptionRow::inventoryId).toList();
+        return new Plan(inserts, updates, deletes, unchanged);
+    }
+
+    public record Plan(List<ProductOptionRow> inserts, List<ProductOptionRow> updates, List<Long> deletes, int unchanged) {
+
+        public boolean isEmpty() {
+            return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+        }
+
+        public int rowsWritten() {
+            return inserts.size() + updates.size() + deletes.size();
+        }
+    }
+}
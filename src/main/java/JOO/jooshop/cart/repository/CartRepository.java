@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +32,13 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
      */
     List<Cart> findByCartIdIn(List<Long> cartIds);
 
+    /**
+     * 주문 생성 / 확정용 cartId 일괄 조회
+     * EntityGraph: 옵션 → 상품 → 썸네일까지 한 번에 fetch (장바구니 수와 무관하게 쿼리 1 회)
+     */
+    @EntityGraph(attributePaths = {"productManagement", "productManagement.product", "productManagement.product.productThumbnails"})
+    List<Cart> findWithProductByCartIdIn(Collection<Long> cartIds);
+
     /**
      * 이 cartId들 중에서 이 회원 것이 맞는 것만 가져와
      */
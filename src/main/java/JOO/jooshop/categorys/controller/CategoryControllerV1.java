@@ -8,7 +8,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static JOO.jooshop.global.exception.ResponseMessageConstants.DELETE_SUCCESS;
 
@@ -33,12 +32,8 @@ public class CategoryControllerV1 {
      */
     @GetMapping("")
     public ResponseEntity<List<CategoryDto>> getCategoryList() {
-        List<Category> topLevelCategories = categoryService.getTopLevelCategories(); // 최상위 부모 카테고리만 가져오는 메서드
-
-        // 부모 카테고리 리스트를 DTO로 변환
-        List<CategoryDto> categoryDtoList = topLevelCategories.stream()
-                .map(CategoryDto::of)
-                .collect(Collectors.toList());
+        // 최상위 부모 카테고리 + 하위 카테고리 (카테고리 트리 스냅샷에서 DTO 로 바로 조회)
+        List<CategoryDto> categoryDtoList = categoryService.getTopLevelCategories();
         return ResponseEntity.ok(categoryDtoList);
     }
 
@@ -0,0 +1,8 @@
+package JOO.jooshop.categorys.model;
+
+/**
+ * 카테고리 트리 스냅샷 적재용 프로젝션 (엔티티/연관관계 로딩 없이 한 번의 쿼리로 전체 트리 조회)
+ * @param parentId 최상위 카테고리면 null
+ */
+public record CategoryNode(Long categoryId, String name, Long depth, Long parentId) {
+}
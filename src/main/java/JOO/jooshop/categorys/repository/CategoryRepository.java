@@ -1,9 +1,12 @@
 package JOO.jooshop.categorys.repository;
 
 import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.categorys.model.CategoryNode;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +21,11 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findByName(String name);
 
+    List<Category> findByNameIn(Collection<String> names);
+
+    // 카테고리 트리 스냅샷 적재용 (id, name, depth, parentId)
+    @Query("select new JOO.jooshop.categorys.model.CategoryNode(c.categoryId, c.name, c.depth, p.categoryId) " +
+            "from Category c left join c.parent p order by c.categoryId")
+    List<CategoryNode> findAllNodes();
+
 }
@@ -12,7 +12,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.InvalidParameterException;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional(rollbackFor = Exception.class)
@@ -20,19 +19,22 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeSnapshot categoryTreeSnapshot;
 
     /**
-     * 전체 카테고리 조회
+     * 전체 카테고리 조회 (최상위 카테고리 + children)
+     * - 기존: findByParentIsNull() 후 children lazy 로딩
+     * - 변경: 카테고리 트리 스냅샷에서 조회
      * @return
      */
-    public List<Category> getTopLevelCategories() {
-        return categoryRepository.findByParentIsNull(); // 부모 카테고리가 null 인 경우
+    @Transactional(readOnly = true)
+    public List<CategoryDto> getTopLevelCategories() {
+        return categoryTreeSnapshot.getTopLevelCategories();
     }
-    
+
+    @Transactional(readOnly = true)
     public List<CategoryDto> getCategoryList() {
-        return categoryRepository.findAll().stream()
-                .map(CategoryDto::of)
-                .collect(Collectors.toList());
+        return categoryTreeSnapshot.getCategoryList();
     }
 
     /**
@@ -54,12 +56,16 @@ public class CategoryService {
 
             Category category = new Category(parentCategory, parentCategory.getDepth() + 1, request.getName());
             parentCategory.getChildren().add(category);
-            return categoryRepository.save(category).getCategoryId();
+            Long categoryId = categoryRepository.save(category).getCategoryId();
+            categoryTreeSnapshot.invalidateAfterCommit();
+            return categoryId;
         }
 
         // 부모 카테고리가 지정되지 않은 경우
         Category childCategory = new Category(0l, request.getName());
-        return categoryRepository.save(childCategory).getCategoryId();
+        Long categoryId = categoryRepository.save(childCategory).getCategoryId();
+        categoryTreeSnapshot.invalidateAfterCommit();
+        return categoryId;
     }
 
     @RequiresRole({MemberRole.ADMIN, MemberRole.SELLER})
@@ -69,6 +75,7 @@ public class CategoryService {
 
         if (category.getChildren().isEmpty()) {
             categoryRepository.delete(category);
+            categoryTreeSnapshot.invalidateAfterCommit();
         } else {
             throw new IllegalArgumentException("삭제 실패 : 하위 카테고리가 존재합니다.");
         }
@@ -0,0 +1,249 @@
+package JOO.jooshop.categorys.service;
+
+import JOO.jooshop.categorys.model.CategoryDto;
+import JOO.jooshop.categorys.model.CategoryNode;
+import JOO.jooshop.categorys.repository.CategoryRepository;
+import JOO.jooshop.global.transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryTreeSnapshot {
+
+    /*
+        카테고리 트리 인메모리 스냅샷
+
+        기존
+        - 목록 카테고리 필터가 productManagements.any() 서브쿼리 2개 (category = ? OR parent = ?) 로 나가고
+          부모 한 단계까지만 처리
+        - 카테고리 조회 API 는 최상위 카테고리 조회 후 children 을 lazy 로딩 (N+1)
+
+        변경
+        - 전체 카테고리를 한 번의 프로젝션 쿼리로 읽어 트리 + 카테고리별 하위 ID 집합(자기 자신 포함)을 미리 계산
+        - 목록 필터는 하위 ID 집합으로 category_id IN (...) 서브쿼리 하나만 사용 (깊이 무관)
+        - 카테고리 생성/삭제 커밋 이후 invalidate → 다음 조회 시 다시 적재
+        - 적재 도중 invalidate 가 일어나면 version 이 달라지므로 해당 결과는 버린다. (오래된 스냅샷 고정 방지)
+        - 다른 인스턴스의 변경: 커밋 이후 Redis 버전 키(category:tree:version)를 INCR 하고,
+          각 인스턴스는 check-millis 마다 한 번 버전 키를 읽어 적재 당시 값과 다르면 다시 적재한다.
+          (조회마다 Redis 를 읽지 않는다. Redis 를 읽지 못하면 check-millis 가 TTL 로 동작해 그냥 다시 적재)
+     */
+
+    private static final String VERSION_KEY = "category:tree:version";
+
+    private final CategoryRepository categoryRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${category.snapshot.check-millis:30000}")
+    private long checkMillis;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Tree current;
+    private volatile long nextCheckAt;
+
+    /* =========================
+       Query
+    ========================= */
+
+    /**
+     * 카테고리 + 모든 하위 카테고리 ID (자기 자신 포함)
+     * - 스냅샷에 없는 ID(다른 인스턴스에서 막 생성된 경우 등)는 자기 자신만 반환
+     */
+    public Set<Long> descendantIdsOf(Long categoryId) {
+        Set<Long> ids = tree().descendants().get(categoryId);
+        return ids != null ? ids : Set.of(categoryId);
+    }
+
+    /**
+     * 카테고리가 속한 최상위 카테고리 ID (최상위면 자기 자신, 스냅샷에 없으면 null)
+     */
+    public Long topLevelIdOf(Long categoryId) {
+        return tree().topLevel().get(categoryId);
+    }
+
+    /**
+     * 최상위 카테고리 노드 (categoryId 오름차순, children 미포함)
+     */
+    public List<CategoryNode> topLevelNodes() {
+        Tree tree = tree();
+        return tree.roots().stream()
+                .map(tree.nodes()::get)
+                .toList();
+    }
+
+    /**
+     * 최상위 카테고리 트리 (children 포함)
+     */
+    public List<CategoryDto> getTopLevelCategories() {
+        Tree tree = tree();
+        return tree.roots().stream()
+                .map(id -> toDto(tree, id))
+                .toList();
+    }
+
+    /**
+     * 전체 카테고리 (카테고리마다 자신의 하위 트리 포함)
+     */
+    public List<CategoryDto> getCategoryList() {
+        Tree tree = tree();
+        return tree.nodes().keySet().stream()
+                .map(id -> toDto(tree, id))
+                .toList();
+    }
+
+    public long version() {
+        return tree().version();
+    }
+
+    /* =========================
+       Invalidate
+    ========================= */
+
+    /**
+     * 카테고리 생성/삭제 트랜잭션 커밋 이후 스냅샷 폐기 (다른 인스턴스는 Redis 버전 키로 감지)
+     */
+    public void invalidateAfterCommit() {
+        AfterCommit.run(() -> {
+            bumpSharedVersion();
+            invalidate();
+        });
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+        current = null;
+    }
+
+    /* =========================
+       Build
+    ========================= */
+
+    private Tree tree() {
+        Tree tree = current;
+        if (tree != null && System.currentTimeMillis() < nextCheckAt) {
+            return tree;
+        }
+
+        synchronized (this) {
+            tree = current;
+            long now = System.currentTimeMillis();
+            if (tree != null && now < nextCheckAt) {
+                return tree;
+            }
+
+            // 버전 키를 DB 보다 먼저 읽는다 → 적재 중 다른 인스턴스가 올린 버전은 다음 확인에서 걸린다.
+            String sharedVersion = readSharedVersion();
+            if (tree != null && sharedVersion != null && sharedVersion.equals(tree.sharedVersion())) {
+                nextCheckAt = now + checkMillis;
+                return tree;
+            }
+
+            long loadingVersion = version.get();
+            tree = build(loadingVersion, sharedVersion, categoryRepository.findAllNodes());
+
+            // 적재 중 invalidate 되었으면 이번 결과는 이번 호출에만 사용하고 보관하지 않는다.
+            if (version.get() == loadingVersion) {
+                current = tree;
+                nextCheckAt = now + checkMillis;
+            }
+            return tree;
+        }
+    }
+
+    // 키가 없으면 "0", Redis 오류면 null (→ 스냅샷을 다시 적재)
+    private String readSharedVersion() {
+        try {
+            String value = redisTemplate.opsForValue().get(VERSION_KEY);
+            return value == null ? "0" : value;
+        } catch (RuntimeException e) {
+            log.warn("[CategoryTreeSnapshot] version key read failed, reloading snapshot", e);
+            return null;
+        }
+    }
+
+    private void bumpSharedVersion() {
+        try {
+            redisTemplate.opsForValue().increment(VERSION_KEY);
+        } catch (RuntimeException e) {
+            // 다른 인스턴스는 check-millis 이후 Redis 를 다시 읽을 수 있을 때 또는 TTL 로 다시 적재
+            log.warn("[CategoryTreeSnapshot] version key increment failed", e);
+        }
+    }
+
+    private static Tree build(long version, String sharedVersion, List<CategoryNode> rows) {
+        Map<Long, CategoryNode> nodes = new LinkedHashMap<>();
+        Map<Long, List<Long>> children = new HashMap<>();
+        List<Long> roots = new ArrayList<>();
+
+        for (CategoryNode node : rows) { // categoryId 오름차순
+            nodes.put(node.categoryId(), node);
+        }
+        for (CategoryNode node : rows) {
+            if (node.parentId() == null || !nodes.containsKey(node.parentId())) {
+                roots.add(node.categoryId());
+            } else {
+                children.computeIfAbsent(node.parentId(), k -> new ArrayList<>()).add(node.categoryId());
+            }
+        }
+
+        Map<Long, Set<Long>> descendants = new HashMap<>();
+        for (Long id : nodes.keySet()) {
+            descendants.put(id, Collections.unmodifiableSet(collectDescendants(id, children)));
+        }
+
+        Map<Long, Long> topLevel = new HashMap<>();
+        for (Long rootId : roots) {
+            descendants.get(rootId).forEach(id -> topLevel.putIfAbsent(id, rootId));
+        }
+
+        Map<Long, List<Long>> frozenChildren = new HashMap<>();
+        children.forEach((id, list) -> frozenChildren.put(id, List.copyOf(list)));
+
+        log.debug("[CategoryTreeSnapshot] built. version={}, categories={}", version, nodes.size());
+        return new Tree(version, sharedVersion, Collections.unmodifiableMap(nodes), frozenChildren, List.copyOf(roots), descendants, topLevel);
+    }
+
+    private static Set<Long> collectDescendants(Long rootId, Map<Long, List<Long>> children) {
+        Set<Long> result = new HashSet<>();
+        List<Long> stack = new ArrayList<>();
+        stack.add(rootId);
+        while (!stack.isEmpty()) {
+            Long id = stack.remove(stack.size() - 1);
+            if (!result.add(id)) continue; // 잘못된 데이터로 순환이 생겨도 무한 루프 방지
+            stack.addAll(children.getOrDefault(id, List.of()));
+        }
+        return result;
+    }
+
+    // CategoryDto 는 가변 객체이므로 호출마다 새로 만든다.
+    private static CategoryDto toDto(Tree tree, Long id) {
+        CategoryNode node = tree.nodes().get(id);
+        List<CategoryDto> childDtos = new ArrayList<>();
+        for (Long childId : tree.children().getOrDefault(id, List.of())) {
+            childDtos.add(toDto(tree, childId));
+        }
+        return new CategoryDto(node.categoryId(), node.name(), node.depth(), childDtos);
+    }
+
+    private record Tree(long version,
+                        String sharedVersion,
+                        Map<Long, CategoryNode> nodes,
+                        Map<Long, List<Long>> children,
+                        List<Long> roots,
+                        Map<Long, Set<Long>> descendants,
+                        Map<Long, Long> topLevel) {}
+}
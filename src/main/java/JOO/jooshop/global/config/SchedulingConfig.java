@@ -0,0 +1,13 @@
+package JOO.jooshop.global.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 백그라운드 작업 활성화 (랭킹 스냅샷 갱신 등)
+ * - 스케줄러 스레드 수는 spring.task.scheduling.pool.size 로 설정 (기본 1 → 작업끼리 서로 밀리지 않도록 늘려 둔다)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
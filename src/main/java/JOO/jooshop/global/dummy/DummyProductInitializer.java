@@ -6,6 +6,7 @@ import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.ProductColor;
 import JOO.jooshop.product.entity.enums.Gender;
 import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.product.model.ProductChangedEvent;
 import JOO.jooshop.product.repository.ProductColorRepository;
 import JOO.jooshop.product.repository.ProductRepository;
 import JOO.jooshop.productManagement.entity.ProductManagement;
@@ -15,11 +16,13 @@ import JOO.jooshop.thumbnail.repository.ProductThumbnailRepositoryV1;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -39,6 +42,7 @@ public class DummyProductInitializer implements CommandLineRunner { // 스프링
 
     private final ProductThumbnailRepositoryV1 productThumbnailRepository;
     private final ProductManagementRepository productManagementRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Random random = new Random();
 
@@ -48,12 +52,14 @@ public class DummyProductInitializer implements CommandLineRunner { // 스프링
 
         log.info("[DummyProductInitializer] START");
 
-        resetDummyData(); // 기존 더미 삭제
+        List<Long> changedIds = new ArrayList<>(resetDummyData()); // 기존 더미 삭제
 
         Category dummyCategory = getOrCreateDefaultCategory(); // 기본 카테고리/컬러 확보
         ProductColor dummyColor = getOrCreateDefaultColor();
 
-        createDummyProducts(dummyCategory, dummyColor); // 새 더미 생성
+        changedIds.addAll(createDummyProducts(dummyCategory, dummyColor)); // 새 더미 생성
+        // 기동 중 이미 올라간 인덱스 / 목록 캐시가 있으면 커밋 이후 갱신
+        if (!changedIds.isEmpty()) eventPublisher.publishEvent(ProductChangedEvent.of(changedIds));
 
         log.info("[DummyProductInitializer] END");
     }
@@ -79,13 +85,13 @@ public class DummyProductInitializer implements CommandLineRunner { // 스프링
      * 1) bulk delete 메서드 있으면 bulk로
      * 2) 없으면 (레포가 단수만 있으면) 반복 삭제로 fallback
      */
-    protected void resetDummyData() {
+    protected List<Long> resetDummyData() {
         log.info("[DummyProductInitializer] delete dummy data only");
 
         List<Long> dummyIds = productRepository.findDummyIds();
         if (dummyIds == null || dummyIds.isEmpty()) {
             log.info("[DummyProductInitializer] no dummy data to delete");
-            return;
+            return List.of();
         }
 
         // 1) 옵션(ProductManagement) 먼저 삭제
@@ -98,6 +104,7 @@ public class DummyProductInitializer implements CommandLineRunner { // 스프링
         productRepository.deleteAllByIdInBatch(dummyIds);
 
         log.info("[DummyProductInitializer] deleted dummy products: {}", dummyIds.size());
+        return dummyIds;
     }
 
     private void safeDeleteOptionsByProductIds(List<Long> productIds) {
@@ -135,7 +142,7 @@ public class DummyProductInitializer implements CommandLineRunner { // 스프링
      * - Product 엔티티 그래프(썸네일/옵션)를 먼저 구성
      * - save 1번으로 저장되게 유지 (cascade + orphanRemoval 전제)
      */
-    private void createDummyProducts(Category dummyCategory, ProductColor dummyColor) {
+    private List<Long> createDummyProducts(Category dummyCategory, ProductColor dummyColor) {
         List<String> productNames = List.of(
                 "2025 맨유 홈 저지",
                 "2025 맨유 어웨이 저지",
@@ -168,6 +175,7 @@ public class DummyProductInitializer implements CommandLineRunner { // 스프링
                     productNames.size(), imageUrls.size(), count);
         }
 
+        List<Long> createdIds = new ArrayList<>();
         for (int i = 0; i < count; i++) {
             String name = productNames.get(i);
             String url = imageUrls.get(i);
@@ -183,11 +191,13 @@ public class DummyProductInitializer implements CommandLineRunner { // 스프링
 
                 Product saved = productRepository.save(product);
                 log.info("[Dummy] created product: {} (id={})", saved.getProductName(), saved.getProductId());
+                createdIds.add(saved.getProductId());
 
             } catch (Exception e) {
                 log.error("[Dummy] failed product: {}", name, e);
             }
         }
+        return createdIds;
     }
 
     private Product createProduct(String productName) {
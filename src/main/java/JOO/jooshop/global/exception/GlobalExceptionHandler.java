@@ -4,6 +4,7 @@ import JOO.jooshop.global.exception.customException.*;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -132,6 +133,13 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, ResponseMessageConstants.MEMBER_NOT_FOUND);
     }
 
+    // ===================== 409 Conflict =====================
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return buildResponse(HttpStatus.CONFLICT, ResponseMessageConstants.CONCURRENT_MODIFICATION);
+    }
+
     // ===================== 공통 응답 빌더 =====================
 
     private ResponseEntity<ErrorResponse> buildResponse(HttpStatus status, String message) {
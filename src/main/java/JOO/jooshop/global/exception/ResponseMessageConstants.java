@@ -22,4 +22,5 @@ public class ResponseMessageConstants {
     public static final String MEMBER_NOT_MATCH = "회원 정보가 일치하지 않습니다."; // 25.04.26
     public static final String CREDENTIALS_NOT_MATCH = "이메일 & 비밀번호가 일치하지 않습니다."; //25.06.13
     public static final String EMAIL_NOT_VERIFIED = "인증되지 않은 이메일 입니다."; // 25.06.14
+    public static final String CONCURRENT_MODIFICATION = "다른 요청에 의해 먼저 변경되었습니다. 다시 시도해 주세요."; // 26.10.18
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package JOO.jooshop.global.queries;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 상품 목록 커서(keyset) 페이지네이션 토큰
+ *
+ * - 마지막으로 내려준 상품의 정렬 키(sortValue) + productId(동일 정렬 키 tiebreaker)를 담는다.
+ * - 정렬 기준(order)도 함께 담아서, 다른 정렬로 커서를 재사용하는 요청은 거부한다.
+ * - 클라이언트에는 Base64(URL-safe) 문자열로만 노출 → 내부 포맷 변경에 자유로움
+ * - 정렬 키는 생성 시점에 정렬 기준 타입으로 검증 → 변조된 토큰은 쿼리 전에 IllegalArgumentException(400)
+ * - 정렬 키가 null 인 상품(등록일 / 찜 수 / 할인율 없음)은 빈 문자열(NULL_SORT_VALUE)로 담는다. (가격은 null 불가)
+ *
+ * 포맷: "{order}|{sortValue}|{productId}"
+ */
+public record ProductCursor(OrderBy order, String sortValue, Long productId) {
+
+    private static final String DELIMITER = "|";
+
+    /** null 정렬 키 (null 이 마지막인 내림차순 정렬에서 null 구간에 들어선 커서) */
+    public static final String NULL_SORT_VALUE = "";
+
+    public ProductCursor {
+        if (order == null) throw new IllegalArgumentException("cursor order must not be null");
+        if (sortValue == null) throw new IllegalArgumentException("cursor sortValue must not be null");
+        if (productId == null) throw new IllegalArgumentException("cursor productId must not be null");
+        parseSortKey(order, sortValue);
+    }
+
+    /**
+     * 정렬 기준 타입으로 파싱한 정렬 키
+     * - LATEST: LocalDateTime, POPULAR: Long, LOW_PRICE / HIGH_PRICE: BigDecimal, HIGH_DISCOUNT_RATE: Integer
+     * - NULL_SORT_VALUE 이면 null
+     */
+    public Comparable<?> sortKey() {
+        return parseSortKey(order, sortValue);
+    }
+
+    private static Comparable<?> parseSortKey(OrderBy order, String sortValue) {
+        if (NULL_SORT_VALUE.equals(sortValue) && order != OrderBy.LOW_PRICE && order != OrderBy.HIGH_PRICE) {
+            return null;
+        }
+        try {
+            switch (order) {
+                case POPULAR:
+                    return Long.parseLong(sortValue);
+                case LOW_PRICE:
+                case HIGH_PRICE:
+                    return new BigDecimal(sortValue);
+                case HIGH_DISCOUNT_RATE:
+                    return Integer.parseInt(sortValue);
+                case LATEST:
+                default:
+                    return LocalDateTime.parse(sortValue);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서 정렬 키입니다: " + sortValue, e);
+        }
+    }
+
+    public String encode() {
+        String raw = order.name() + DELIMITER + sortValue + DELIMITER + productId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("커서 값이 비어 있습니다.");
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+
+            int first = raw.indexOf(DELIMITER);
+            int last = raw.lastIndexOf(DELIMITER);
+            if (first < 0 || first == last) {
+                throw new IllegalArgumentException("잘못된 커서 형식입니다.");
+            }
+
+            OrderBy order = OrderBy.valueOf(raw.substring(0, first));
+            String sortValue = raw.substring(first + 1, last);
+            Long productId = Long.parseLong(raw.substring(last + 1));
+            return new ProductCursor(order, sortValue, productId);
+        } catch (IllegalArgumentException e) { // Base64 / enum / 숫자 / 정렬 키 파싱 실패 포함
+            throw new IllegalArgumentException("잘못된 커서입니다: " + token, e);
+        }
+    }
+}
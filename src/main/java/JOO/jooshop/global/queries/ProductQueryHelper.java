@@ -1,11 +1,18 @@
 package JOO.jooshop.global.queries;
 
+import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.QProduct;
 import JOO.jooshop.product.entity.enums.ProductType;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.Expressions;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public class ProductQueryHelper {
     /*
@@ -45,22 +52,171 @@ public class ProductQueryHelper {
 
     }
 
+    /* =========================
+       Keyset(커서) 페이지네이션
+       - offset 은 깊은 페이지일수록 앞 row 를 전부 읽고 버린다 → 페이지 깊이에 비례해 느려짐
+       - 커서 모드는 "마지막 정렬 키 + productId" 이후부터 읽으므로 깊이와 무관
+       - 정렬 키가 null 인 상품(createdAt, wishListCount, discountRate)이 있다.
+         · 기존: coalesce(col, 기본값) 으로 정렬/비교 → 식에 감싼 컬럼이라 (col, productId) 인덱스를 못 타고 매 페이지 filesort
+         · 변경: 컬럼 그대로 정렬/비교하고 null 은 조건으로 따로 처리 (MySQL 내림차순에서 null 은 마지막)
+           → products_table 의 (정렬 컬럼, productId) 인덱스 역순 스캔
+    ========================= */
+
+    /**
+     * 커서 모드 정렬: 정렬 키 + productId (동일 방향)
+     */
+    public static OrderSpecifier<?>[] getCursorOrderSpecifiers(OrderBy order, QProduct product) {
+        OrderBy resolved = resolveOrder(order);
+        boolean asc = isAscending(resolved);
+        ComparableExpression<?> key = cursorKey(resolved, product);
+
+        return asc
+                ? new OrderSpecifier<?>[]{key.asc(), product.productId.asc()}
+                : new OrderSpecifier<?>[]{key.desc(), product.productId.desc()};
+    }
+
+    /**
+     * 커서 이후 row 조건
+     * - 내림차순: key < v OR (key = v AND id < lastId) [OR key IS NULL]
+     * - 내림차순, 커서가 null 구간: key IS NULL AND id < lastId
+     * - 오름차순: key > v OR (key = v AND id > lastId)
+     */
+    public static BooleanExpression cursorPredicate(OrderBy order, ProductCursor cursor, QProduct product) {
+        OrderBy resolved = resolveOrder(order);
+        if (cursor.order() != resolved) {
+            throw new IllegalArgumentException("커서의 정렬 기준이 요청과 다릅니다.");
+        }
+
+        // 정렬 키 형식은 ProductCursor 생성 시 이미 검증됨
+        Comparable<?> value = cursor.sortKey();
+        Long lastId = cursor.productId();
+
+        switch (resolved) {
+            case POPULAR:
+                return keysetAfterNullsLast(popularKey(product), (Long) value, lastId, product);
+            case LOW_PRICE:
+                return keysetAfter(priceKey(product), (BigDecimal) value, true, lastId, product);
+            case HIGH_PRICE:
+                return keysetAfter(priceKey(product), (BigDecimal) value, false, lastId, product);
+            case HIGH_DISCOUNT_RATE:
+                return keysetAfterNullsLast(discountRateKey(product), (Integer) value, lastId, product);
+            case LATEST:
+            default:
+                return keysetAfterNullsLast(latestKey(product), (LocalDateTime) value, lastId, product);
+        }
+    }
+
+    /**
+     * 페이지 마지막 상품으로 다음 커서 생성 (정렬 키가 null 이면 ProductCursor.NULL_SORT_VALUE)
+     */
+    public static ProductCursor nextCursor(OrderBy order, Product last) {
+        OrderBy resolved = resolveOrder(order);
+        Object value;
+        switch (resolved) {
+            case POPULAR:
+                value = last.getWishListCount();
+                break;
+            case LOW_PRICE:
+            case HIGH_PRICE:
+                value = last.getPrice().toPlainString();
+                break;
+            case HIGH_DISCOUNT_RATE:
+                value = last.getDiscountRate();
+                break;
+            case LATEST:
+            default:
+                value = last.getCreatedAt();
+                break;
+        }
+        return new ProductCursor(resolved, value == null ? ProductCursor.NULL_SORT_VALUE : value.toString(), last.getProductId());
+    }
+
+    private static OrderBy resolveOrder(OrderBy order) {
+        return order == null ? OrderBy.LATEST : order;
+    }
+
+    private static boolean isAscending(OrderBy order) {
+        return order == OrderBy.LOW_PRICE;
+    }
+
+    private static ComparableExpression<?> cursorKey(OrderBy order, QProduct product) {
+        switch (order) {
+            case POPULAR:
+                return popularKey(product);
+            case LOW_PRICE:
+            case HIGH_PRICE:
+                return priceKey(product);
+            case HIGH_DISCOUNT_RATE:
+                return discountRateKey(product);
+            case LATEST:
+            default:
+                return latestKey(product);
+        }
+    }
+
+    private static ComparableExpression<LocalDateTime> latestKey(QProduct product) {
+        return Expressions.comparableTemplate(LocalDateTime.class, "{0}", product.createdAt);
+    }
+
+    private static ComparableExpression<Long> popularKey(QProduct product) {
+        return Expressions.comparableTemplate(Long.class, "{0}", product.wishListCount);
+    }
+
+    private static ComparableExpression<BigDecimal> priceKey(QProduct product) {
+        return Expressions.comparableTemplate(BigDecimal.class, "{0}", product.price);
+    }
+
+    private static ComparableExpression<Integer> discountRateKey(QProduct product) {
+        return Expressions.comparableTemplate(Integer.class, "{0}", product.discountRate);
+    }
+
+    private static <T extends Comparable<?>> BooleanExpression keysetAfter(
+            ComparableExpression<T> key, T value, boolean asc, Long lastId, QProduct product) {
+        if (asc) {
+            return key.gt(value).or(key.eq(value).and(product.productId.gt(lastId)));
+        }
+        return key.lt(value).or(key.eq(value).and(product.productId.lt(lastId)));
+    }
+
+    // 내림차순 + null 마지막 (MySQL 기본 null 정렬) - 컬럼을 식으로 감싸지 않아 인덱스 range 로 풀린다.
+    private static <T extends Comparable<?>> BooleanExpression keysetAfterNullsLast(
+            ComparableExpression<T> key, T value, Long lastId, QProduct product) {
+        if (value == null) {
+            return key.isNull().and(product.productId.lt(lastId));
+        }
+        return keysetAfter(key, value, false, lastId, product).or(key.isNull());
+    }
+
     /**
      * 필터링 수행
      * @param condition
-     * @param category
+     * @param categoryIds 카테고리 + 하위 카테고리 ID 집합 (CategoryTreeSnapshot.descendantIdsOf), null 이면 카테고리 조건 없음
      * @param keyword
      * @return
      */
-    public static BooleanBuilder createFilterBuilder(Condition condition, Long category, String keyword, QProduct product) {
+    public static BooleanBuilder createFilterBuilder(Condition condition, Collection<Long> categoryIds, String keyword, QProduct product) {
+        return createFilterBuilder(condition, categoryIds, keyword, null, product);
+    }
+
+    /**
+     * 필터링 수행 (검색어 후보 ID 지정)
+     * @param keywordCandidateIds 검색 인덱스로 미리 구한 검색어 매칭 productId 목록
+     *                            null 이면 기존 LIKE 검색으로 처리
+     */
+    public static BooleanBuilder createFilterBuilder(Condition condition, Collection<Long> categoryIds, String keyword,
+                                                     List<Long> keywordCandidateIds, QProduct product) {
         // 동적 WHERE 절 처리용. 조건이 들어오면 .and()로 계속 붙인다.
         BooleanBuilder filterBuilder = new BooleanBuilder();
         // 조건 필터링
         addConditionFilters(condition, product, filterBuilder);
         // 카테고리 필터링
-        addCategoryFilter(category, product, filterBuilder);
+        addCategoryFilter(categoryIds, product, filterBuilder);
         // 검색
-        addKeywordFilter(keyword, product, filterBuilder);
+        if (keywordCandidateIds != null) {
+            filterBuilder.and(product.productId.in(keywordCandidateIds)); // 빈 목록이면 결과 없음
+        } else {
+            addKeywordFilter(keyword, product, filterBuilder);
+        }
 
         return filterBuilder;
     }
@@ -98,20 +254,19 @@ public class ProductQueryHelper {
 
         1. 조건 필터 (예: 신규 상품)
           AND
-        2. 카테고리 필터 (예: 카테고리 id = 1 인 상품 OR 부모 카테고리 id = 1)
+        2. 카테고리 필터 (예: 카테고리 id 가 1 또는 1 의 하위 카테고리 중 하나인 상품)
           AND
         3. 키워드 검색 필터 (예: 상품명에 "신발" 포함 OR 상품설명에 "신발" 포함)
         모든 조건이 AND로 조합돼서 최종적으로 where 절에 들어가게 되는 거야.
      */
 
     // 카테고리 필터링 메서드
-    private static void addCategoryFilter(Long category, QProduct product, BooleanBuilder filterBuilder) {
-        if (category != null) {
-            filterBuilder.andAnyOf( // andAnyOf() 여러 조건 중 하나라도 만족 시, true 그러나 filterBuilder AND 로 계속 추가.
-                    // QProduct.managements.any(리스트 요건 중 하나라도 만족 시, true)....equals(data)
-                    product.productManagements.any().category.categoryId.eq(category),
-                    product.productManagements.any().category.parent.categoryId.eq(category)
-            );
+    // - 기존: any().category.categoryId = ? OR any().category.parent.categoryId = ? → EXISTS 서브쿼리 2개, 부모 한 단계만 처리
+    // - 변경: 미리 계산한 하위 ID 집합으로 EXISTS (... category_id IN (...)) 서브쿼리 하나 (깊이 무관)
+    private static void addCategoryFilter(Collection<Long> categoryIds, QProduct product, BooleanBuilder filterBuilder) {
+        if (categoryIds != null) {
+            // QProduct.managements.any(리스트 요건 중 하나라도 만족 시, true)
+            filterBuilder.and(product.productManagements.any().category.categoryId.in(categoryIds));
         }
     }
 
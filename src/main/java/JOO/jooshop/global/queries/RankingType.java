@@ -0,0 +1,7 @@
+package JOO.jooshop.global.queries;
+
+public enum RankingType {
+    ALL_TIME,   // 누적 조회수 (product_views)
+    TRENDING,   // 최근 시간대 조회수에 가중치(시간 감쇠)를 준 점수
+    UNIQUE      // 최근 며칠간 순 방문자 수 (HyperLogLog)
+}
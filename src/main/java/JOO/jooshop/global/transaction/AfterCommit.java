@@ -0,0 +1,30 @@
+package JOO.jooshop.global.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class AfterCommit {
+
+    /*
+        트랜잭션 커밋 이후 실행 헬퍼
+
+        - 인메모리 인덱스/스냅샷/캐시는 DB 변경이 확정된 뒤에만 반영해야 한다. (롤백된 변경 반영 방지)
+        - 트랜잭션 밖에서 호출되면 즉시 실행
+     */
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package JOO.jooshop.global.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class AfterRollback {
+
+    /*
+        트랜잭션 롤백 이후 실행 헬퍼 (보상 처리)
+
+        - 트랜잭션 안에서 먼저 반영한 외부 저장소(Redis) 변경을 롤백 시 되돌릴 때 사용
+        - 트랜잭션 밖에서 호출되면 되돌릴 대상이 없으므로 아무것도 하지 않는다.
+     */
+
+    private AfterRollback() {
+    }
+
+    public static void run(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        task.run();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -13,15 +13,20 @@ import JOO.jooshop.order.repository.OrderRepository;
 import JOO.jooshop.order.repository.RedisOrderRepository;
 import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.stock.StockLine;
+import JOO.jooshop.productManagement.stock.StockReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.UUID;
 
 import static JOO.jooshop.global.authorization.MemberAuthorizationUtil.verifyUserIdMatch;
@@ -44,12 +49,18 @@ public class OrderService {
      * - orderProductFromCart()로 스냅샷 생성
      * - Orders.createOrder()로 생성 책임 위임
      * - addOrderProduct()로 Aggregate 내부 관리
+     *
+     * 26.10
+     * - 기존: createOrder 는 findAllById, confirmOrder 는 cartId 마다 findById
+     *   → 라인마다 옵션 / 상품 / 썸네일 lazy 로딩까지 더해 장바구니 N 개에 1 + 3N 쿼리
+     * - 변경: findCartsForOrder() 로 옵션 → 상품 → 썸네일까지 fetch 한 쿼리 1 회 (장바구니 수와 무관)
      */
 
     private final RedisOrderRepository redisOrderRepository;
     private final CartRepository cartRepository;
     private final OrderRepository orderRepository;
     private final MemberRepository memberRepository;
+    private final StockReservationService stockReservationService;
 
     /**
      * 로그인 사용자의 Redis 임시 주문 조회
@@ -68,7 +79,7 @@ public class OrderService {
      * - Redis에 임시 주문 저장
      */
     public Orders createOrder(List<Long> cartIds, OrderDto orderDto) {
-        List<Cart> carts = cartRepository.findAllById(cartIds);
+        List<Cart> carts = findCartsForOrder(cartIds);
         validateCarts(carts);
 
         Long memberId = carts.get(0).getMember().getId();
@@ -126,11 +137,8 @@ public class OrderService {
                 generateMerchantUid(orderDto)
         );
 
-        // 5. tempOrder 안에 들어있던 cartId 목록을 꺼냄
-        tempOrder.getCartIds().stream()
-                .map(cartRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+        // 5. tempOrder 안에 들어있던 cartId 목록을 꺼냄 (이미 삭제된 장바구니는 건너뜀)
+        findCartsForOrder(tempOrder.getCartIds())
                 // 6. cart -> OrderProduct
                 // 7. order 1개 안에
                 .forEach(cart -> order.addOrderProduct(orderProductFromCart(cart)));
@@ -141,6 +149,21 @@ public class OrderService {
         return savedOrder;
     }
 
+    /**
+     * 주문 라인용 장바구니 일괄 조회 (옵션 / 상품 / 썸네일 fetch, 요청한 cartId 순서 유지)
+     */
+    private List<Cart> findCartsForOrder(List<Long> cartIds) {
+        if (cartIds == null || cartIds.isEmpty()) return List.of();
+
+        Map<Long, Cart> byId = new HashMap<>();
+        cartRepository.findWithProductByCartIdIn(cartIds).forEach(cart -> byId.put(cart.getCartId(), cart));
+        return cartIds.stream()
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     /**
      * Redis 임시 주문 저장
      */
@@ -168,7 +191,21 @@ public class OrderService {
                 order.getTotalPrice()
         );
 
-        redisOrderRepository.save(tempOrder);
+        // 주문 라인 전체 재고 예약 (임시 주문 TTL 동안 유지, 만료되면 sweeper 가 해제)
+        stockReservationService.reserve(
+                orderDto.getMemberId(),
+                carts.stream()
+                        .map(cart -> new StockLine(cart.getProductManagement().getInventoryId(), cart.getQuantity()))
+                        .toList(),
+                Duration.ofMinutes(tempOrder.getExpiration())
+        );
+
+        try {
+            redisOrderRepository.save(tempOrder);
+        } catch (RuntimeException e) {
+            stockReservationService.release(orderDto.getMemberId());
+            throw e;
+        }
         log.info("임시 주문 Redis 저장 완료: key={}", tempOrder.getId());
     }
 
@@ -0,0 +1,208 @@
+package JOO.jooshop.order.service;
+
+import JOO.jooshop.productManagement.stock.StockReservationService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TemporaryOrderExpiryListener implements MessageListener {
+
+    /*
+        임시 주문(TemporaryOrderRedis) 만료 처리
+
+        기존
+        - TemporaryOrder:{id} 는 30분 TTL 로 사라지지만 그 뒤 아무 처리도 없다.
+          · 재고 예약은 stock:hold-deadlines sweeper 주기만큼 늦게 풀린다.
+          · Spring Data Redis id 인덱스 SET(TemporaryOrder)에는 만료된 id 가 계속 쌓인다.
+
+        변경
+        - Redis 키 만료 이벤트(__keyevent@*__:expired) 구독 → 만료된 임시 주문 id 를 큐에 넣고
+          flush 주기마다 batch 로 인덱스 정리 + 재고 예약 해제
+        - 키 만료 알림은 best-effort (구독이 끊긴 동안의 이벤트는 유실) → sweeper 가 인덱스 SET 만 SSCAN 으로 훑어
+          키가 없는 id 를 같은 경로로 정리 (전체 keyspace SCAN 없음, 한 번에 sweep-limit 개까지)
+        - 정리 / 해제 모두 멱등
+          · 인덱스 정리 스크립트는 키가 아직 있는 id 는 건드리지 않고, 실제로 제거한 id 만 돌려준다.
+          · 예약 해제는 마감 시각이 지난 예약만 해제 (그 사이 새 임시 주문으로 다시 예약되었으면 유지)
+          · 이벤트는 모든 인스턴스에 전달되지만 인덱스에서 id 를 제거한 인스턴스만 예약을 해제한다.
+        - notify-keyspace-events 에 Ex 가 없으면 시작 시 추가 (CONFIG 명령이 막힌 환경에서는 sweeper 만 동작)
+     */
+
+    private static final String KEY_PREFIX = "TemporaryOrder:";
+    private static final String INDEX_KEY = "TemporaryOrder";
+    private static final String ID_PREFIX = "tempOrder:";
+    private static final String EXPIRED_EVENTS = "__keyevent@*__:expired";
+    private static final int BATCH_SIZE = 100;
+
+    private static final RedisScript<List> CLEANUP = cleanupScript();
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final StockReservationService stockReservationService;
+
+    private final Queue<String> expiredIds = new ConcurrentLinkedQueue<>();
+
+    @Value("${order.temp-expiry.configure-notifications:true}")
+    private boolean configureNotifications;
+
+    @Value("${order.temp-expiry.sweep-limit:5000}")
+    private int sweepLimit;
+
+    @PostConstruct
+    void subscribe() {
+        if (configureNotifications) {
+            enableExpiredNotifications();
+        }
+        listenerContainer.addMessageListener(this, new PatternTopic(EXPIRED_EVENTS));
+    }
+
+    /**
+     * 키 만료 이벤트 (구독 스레드 → Redis 호출 없이 큐에만 넣는다)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!key.startsWith(KEY_PREFIX)) return;
+
+        String id = key.substring(KEY_PREFIX.length());
+        if (id.endsWith(":phantom") || id.endsWith(":idx")) return;
+        expiredIds.add(id);
+    }
+
+    /**
+     * 만료 이벤트로 모인 임시 주문 정리
+     */
+    @Scheduled(fixedDelayString = "${order.temp-expiry.flush-millis:1000}")
+    public void flushExpired() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        String id;
+        while ((id = expiredIds.poll()) != null) {
+            batch.add(id);
+            if (batch.size() == BATCH_SIZE) {
+                cleanupQuietly(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            cleanupQuietly(batch);
+        }
+    }
+
+    /**
+     * 이벤트 유실 대비 - 인덱스 SET 에 남아 있지만 키가 없는 id 정리
+     */
+    @Scheduled(fixedDelayString = "${order.temp-expiry.sweep-millis:60000}")
+    public void sweep() {
+        int scanned = 0;
+        int removed = 0;
+        ScanOptions options = ScanOptions.scanOptions().count(BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.opsForSet().scan(INDEX_KEY, options)) {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            while (cursor.hasNext() && scanned < sweepLimit) {
+                batch.add(cursor.next());
+                scanned++;
+                if (batch.size() == BATCH_SIZE) {
+                    removed += cleanup(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                removed += cleanup(batch);
+            }
+        } catch (Exception e) {
+            log.warn("[TemporaryOrderExpiry] sweep failed", e);
+            return;
+        }
+        if (removed > 0) {
+            log.info("[TemporaryOrderExpiry] sweep removed {} expired temp orders (scanned {})", removed, scanned);
+        }
+    }
+
+    private void cleanupQuietly(List<String> ids) {
+        try {
+            cleanup(ids);
+        } catch (Exception e) {
+            log.warn("[TemporaryOrderExpiry] cleanup failed, left for sweeper. size={}", ids.size(), e);
+        }
+    }
+
+    // 인덱스에서 실제로 제거된 id 의 회원 예약만 해제
+    private int cleanup(List<String> ids) {
+        List<String> args = new ArrayList<>(ids.size() + 1);
+        args.add(KEY_PREFIX);
+        args.addAll(ids);
+
+        List<?> removed = redisTemplate.execute(CLEANUP, List.of(INDEX_KEY), args.toArray());
+        if (removed == null) return 0;
+
+        for (Object removedId : removed) {
+            Long memberId = memberIdOf(String.valueOf(removedId));
+            if (memberId == null) continue;
+            try {
+                stockReservationService.releaseIfExpired(memberId);
+            } catch (Exception e) {
+                // 예약은 stock:hold-deadlines sweeper 가 다시 해제한다.
+                log.warn("[TemporaryOrderExpiry] hold release failed. memberId={}", memberId, e);
+            }
+        }
+        return removed.size();
+    }
+
+    private void enableExpiredNotifications() {
+        try {
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                Properties config = connection.serverCommands().getConfig("notify-keyspace-events");
+                String flags = config == null ? "" : config.getProperty("notify-keyspace-events", "");
+                String updated = flags;
+                if (!updated.contains("E")) updated += "E";
+                if (!updated.contains("x") && !updated.contains("A")) updated += "x";
+                if (!updated.equals(flags)) {
+                    connection.serverCommands().setConfig("notify-keyspace-events", updated);
+                    log.info("[TemporaryOrderExpiry] notify-keyspace-events '{}' -> '{}'", flags, updated);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("[TemporaryOrderExpiry] could not enable keyspace notifications, relying on sweeper", e);
+        }
+    }
+
+    private static Long memberIdOf(String id) {
+        if (!id.startsWith(ID_PREFIX)) return null;
+        try {
+            return Long.valueOf(id.substring(ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static RedisScript<List> cleanupScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/order/temp_order_cleanup.lua"));
+        script.setResultType(List.class);
+        return script;
+    }
+}
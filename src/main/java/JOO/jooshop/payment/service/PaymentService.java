@@ -15,6 +15,11 @@ import JOO.jooshop.payment.model.PaymentHistoryDto;
 import JOO.jooshop.payment.model.PaymentRequestDto;
 import JOO.jooshop.payment.repository.PaymentRefundRepository;
 import JOO.jooshop.payment.repository.PaymentRepository;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.productManagement.repository.StockDecrementRepository;
+import JOO.jooshop.productManagement.stock.FlashSaleStockService;
+import JOO.jooshop.productManagement.stock.StockLine;
+import JOO.jooshop.productManagement.stock.StockReservationService;
 import com.siot.IamportRestClient.IamportClient;
 import com.siot.IamportRestClient.exception.IamportResponseException;
 import com.siot.IamportRestClient.request.CancelData;
@@ -48,6 +53,10 @@ public class PaymentService {
     private final MemberRepository memberRepository;
     private final PaymentRepository paymentRepository;
     private final PaymentRefundRepository paymentRefundRepository;
+    private final StockReservationService stockReservationService;
+    private final StockDecrementRepository stockDecrementRepository;
+    private final FlashSaleStockService flashSaleStockService;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
 
     public void processPaymentDone(Payment response, PaymentRequestDto request) {
         verifyUserIdMatch(request.getMemberId());
@@ -75,6 +84,15 @@ public class PaymentService {
             paymentRepository.save(paymentHistory);
         }
 
+        // 재고 차감 (플래시 세일 옵션은 Redis 예약분 / 샤드, 나머지는 조건부 UPDATE batch) → 커밋 이후 Redis 예약 확정
+        List<StockLine> stockLines = orderProducts.stream()
+                .map(orderProduct -> new StockLine(
+                        orderProduct.getProductManagement().getInventoryId(), orderProduct.getQuantity()))
+                .toList();
+        stockDecrementRepository.decrease(flashSaleStockService.decrease(member.getId(), stockLines));
+        productAvailabilityIndex.markInventoryDirtyAfterCommit(stockLines.stream().map(StockLine::inventoryId).toList());
+        stockReservationService.commitAfterCommit(member.getId(), stockLines);
+
         deletePaymentRedisData(member.getId());
     }
 
@@ -3,6 +3,7 @@ package JOO.jooshop.product.controller;
 import JOO.jooshop.contentImgs.entity.enums.UploadType;
 import JOO.jooshop.global.queries.Condition;
 import JOO.jooshop.global.queries.OrderBy;
+import JOO.jooshop.global.queries.RankingType;
 import JOO.jooshop.product.model.*;
 import JOO.jooshop.product.service.ProductOrderService;
 import JOO.jooshop.product.service.ProductRankingService;
@@ -33,6 +34,7 @@ public class ProductApiControllerV1 {
     public final ObjectMapper objectMapper;
     private final ProductServiceV1 productService;
     private final ProductOrderService productOrderService;
+    private final ProductRankingService productRankingService;
 
     /**
      * 상품 등록
@@ -81,6 +83,7 @@ public class ProductApiControllerV1 {
      *  - 이 부분은 그대로 유지 (상품 목록 조회 로직은 이미 잘 분리되어 있음)
      *  - productOrderService에 위임하여 Controller는 API 엔드포인트 역할만 담당.
      *  - 페이징(Page), 정렬(OrderBy), 조건(Condition), 검색(keyword)을 모두 통합 지원.
+     *  - inStock=true 면 재고 있는 상품만, 항목마다 available(품절 배지) 포함
      */
     @GetMapping("/products")
     public Page<ProductListResponseDto> getFilteredAndSortedProducts(
@@ -89,9 +92,79 @@ public class ProductApiControllerV1 {
             @RequestParam(name = "condition", required = false) Condition condition,
             @RequestParam(name = "category", required = false) Long category,
             @RequestParam(name = "order", required = false) OrderBy order,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "inStock", defaultValue = "false") boolean inStockOnly
+    ) {
+        return productOrderService.getFilteredAndSortedProducts(page, size, condition, order, category, keyword, inStockOnly);
+    }
+
+    /**
+     * 상품 목록 - 커서(keyset) 페이지네이션
+     *
+     *  [추가]
+     *  - 무한 스크롤/크롤러처럼 깊은 페이지까지 순회하는 클라이언트용
+     *  - offset(page * size) 대신 이전 응답의 nextCursor 를 넘겨 다음 페이지 조회
+     *  - 필터(condition, category, keyword)와 정렬(order)은 /products 와 동일, totalCount 는 내려주지 않음
+     *  - 기존 page/size 클라이언트는 /products 를 그대로 사용
+     */
+    @GetMapping("/products/cursor")
+    public ResponseEntity<ProductCursorResponseDto> getFilteredAndSortedProductsByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") int size,
+            @RequestParam(name = "condition", required = false) Condition condition,
+            @RequestParam(name = "category", required = false) Long category,
+            @RequestParam(name = "order", required = false) OrderBy order,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "inStock", defaultValue = "false") boolean inStockOnly
+    ) {
+        return ResponseEntity.ok(
+                productOrderService.getFilteredAndSortedProductsByCursor(cursor, size, condition, order, category, keyword, inStockOnly));
+    }
+
+    /**
+     * 상품 랭킹 (조회수 순)
+     *
+     *  [추가]
+     *  - 홈 화면 랭킹 영역용, 상위 N 개는 백그라운드에서 미리 만들어 둔 스냅샷에서 반환
+     *  - type: ALL_TIME(누적 조회수, 기본) / TRENDING(최근 시간대 가중 조회수) / UNIQUE(최근 며칠 순 방문자 수)
+     */
+    @GetMapping("/products/ranking")
+    public ResponseEntity<List<ProductRankResponseDto>> getProductListByRanking(
+            @RequestParam(name = "type", defaultValue = "ALL_TIME") RankingType type,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(productRankingService.getProductListByRanking(type, limit));
+    }
+
+    /**
+     * 카테고리별 상품 랭킹 (누적 조회수)
+     *
+     *  [추가]
+     *  - "카테고리 X 인기 상품" 영역용, 최상위 카테고리 ID 만 허용
+     */
+    @GetMapping("/products/ranking/categories/{categoryId}")
+    public ResponseEntity<List<ProductRankResponseDto>> getProductListByCategoryRanking(
+            @PathVariable Long categoryId,
+            @RequestParam(name = "limit", defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(productRankingService.getProductListByRanking(categoryId, limit));
+    }
+
+    /**
+     * 상품 목록 - 패싯 카운트
+     *
+     *  [추가]
+     *  - 목록 화면의 "조건 / 상품 타입 / 카테고리 별 상품 수" 표시용
+     *  - 필터(condition, category, keyword)는 /products 와 동일
+     *  - 패싯 값마다 COUNT 쿼리를 보내지 않고 메모리 비트셋 인덱스로 한 번에 계산
+     */
+    @GetMapping("/products/facets")
+    public ResponseEntity<ProductFacetResponseDto> getProductFacets(
+            @RequestParam(name = "condition", required = false) Condition condition,
+            @RequestParam(name = "category", required = false) Long category,
             @RequestParam(name = "keyword", required = false) String keyword
     ) {
-        return productOrderService.getFilteredAndSortedProducts(page, size, condition, order, category, keyword);
+        return ResponseEntity.ok(productOrderService.getFacetCounts(condition, category, keyword));
     }
 
     /**
@@ -27,7 +27,16 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "products_table")
+@Table(
+        name = "products_table",
+        indexes = {
+                // 목록 정렬 / 커서 페이지네이션 (정렬 컬럼, productId) - ProductQueryHelper
+                @Index(name = "idx_products_created", columnList = "created_at, productId"),
+                @Index(name = "idx_products_wish", columnList = "wishListCount, productId"),
+                @Index(name = "idx_products_discount_rate", columnList = "discountRate, productId"),
+                @Index(name = "idx_products_price", columnList = "price, productId")
+        }
+)
 public class Product extends BaseEntity {
 
     @Id
@@ -76,6 +85,10 @@ public class Product extends BaseEntity {
 
     private Long wishListCount;
 
+    /** Redis 누적 조회수 체크포인트 - ProductViewCheckpoint 가 JDBC 로만 갱신 (엔티티 저장 시 덮어쓰지 않음) */
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long viewCount;
+
     @Column(nullable = false)
     private boolean dummy = false;
 
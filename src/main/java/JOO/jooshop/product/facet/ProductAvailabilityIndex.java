@@ -0,0 +1,256 @@
+package JOO.jooshop.product.facet;
+
+import JOO.jooshop.global.transaction.AfterCommit;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductRepository;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductAvailabilityIndex {
+
+    /*
+        상품별 재고 가용 여부 in-process 인덱스 (품절 배지 / 재고 있는 상품만 보기)
+
+        기존
+        - 목록에서 품절 여부를 알려면 product_management 를 조인해 옵션별 is_sold_out 을 집계해야 한다.
+
+        변경
+        - productId 를 비트 위치로 하는 known(전체 상품) / available(재고 있는 옵션이 1개 이상) BitSet
+          + 상품별 재고 있는 옵션 수를 메모리에 유지
+        - 재고 / 옵션 변경은 커밋 이후 pending 에 productId(또는 inventoryId)만 기록해 두고,
+          refresh 주기마다 변경된 상품만 한 번에 다시 센다. → 목록 조회는 메모리만 읽는다. (쿼리 없음)
+        - available 비트가 바뀔 때마다 version 증가 (재고 필터 목록 캐시 키)
+        - 반영은 refresh 주기만큼 늦을 수 있다. (품절 배지 용도, 초과 판매 방지는 product_stock 조건부 UPDATE)
+
+        사용할 수 없는 경우(기동 직후 적재 전, int 범위를 넘는 productId) 는 Optional.empty() → 호출 측에서 쿼리로 fallback
+     */
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductManagementRepository productManagementRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet known = new BitSet();
+    private final BitSet available = new BitSet();
+    private final Map<Integer, Integer> inStockOptions = new HashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private final Set<Long> pendingProducts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingInventories = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready = false;
+    private volatile boolean disabled = false; // int 범위를 넘는 productId 발견 시
+
+    /* =========================
+       Build
+    ========================= */
+
+    /**
+     * 애플리케이션 기동 완료 후 전체 상품 적재 (productId 기준 chunk 조회)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long afterId = 0L;
+        int loaded = 0;
+
+        while (true) {
+            List<ProductStockCount> chunk =
+                    productRepository.findStockCountsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+
+            apply(chunk, chunk.stream().map(ProductStockCount::productId).toList());
+
+            loaded += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).productId();
+        }
+
+        ready = true;
+        log.info("[ProductAvailabilityIndex] built. products={}, available={}, {} ms",
+                loaded, available.cardinality(), System.currentTimeMillis() - start);
+    }
+
+    /* =========================
+       Incremental update
+    ========================= */
+
+    /**
+     * 상품 / 옵션 재고 변경 커밋 이후 해당 상품을 다시 세도록 표시
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(ProductChangedEvent event) {
+        pendingProducts.addAll(event.productIds());
+    }
+
+    /**
+     * 옵션 ID 만 아는 재고 변경(결제 차감, 플래시 세일 반영) 커밋 이후 표시 - 상품은 refresh 때 찾는다.
+     */
+    public void markInventoryDirtyAfterCommit(Collection<Long> inventoryIds) {
+        if (inventoryIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(inventoryIds);
+        AfterCommit.run(() -> pendingInventories.addAll(ids));
+    }
+
+    /**
+     * 변경 표시된 상품만 다시 세어 반영 (옵션 → 상품 1 회 + 상품별 카운트 1 회)
+     */
+    @Scheduled(fixedDelayString = "${product.availability.refresh-millis:1000}")
+    public void refresh() {
+        if (!ready || (pendingProducts.isEmpty() && pendingInventories.isEmpty())) return;
+
+        List<Long> productIds = new ArrayList<>(pendingProducts);
+        List<Long> inventoryIds = new ArrayList<>(pendingInventories);
+        pendingProducts.removeAll(productIds);
+        pendingInventories.removeAll(inventoryIds);
+
+        try {
+            if (!inventoryIds.isEmpty()) {
+                productIds.addAll(productManagementRepository.findProductIdsByInventoryIds(inventoryIds));
+            }
+            List<Long> distinct = productIds.stream().distinct().toList();
+            apply(productRepository.findStockCountsByIds(distinct), distinct);
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 시도
+            pendingProducts.addAll(productIds);
+            pendingInventories.addAll(inventoryIds);
+            log.warn("[ProductAvailabilityIndex] refresh failed. products={}, inventories={}",
+                    productIds.size(), inventoryIds.size(), e);
+        }
+    }
+
+    // 조회되지 않은 상품(삭제됨)은 비트만 지워진다.
+    private void apply(List<ProductStockCount> rows, List<Long> productIds) {
+        Map<Long, Long> counts = new HashMap<>(rows.size() * 2);
+        for (ProductStockCount row : rows) {
+            counts.put(row.productId(), row.inStockOptions() == null ? 0L : row.inStockOptions());
+        }
+
+        lock.writeLock().lock();
+        try {
+            boolean changed = false;
+            for (Long productId : productIds) {
+                if (!fitsInt(productId)) {
+                    // BitSet 은 int 인덱스 → 범위를 넘는 ID 가 생기면 인덱스를 끄고 쿼리로 돌아간다.
+                    log.warn("[ProductAvailabilityIndex] productId out of int range, index disabled. productId={}", productId);
+                    disabled = true;
+                    continue;
+                }
+                int id = productId.intValue();
+                boolean wasAvailable = available.get(id);
+                Long count = counts.get(productId);
+                if (count == null) {
+                    known.clear(id);
+                    available.clear(id);
+                    inStockOptions.remove(id);
+                } else {
+                    known.set(id);
+                    available.set(id, count > 0);
+                    inStockOptions.put(id, count.intValue());
+                }
+                changed |= wasAvailable != available.get(id);
+            }
+            if (changed) version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* =========================
+       Query
+    ========================= */
+
+    /**
+     * 재고 있는 옵션이 하나라도 있는지
+     * @return 인덱스를 사용할 수 없으면 Optional.empty()
+     */
+    public Optional<Boolean> isAvailable(Long productId) {
+        if (!ready || disabled || !fitsInt(productId)) return Optional.empty();
+        lock.readLock().lock();
+        try {
+            return Optional.of(available.get(productId.intValue()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 재고 있는 옵션 수 (인덱스에 없는 상품은 0)
+     */
+    public int inStockOptions(Long productId) {
+        if (!fitsInt(productId)) return 0;
+        lock.readLock().lock();
+        try {
+            return inStockOptions.getOrDefault(productId.intValue(), 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * "재고 있는 상품만" 목록 조건 - available / 품절 중 작은 쪽의 productId 로 IN 또는 NOT IN
+     * @return 인덱스를 사용할 수 없으면 Optional.empty()
+     */
+    public Optional<InStockFilter> inStockFilter() {
+        if (!ready || disabled) return Optional.empty();
+        lock.readLock().lock();
+        try {
+            int availableCount = available.cardinality();
+            int soldOutCount = known.cardinality() - availableCount;
+            if (availableCount <= soldOutCount) {
+                return Optional.of(new InStockFilter(true, toIds(available)));
+            }
+            BitSet soldOut = (BitSet) known.clone();
+            soldOut.andNot(available);
+            return Optional.of(new InStockFilter(false, toIds(soldOut)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * available 비트가 바뀔 때마다 증가
+     */
+    public long version() {
+        return version.get();
+    }
+
+    private static List<Long> toIds(BitSet bits) {
+        List<Long> ids = new ArrayList<>(bits.cardinality());
+        bits.stream().forEach(id -> ids.add((long) id));
+        return ids;
+    }
+
+    private static boolean fitsInt(Long productId) {
+        return productId != null && productId >= 0 && productId <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * @param include    true = productIds 에 포함된 상품만, false = productIds 를 제외한 상품만
+     * @param productIds 재고 있는 상품(include) 또는 품절 상품(!include)
+     */
+    public record InStockFilter(boolean include, List<Long> productIds) {}
+}
@@ -0,0 +1,7 @@
+package JOO.jooshop.product.facet;
+
+/**
+ * 상품 ↔ 카테고리 연결 (ProductManagement 의 product_id, category_id)
+ */
+public record ProductCategoryLink(Long productId, Long categoryId) {
+}
@@ -0,0 +1,19 @@
+package JOO.jooshop.product.facet;
+
+import JOO.jooshop.global.queries.Condition;
+import JOO.jooshop.product.entity.enums.ProductType;
+
+import java.util.Map;
+
+/**
+ * 패싯 카운트 결과
+ * @param total        현재 필터 전체에 해당하는 상품 수
+ * @param conditions   Condition 별 상품 수 (현재 condition 대신 해당 condition 을 선택했을 때)
+ * @param productTypes ProductType 별 상품 수 (현재 필터 기준)
+ * @param categories   최상위 categoryId 별 상품 수 (현재 category 대신 해당 카테고리를 선택했을 때)
+ */
+public record ProductFacetCounts(long total,
+                                 Map<Condition, Long> conditions,
+                                 Map<ProductType, Long> productTypes,
+                                 Map<Long, Long> categories) {
+}
@@ -0,0 +1,329 @@
+package JOO.jooshop.product.facet;
+
+import JOO.jooshop.global.queries.Condition;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductRepository;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFacetIndex {
+
+    /*
+        상품 목록 패싯 카운트용 in-process 비트셋 인덱스
+
+        기존
+        - 패싯(Condition / ProductType / 카테고리) 별 상품 수를 보여주려면 패싯 값마다 COUNT 쿼리 1번씩 필요
+
+        변경
+        - productId 를 비트 위치로 하는 속성별 BitSet (할인, 추천, BEST, ProductType, 카테고리) 을 메모리에 유지
+        - 현재 필터 비트셋과 패싯 비트셋의 AND → cardinality 로 카운트 (쿼리 없음)
+        - 상품/옵션 변경은 커밋 이후 pending 에 productId 만 기록해 두고,
+          다음 조회 시 변경된 상품만 DB 에서 다시 읽어 반영 (여러 건이 모이면 한 번에 처리)
+        - NEW 는 "최근 1개월" 이라 시간이 지나면 바뀌므로 createdAt 으로 주기적으로 다시 계산
+
+        사용할 수 없는 경우(기동 직후 적재 전, int 범위를 넘는 productId) 는 Optional.empty() → 호출 측에서 COUNT 쿼리로 fallback
+     */
+
+    /**
+     * 패싯으로 내려주는 Condition
+     * - MAN / WOMAN / UNISEX 는 목록 필터에서 ProductType 으로 매핑되는데 대응하는 ProductType 이 없어 제외
+     */
+    public static final List<Condition> FACET_CONDITIONS =
+            List.of(Condition.NEW, Condition.BEST, Condition.DISCOUNT, Condition.RECOMMEND);
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    private static final long BEST_WISH_LIST_COUNT = 30L; // ProductQueryHelper BEST 조건과 동일
+    private static final long NEW_BITS_REFRESH_MILLIS = 60_000L;
+
+    private final ProductRepository productRepository;
+    private final ProductManagementRepository productManagementRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BitSet all = new BitSet();
+    private final BitSet discount = new BitSet();
+    private final BitSet recommend = new BitSet();
+    private final BitSet best = new BitSet();
+    private final Map<ProductType, BitSet> byType = new EnumMap<>(ProductType.class);
+    private final Map<Long, BitSet> byCategory = new HashMap<>();
+    private final Map<Integer, LocalDateTime> createdAt = new HashMap<>();
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Object applyMonitor = new Object();
+
+    private volatile NewBits newBits;
+    private volatile boolean ready = false;
+    private volatile boolean disabled = false; // int 범위를 넘는 productId 발견 시
+
+    /* =========================
+       Build
+    ========================= */
+
+    /**
+     * 애플리케이션 기동 완료 후 전체 상품 적재 (productId 기준 chunk 조회)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long afterId = 0L;
+        int loaded = 0;
+
+        while (true) {
+            List<ProductFacetRow> chunk =
+                    productRepository.findFacetRowsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+
+            apply(chunk, idsOf(chunk));
+
+            loaded += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).productId();
+        }
+
+        ready = true;
+        log.info("[ProductFacetIndex] built. products={}, categories={}, {} ms",
+                loaded, byCategory.size(), System.currentTimeMillis() - start);
+    }
+
+    /* =========================
+       Incremental update
+    ========================= */
+
+    /**
+     * 상품 / 옵션(ProductManagement) 변경 커밋 이후 해당 상품을 다시 읽도록 표시
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(ProductChangedEvent event) {
+        pending.addAll(event.productIds());
+    }
+
+    // 변경 표시된 상품을 DB 에서 다시 읽어 반영 (삭제된 상품은 조회되지 않으므로 비트만 지워진다)
+    private void applyPending() {
+        if (pending.isEmpty()) return;
+
+        // 동시에 두 스레드가 같은 상품을 서로 다른 시점의 값으로 덮어쓰지 않도록 반영은 한 번에 하나씩
+        synchronized (applyMonitor) {
+            List<Long> ids = new ArrayList<>(pending);
+            if (ids.isEmpty()) return;
+            pending.removeAll(ids);
+
+            try {
+                apply(productRepository.findFacetRowsByIds(ids), ids);
+            } catch (RuntimeException e) {
+                pending.addAll(ids); // 다음 조회에서 다시 시도
+                throw e;
+            }
+        }
+    }
+
+    private void apply(List<ProductFacetRow> rows, List<Long> productIds) {
+        Map<Long, List<Long>> categoriesByProduct = new HashMap<>();
+        for (ProductCategoryLink link : productManagementRepository.findCategoryLinks(productIds)) {
+            categoriesByProduct.computeIfAbsent(link.productId(), k -> new ArrayList<>()).add(link.categoryId());
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                if (fitsInt(productId)) {
+                    clearLocked(productId.intValue());
+                }
+            }
+            for (ProductFacetRow row : rows) {
+                upsertLocked(row, categoriesByProduct.getOrDefault(row.productId(), List.of()));
+            }
+            newBits = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertLocked(ProductFacetRow row, List<Long> categoryIds) {
+        if (!fitsInt(row.productId())) {
+            // BitSet 은 int 인덱스 → 범위를 넘는 ID 가 생기면 인덱스를 끄고 COUNT 쿼리로 돌아간다.
+            log.warn("[ProductFacetIndex] productId out of int range, index disabled. productId={}", row.productId());
+            disabled = true;
+            return;
+        }
+
+        int id = row.productId().intValue();
+        all.set(id);
+        discount.set(id, row.discount());
+        recommend.set(id, row.recommend());
+        best.set(id, row.wishListCount() != null && row.wishListCount() >= BEST_WISH_LIST_COUNT);
+        if (row.productType() != null) {
+            byType.computeIfAbsent(row.productType(), t -> new BitSet()).set(id);
+        }
+        for (Long categoryId : categoryIds) {
+            byCategory.computeIfAbsent(categoryId, c -> new BitSet()).set(id);
+        }
+        if (row.createdAt() != null) {
+            createdAt.put(id, row.createdAt());
+        }
+    }
+
+    private void clearLocked(int id) {
+        all.clear(id);
+        discount.clear(id);
+        recommend.clear(id);
+        best.clear(id);
+        byType.values().forEach(bits -> bits.clear(id));
+        byCategory.values().forEach(bits -> bits.clear(id));
+        createdAt.remove(id);
+    }
+
+    /* =========================
+       Query
+    ========================= */
+
+    /**
+     * 현재 필터 기준 패싯 카운트
+     * - 각 패싯은 자기 차원의 선택만 빼고 나머지 필터를 적용한다. (condition 패싯은 현재 condition 무시, 카테고리 패싯은 현재 category 무시)
+     * @param categoryIds    현재 카테고리 + 하위 카테고리 ID, null 이면 카테고리 조건 없음
+     * @param keywordIds     검색어에 매칭된 productId, null 이면 검색어 조건 없음
+     * @param categoryGroups 패싯으로 내려줄 카테고리 ID → 해당 카테고리 + 하위 카테고리 ID
+     * @return 인덱스를 사용할 수 없으면 Optional.empty()
+     */
+    public Optional<ProductFacetCounts> count(Condition condition,
+                                              Set<Long> categoryIds,
+                                              Collection<Long> keywordIds,
+                                              Map<Long, Set<Long>> categoryGroups) {
+        if (!ready || disabled) {
+            return Optional.empty();
+        }
+        applyPending();
+
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) all.clone();
+            if (keywordIds != null) {
+                base.and(toBits(keywordIds));
+            }
+
+            BitSet conditionBits = condition == null ? null : conditionBits(condition);
+            BitSet categoryBits = categoryIds == null ? null : unionOf(categoryIds);
+
+            BitSet withCategory = and(base, categoryBits);
+            BitSet withCondition = and(base, conditionBits);
+            BitSet filtered = and(withCategory, conditionBits);
+
+            Map<Condition, Long> conditionCounts = new EnumMap<>(Condition.class);
+            for (Condition facet : FACET_CONDITIONS) {
+                conditionCounts.put(facet, andCardinality(withCategory, conditionBits(facet)));
+            }
+
+            Map<ProductType, Long> typeCounts = new EnumMap<>(ProductType.class);
+            for (ProductType type : ProductType.values()) {
+                typeCounts.put(type, andCardinality(filtered, byType.get(type)));
+            }
+
+            Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+            categoryGroups.forEach((groupId, ids) ->
+                    categoryCounts.put(groupId, andCardinality(withCondition, unionOf(ids))));
+
+            return Optional.of(new ProductFacetCounts(filtered.cardinality(), conditionCounts, typeCounts, categoryCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // read lock 보유 상태에서 호출
+    private BitSet conditionBits(Condition condition) {
+        switch (condition) {
+            case NEW:
+                return newBits();
+            case BEST:
+                return best;
+            case DISCOUNT:
+                return discount;
+            case RECOMMEND:
+                return recommend;
+            case MAN:
+            case WOMAN:
+            case UNISEX:
+                // 목록 필터와 동일한 매핑 (대응하는 ProductType 이 없으면 IllegalArgumentException)
+                return byType.getOrDefault(ProductType.valueOf(condition.name()), new BitSet());
+            default:
+                return newBits();
+        }
+    }
+
+    // NEW(최근 1개월) 비트셋: 변경이 없으면 1분 동안 재사용
+    private BitSet newBits() {
+        long now = System.currentTimeMillis();
+        NewBits cached = newBits;
+        if (cached != null && now - cached.computedAt() < NEW_BITS_REFRESH_MILLIS) {
+            return cached.bits();
+        }
+
+        LocalDateTime threshold = LocalDateTime.now().minusMonths(1);
+        BitSet bits = new BitSet();
+        createdAt.forEach((id, created) -> {
+            if (created.isAfter(threshold)) bits.set(id);
+        });
+        newBits = new NewBits(bits, now);
+        return bits;
+    }
+
+    private BitSet unionOf(Collection<Long> categoryIds) {
+        BitSet union = new BitSet();
+        for (Long categoryId : categoryIds) {
+            BitSet bits = byCategory.get(categoryId);
+            if (bits != null) union.or(bits);
+        }
+        return union;
+    }
+
+    private static BitSet toBits(Collection<Long> productIds) {
+        BitSet bits = new BitSet();
+        for (Long productId : productIds) {
+            if (fitsInt(productId)) bits.set(productId.intValue());
+        }
+        return bits;
+    }
+
+    private static BitSet and(BitSet left, BitSet right) {
+        if (right == null) return left;
+        BitSet result = (BitSet) left.clone();
+        result.and(right);
+        return result;
+    }
+
+    private static long andCardinality(BitSet left, BitSet right) {
+        if (right == null) return 0L;
+        return and(left, right).cardinality();
+    }
+
+    private static List<Long> idsOf(List<ProductFacetRow> rows) {
+        return rows.stream().map(ProductFacetRow::productId).toList();
+    }
+
+    private static boolean fitsInt(Long productId) {
+        return productId != null && productId >= 0 && productId <= Integer.MAX_VALUE;
+    }
+
+    private record NewBits(BitSet bits, long computedAt) {}
+}
@@ -0,0 +1,16 @@
+package JOO.jooshop.product.facet;
+
+import JOO.jooshop.product.entity.enums.ProductType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 패싯 인덱스 적재용 프로젝션 (Condition 판정에 필요한 컬럼만)
+ */
+public record ProductFacetRow(Long productId,
+                              ProductType productType,
+                              boolean discount,
+                              boolean recommend,
+                              Long wishListCount,
+                              LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package JOO.jooshop.product.facet;
+
+/**
+ * 상품별 재고 있는(product_stock > 0) 옵션 수 (옵션이 없는 상품은 0)
+ */
+public record ProductStockCount(Long productId, Long inStockOptions) {
+}
@@ -0,0 +1,103 @@
+package JOO.jooshop.product.hot;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 고정 크기 Count-Min Sketch (long 키, int 카운터)
+ *
+ * - depth 개 행 × width 개 카운터를 AtomicIntegerArray 하나에 평탄화 → 메모리 = depth × width × 4 byte
+ * - add / estimate 는 락 / 객체 할당 없이 CAS 증가와 배열 읽기만 한다.
+ * - 추정치는 실제 값 이상 (해시 충돌 시 과대 추정), 오차는 width 가 클수록 작다.
+ * - halve() 로 전체 카운터를 절반으로 줄여 오래된 조회의 영향을 지수적으로 줄인다.
+ */
+public final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x85EBCA77C2B2AE63L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * @param depth 해시 행 수 (1 ~ 8)
+     * @param width 행당 카운터 수 (2 의 거듭제곱으로 올림)
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth 는 1 ~ " + SEEDS.length + " 사이여야 합니다.");
+        }
+        if (width <= 0 || width > (1 << 24)) {
+            throw new IllegalArgumentException("width 는 1 ~ " + (1 << 24) + " 사이여야 합니다.");
+        }
+        int pow2 = Integer.highestOneBit(width);
+        if (pow2 < width) pow2 <<= 1;
+
+        this.depth = depth;
+        this.mask = pow2 - 1;
+        this.counters = new AtomicIntegerArray(depth * pow2);
+    }
+
+    /**
+     * 1 증가 후 증가된 추정치 반환
+     */
+    public int addAndEstimate(long key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int value = increment(index(row, key));
+            if (value < min) min = value;
+        }
+        return min;
+    }
+
+    public int estimate(long key) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int value = counters.get(index(row, key));
+            if (value < min) min = value;
+        }
+        return min;
+    }
+
+    /**
+     * 모든 카운터 절반 (감쇠) - 동시에 들어온 증가분은 CAS 재시도로 보존
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            int current;
+            do {
+                current = counters.get(i);
+            } while (current != 0 && !counters.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    public int memoryBytes() {
+        return counters.length() * Integer.BYTES;
+    }
+
+    // 포화 시 Integer.MAX_VALUE 에서 멈춘다. (음수로 넘어가지 않도록)
+    private int increment(int index) {
+        int current;
+        do {
+            current = counters.get(index);
+            if (current == Integer.MAX_VALUE) return current;
+        } while (!counters.compareAndSet(index, current, current + 1));
+        return current + 1;
+    }
+
+    private int index(int row, long key) {
+        return row * (mask + 1) + (int) (mix(key ^ SEEDS[row]) & mask);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,148 @@
+package JOO.jooshop.product.hot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class HotProductTracker {
+
+    /*
+        인스턴스 로컬 인기 상품 추적 (Count-Min Sketch + 상위 K 테이블)
+
+        - 상품 상세 조회마다 record → Redis / DB 없이 "지금 많이 보는 상품" 추정치를 항상 갖고 있다.
+        - 메모리 고정: sketch(depth × width × 4 byte, 기본 4 × 16384 = 256KB) + 상위 K 배열
+        - record 경로는 락 / 객체 할당 없음
+          · sketch 증가는 CAS
+          · 추정치가 상위 K 진입 기준(admissionThreshold) 미만이면 바로 반환 (대부분의 조회)
+          · 기준 이상일 때만 tryLock 으로 상위 K 테이블 갱신, 다른 스레드가 갱신 중이면 이번 건은 건너뛴다.
+            (인기 상품이면 곧 다시 조회되므로 누락되지 않는다)
+        - decay 주기마다 sketch / 상위 K 점수를 절반으로 → 최근 조회에 가중치가 실린 "현재" 인기 상품
+        - 사용처: 상세 캐시 미리 채우기(ProductDetailCache), Redis 장애 시 트렌딩 랭킹 대체(ProductRankingService)
+     */
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] ids;
+    private final int[] counts;
+    private int size;
+    private volatile int admissionThreshold;
+
+    public HotProductTracker(@Value("${product.hot.sketch.depth:4}") int depth,
+                             @Value("${product.hot.sketch.width:16384}") int width,
+                             @Value("${product.hot.top-k:50}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("product.hot.top-k 는 1 이상이어야 합니다.");
+        }
+        this.sketch = new CountMinSketch(depth, width);
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.counts = new int[capacity];
+        log.info("[HotProductTracker] sketch {}x{} ({} KB), top-k {}", depth, width, sketch.memoryBytes() / 1024, capacity);
+    }
+
+    /**
+     * 상품 상세 조회 1건 기록
+     */
+    public void record(Long productId) {
+        long id = productId;
+        int estimate = sketch.addAndEstimate(id);
+        if (estimate < admissionThreshold || !lock.tryLock()) {
+            return;
+        }
+        try {
+            offer(id, estimate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 인기 상품 ID (추정 조회수 내림차순, 최대 limit 개)
+     */
+    public List<Long> topIds(int limit) {
+        List<long[]> entries;
+        lock.lock();
+        try {
+            entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new long[]{ids[i], counts[i]});
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        entries.sort(Comparator.comparingLong((long[] e) -> e[1]).reversed().thenComparingLong(e -> e[0]));
+        return entries.stream()
+                .limit(Math.max(0, limit))
+                .map(e -> e[0])
+                .toList();
+    }
+
+    /**
+     * 감쇠 - 오래된 조회의 영향을 절반씩 줄인다.
+     */
+    @Scheduled(fixedDelayString = "${product.hot.decay-millis:60000}")
+    public void decay() {
+        sketch.halve();
+        lock.lock();
+        try {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int halved = counts[i] >>> 1;
+                if (halved == 0) continue; // 더 이상 조회되지 않는 상품은 제거
+                ids[kept] = ids[i];
+                counts[kept] = halved;
+                kept++;
+            }
+            size = kept;
+            updateThreshold();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock 보유 상태에서 호출 (상위 K 가 작아서 선형 탐색)
+    private void offer(long id, int estimate) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                if (estimate > counts[i]) counts[i] = estimate;
+                updateThreshold();
+                return;
+            }
+        }
+
+        if (size < capacity) {
+            ids[size] = id;
+            counts[size] = estimate;
+            size++;
+        } else {
+            int min = minIndex();
+            if (estimate <= counts[min]) return;
+            ids[min] = id;
+            counts[min] = estimate;
+        }
+        updateThreshold();
+    }
+
+    private void updateThreshold() {
+        admissionThreshold = size < capacity ? 0 : counts[minIndex()];
+    }
+
+    private int minIndex() {
+        int min = 0;
+        for (int i = 1; i < size; i++) {
+            if (counts[i] < counts[min]) min = i;
+        }
+        return min;
+    }
+}
@@ -0,0 +1,26 @@
+package JOO.jooshop.product.model;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 상품 변경 이벤트 (등록 / 수정 / 삭제, 옵션 · 썸네일 · 대량 재고 변경)
+ *
+ * - 쓰기 지점은 바뀐 productId 만 담아 발행하고, 인메모리 인덱스 / 캐시가 커밋 이후 각자 구독해 갱신한다.
+ *   (ProductKeywordIndex, ProductFacetIndex, ProductAvailabilityIndex, ProductCategoryMap, ProductListCache)
+ * - 롤백된 트랜잭션의 이벤트는 전달되지 않는다. (@TransactionalEventListener AFTER_COMMIT)
+ */
+public record ProductChangedEvent(Set<Long> productIds) {
+
+    public ProductChangedEvent {
+        productIds = Set.copyOf(productIds);
+    }
+
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(Set.of(productId));
+    }
+
+    public static ProductChangedEvent of(Collection<Long> productIds) {
+        return new ProductChangedEvent(Set.copyOf(productIds));
+    }
+}
@@ -0,0 +1,24 @@
+package JOO.jooshop.product.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCursorResponseDto {
+
+    /**
+     * 상품 목록 커서(keyset) 페이지 응답 DTO
+     * - totalCount 대신 다음 페이지 요청용 nextCursor 를 내려준다. (COUNT 쿼리 없음)
+     * - 마지막 페이지면 hasNext = false, nextCursor = null
+     */
+
+    private List<ProductListResponseDto> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
@@ -0,0 +1,31 @@
+package JOO.jooshop.product.model;
+
+import JOO.jooshop.global.queries.Condition;
+import JOO.jooshop.product.entity.enums.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFacetResponseDto {
+
+    /**
+     * 상품 목록 패싯 카운트 응답 DTO
+     * - totalCount   : 현재 필터(condition, category, keyword) 에 해당하는 상품 수
+     * - conditions   : condition 을 해당 값으로 바꿔 선택했을 때의 상품 수
+     * - productTypes : 현재 필터 결과의 ProductType 별 상품 수
+     * - categories   : category 를 해당 최상위 카테고리로 바꿔 선택했을 때의 상품 수
+     */
+
+    private long totalCount;
+    private Map<Condition, Long> conditions;
+    private Map<ProductType, Long> productTypes;
+    private List<CategoryCount> categories;
+
+    public record CategoryCount(Long categoryId, String name, long count) {}
+}
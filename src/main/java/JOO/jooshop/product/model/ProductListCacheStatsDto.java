@@ -0,0 +1,21 @@
+package JOO.jooshop.product.model;
+
+/**
+ * 상품 목록 결과 캐시 통계
+ * @param generation  현재 generation (상품/썸네일/옵션 변경 커밋마다 1 증가)
+ * @param staleMisses miss 중 이전 generation 엔트리가 있었던 횟수 (쓰기로 인한 무효화)
+ * @param bypasses    캐시 대상이 아니어서(검색어 있음, 비활성) 바로 조회한 횟수
+ * @param hitRate     hits / (hits + misses)
+ */
+public record ProductListCacheStatsDto(
+        boolean enabled,
+        long generation,
+        int size,
+        int maxEntries,
+        long hits,
+        long misses,
+        long staleMisses,
+        long bypasses,
+        long evictions,
+        double hitRate
+) {}
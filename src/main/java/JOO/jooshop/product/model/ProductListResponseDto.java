@@ -34,6 +34,7 @@ public class ProductListResponseDto {
     private Integer discountRate;
     private Boolean isRecommend;
     private List<String> productThumbnails; // 썸네일 리스트 추가
+    private Boolean available; // 재고 있는 옵션이 하나라도 있는지 (재고 인덱스 적재 전이면 null)
 
     public ProductListResponseDto(Product product) {
         this(
@@ -48,9 +49,15 @@ public class ProductListResponseDto {
                 product.isRecommend(),
                 product.getProductThumbnails().stream()
                         .map(ProductThumbnail::getImagePath)
-                        .collect(Collectors.toList())// 경로만 가져오기
-
+                        .collect(Collectors.toList()),// 경로만 가져오기
+                null
         );
     }
 
+    /** 재고 가용 여부만 바꾼 복사본 (캐시된 목록 항목은 그대로 두고 응답 시점 값으로 채운다) */
+    public ProductListResponseDto withAvailable(Boolean available) {
+        return new ProductListResponseDto(productId, productType, productName, price, createdAt, wishListCount,
+                isDiscount, discountRate, isRecommend, productThumbnails, available);
+    }
+
 }
@@ -1,11 +1,17 @@
 package JOO.jooshop.product.repository;
 
 import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.facet.ProductFacetRow;
+import JOO.jooshop.product.facet.ProductStockCount;
+import JOO.jooshop.product.search.ProductSearchDocument;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,6 +51,53 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * ❌ void deleteByProductId(List<Long> productIds);
      */
 
+    /**
+     * ✅ 검색 인덱스 적재용 (productId 기준 keyset chunk)
+     * - 엔티티 대신 검색 대상 컬럼만 프로젝션 → 연관 컬렉션/영속성 컨텍스트 부담 없음
+     */
+    @Query("select new JOO.jooshop.product.search.ProductSearchDocument(p.productId, p.productName, p.productInfo) " +
+            "from Product p where p.productId > :afterId order by p.productId")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * ✅ 검색 인덱스 재적재 중 변경된 상품 다시 읽기 (삭제된 상품은 조회되지 않음)
+     */
+    @Query("select new JOO.jooshop.product.search.ProductSearchDocument(p.productId, p.productName, p.productInfo) " +
+            "from Product p where p.productId in :productIds")
+    List<ProductSearchDocument> findSearchDocumentsByIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * ✅ 패싯 인덱스 적재용 (productId 기준 keyset chunk)
+     */
+    @Query("select new JOO.jooshop.product.facet.ProductFacetRow(p.productId, p.productType, p.isDiscount, p.isRecommend, p.wishListCount, p.createdAt) " +
+            "from Product p where p.productId > :afterId order by p.productId")
+    List<ProductFacetRow> findFacetRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * ✅ 패싯 인덱스 증분 반영용 (변경된 상품만)
+     */
+    @Query("select new JOO.jooshop.product.facet.ProductFacetRow(p.productId, p.productType, p.isDiscount, p.isRecommend, p.wishListCount, p.createdAt) " +
+            "from Product p where p.productId in :productIds")
+    List<ProductFacetRow> findFacetRowsByIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * ✅ 재고 가용 인덱스 적재용 (productId 기준 chunk, 옵션이 없는 상품도 0 으로 포함)
+     */
+    @Query("select new JOO.jooshop.product.facet.ProductStockCount(p.productId, " +
+            "sum(case when pm.productStock > 0 then 1L else 0L end)) " +
+            "from Product p left join p.productManagements pm " +
+            "where p.productId > :afterId group by p.productId order by p.productId")
+    List<ProductStockCount> findStockCountsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * ✅ 재고 가용 인덱스 증분 반영용 (변경된 상품만, 삭제된 상품은 조회되지 않음)
+     */
+    @Query("select new JOO.jooshop.product.facet.ProductStockCount(p.productId, " +
+            "sum(case when pm.productStock > 0 then 1L else 0L end)) " +
+            "from Product p left join p.productManagements pm " +
+            "where p.productId in :productIds group by p.productId")
+    List<ProductStockCount> findStockCountsByIds(@Param("productIds") Collection<Long> productIds);
+
     /**
      * ✅ 상세 조회 (썸네일/옵션/위시리스트 함께)
      */
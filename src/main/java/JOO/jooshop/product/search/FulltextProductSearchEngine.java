@@ -0,0 +1,106 @@
+package JOO.jooshop.product.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FulltextProductSearchEngine implements ProductSearchEngine {
+
+    /*
+        MySQL FULLTEXT(ngram parser) 검색 엔진
+
+        - products_table (productName, productInfo) 에 ngram parser FULLTEXT 인덱스를 걸고
+          MATCH ... AGAINST 로 검색, relevance(score) 내림차순으로 후보를 반환
+        - 컬럼명은 PhysicalNamingStrategyStandardImpl 설정 때문에 필드명 그대로(productName, productInfo)
+        - ngram_token_size(기본 2) 보다 짧은 검색어는 FULLTEXT 로 찾을 수 없으므로 LIKE 로 fallback
+        - 검색어는 phrase("...") 로 감싸서 연속된 gram 만 매칭 → LIKE '%kw%' 와 가장 가까운 의미
+
+        인덱스 생성 (마이그레이션)
+        - 프로젝트가 ddl-auto: update 로 스키마를 관리하므로, 이 엔진이 선택되었거나
+          product.search.fulltext.create-index=true 이면 기동 시 인덱스 존재 여부를 확인하고 없을 때만 생성한다.
+        - 인덱스가 없으면(생성 실패 포함) 검색은 LIKE 로 fallback
+     */
+
+    public static final String NAME = "mysql-fulltext";
+
+    private static final String INDEX_NAME = "ft_products_name_info";
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final String INDEX_EXISTS_SQL =
+            "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = 'products_table' AND index_name = ?";
+
+    private static final String CREATE_INDEX_SQL =
+            "ALTER TABLE products_table ADD FULLTEXT INDEX " + INDEX_NAME +
+            " (productName, productInfo) WITH PARSER ngram";
+
+    private static final String SEARCH_SQL =
+            "SELECT productId FROM products_table " +
+            "WHERE MATCH(productName, productInfo) AGAINST (? IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(productName, productInfo) AGAINST (? IN BOOLEAN MODE) DESC, productId DESC " +
+            "LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${product.search.engine:" + ProductKeywordIndex.NAME + "}")
+    private String activeEngine;
+
+    @Value("${product.search.fulltext.create-index:false}")
+    private boolean createIndex;
+
+    @Value("${product.search.index.max-candidates:5000}")
+    private int maxCandidates;
+
+    private volatile boolean indexReady = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndex() {
+        if (!NAME.equals(activeEngine) && !createIndex) return;
+
+        try {
+            Integer count = jdbcTemplate.queryForObject(INDEX_EXISTS_SQL, Integer.class, INDEX_NAME);
+            if (count == null || count == 0) {
+                log.info("[FulltextSearch] creating FULLTEXT index {} on products_table", INDEX_NAME);
+                jdbcTemplate.execute(CREATE_INDEX_SQL);
+            }
+            indexReady = true;
+        } catch (Exception e) {
+            log.error("[FulltextSearch] FULLTEXT index unavailable, falling back to LIKE", e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * relevance 순 상위 maxCandidates 개까지 반환
+     * (FULLTEXT 는 점수 순 상위만 의미가 있으므로 초과분은 잘라낸다)
+     */
+    @Override
+    public Optional<ProductSearchResult> search(String keyword) {
+        if (!indexReady || keyword == null) {
+            return Optional.empty();
+        }
+
+        String phrase = keyword.replace("\"", "").trim();
+        if (phrase.codePointCount(0, phrase.length()) < MIN_TOKEN_LENGTH) {
+            return Optional.empty();
+        }
+
+        String against = "\"" + phrase + "\"";
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL, Long.class, against, against, maxCandidates);
+        return Optional.of(ProductSearchResult.ranked(ids));
+    }
+}
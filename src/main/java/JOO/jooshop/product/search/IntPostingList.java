@@ -0,0 +1,73 @@
+package JOO.jooshop.product.search;
+
+import java.util.Arrays;
+
+/**
+ * 정렬된 primitive int 배열 기반 posting list
+ *
+ * - Integer 박싱/Set 노드 오버헤드 없이 문서 ID 를 연속 메모리에 보관
+ * - 추가/삭제는 이진 탐색 후 System.arraycopy (상품 쓰기는 드물고 읽기가 압도적으로 많음)
+ * - 교집합은 정렬 배열 merge 방식
+ * - 동기화는 상위(ProductKeywordIndex)의 lock 이 담당한다.
+ */
+final class IntPostingList {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) return; // 이미 존재
+
+        int insertAt = -(pos + 1);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) return;
+
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+        if (size > 4 && size < ids.length / 4) { // 많이 줄었으면 배열도 축소
+            ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /** 정렬 배열 교집합 (결과도 정렬 유지) */
+    static int[] intersect(int[] left, IntPostingList right) {
+        int[] out = new int[Math.min(left.length, right.size)];
+        int i = 0, j = 0, n = 0;
+        while (i < left.length && j < right.size) {
+            int a = left[i];
+            int b = right.ids[j];
+            if (a == b) {
+                out[n++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,26 @@
+package JOO.jooshop.product.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 기존 검색 방식 (비교 기준선)
+ * - 후보를 미리 구하지 않고 ProductQueryHelper.addKeywordFilter 의
+ *   productName/productInfo containsIgnoreCase(LIKE '%kw%') 조건을 그대로 사용한다.
+ */
+@Component
+public class LikeProductSearchEngine implements ProductSearchEngine {
+
+    public static final String NAME = "like";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Optional<ProductSearchResult> search(String keyword) {
+        return Optional.empty();
+    }
+}
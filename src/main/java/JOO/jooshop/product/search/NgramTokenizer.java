@@ -0,0 +1,60 @@
+package JOO.jooshop.product.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 문자 n-gram 토크나이저 (한글 친화)
+ *
+ * - 한글은 띄어쓰기/조사 때문에 형태소 분석 없이 공백 단위로 자르면 부분 검색이 안 된다.
+ *   ("반팔티셔츠" 에서 "티셔츠" 검색)
+ * - 그래서 문자 단위 1-gram + 2-gram 을 색인하고, 검색어도 같은 규칙으로 쪼개서 교집합을 구한다.
+ * - 기존 LIKE '%kw%' (containsIgnoreCase) 와 같은 결과를 내기 위해 공백도 그대로 문자로 취급하고,
+ *   소문자 변환만 정규화로 사용한다.
+ * - 문자 단위는 code point 기준 (서로게이트 쌍이 쪼개지지 않도록)
+ */
+public final class NgramTokenizer {
+
+    private NgramTokenizer() {
+    }
+
+    /** 색인/검색 공통 정규화 (containsIgnoreCase 와 동일하게 대소문자만 무시) */
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 색인용 gram: 모든 1-gram + 2-gram
+     * - 1글자 검색어도 처리할 수 있도록 1-gram 까지 색인한다.
+     */
+    public static Set<String> indexGrams(String normalized) {
+        int[] cps = normalized.codePoints().toArray();
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < cps.length; i++) {
+            grams.add(new String(cps, i, 1));
+            if (i + 1 < cps.length) {
+                grams.add(new String(cps, i, 2));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 검색용 gram
+     * - 1글자: 1-gram
+     * - 2글자 이상: 연속 2-gram 전체 (모두 포함하는 문서가 후보)
+     */
+    public static Set<String> queryGrams(String normalized) {
+        int[] cps = normalized.codePoints().toArray();
+        Set<String> grams = new LinkedHashSet<>();
+        if (cps.length == 1) {
+            grams.add(new String(cps, 0, 1));
+            return grams;
+        }
+        for (int i = 0; i + 1 < cps.length; i++) {
+            grams.add(new String(cps, i, 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,274 @@
+package JOO.jooshop.product.search;
+
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductKeywordIndex implements ProductSearchEngine {
+
+    public static final String NAME = "ngram-index";
+
+    /*
+        상품 키워드 검색용 in-process 역색인
+
+        기존
+        - ProductQueryHelper.addKeywordFilter → productName/productInfo LIKE '%kw%'
+        - 앞에 % 가 붙은 LIKE 는 인덱스를 못 타서 products_table 전체 스캔
+
+        변경
+        - 기동 시 Product 의 (productName, productInfo) 를 n-gram 으로 쪼개 gram → productId posting list 로 보관
+        - 검색어 gram 의 posting list 교집합으로 후보를 구한 뒤,
+          원문(정규화 문자열)에 실제로 검색어가 포함되는지 한 번 더 확인 → LIKE 와 동일한 결과
+        - 목록 쿼리는 LIKE 대신 productId IN (후보) 로 실행
+        - 상품 변경 이벤트(ProductChangedEvent)를 커밋 이후 받아 그 상품만 DB 에서 다시 읽어 반영 (롤백된 변경은 반영하지 않음)
+        - 적재 중 반영된 변경은 productId 를 기록해 두었다가 적재가 끝난 뒤 DB 에서 다시 읽는다.
+          (먼저 읽어 둔 chunk 가 그 사이 커밋된 변경을 예전 값으로 덮어쓰지 않도록)
+        - 활성 엔진(product.search.engine)이 아니면 적재하지 않는다. (product.search.index.always-build 로 강제)
+
+        사용할 수 없는 경우(기동 직후 적재 전, 후보가 너무 많은 경우) 는 Optional.empty() → 기존 LIKE 로 fallback
+     */
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    @Value("${product.search.engine:" + NAME + "}")
+    private String activeEngine;
+
+    @Value("${product.search.index.always-build:false}")
+    private boolean alwaysBuild;
+
+    @Value("${product.search.index.max-candidates:5000}")
+    private int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntPostingList> postings = new HashMap<>();
+    private final Map<Integer, IndexedText> documents = new HashMap<>();
+
+    /** 적재 중 증분 반영된 productId - 적재가 끝나면 다시 읽는다. */
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean enabled = false;
+    private volatile boolean rebuilding = false;
+    private volatile boolean ready = false;
+    private volatile boolean disabled = false; // int 범위를 넘는 productId 발견 시
+
+    /* =========================
+       Build
+    ========================= */
+
+    /**
+     * 애플리케이션 기동 완료 후 전체 상품 적재 (productId 기준 chunk 조회)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!NAME.equals(activeEngine) && !alwaysBuild) {
+            log.info("[ProductKeywordIndex] skipped. active engine = {}", activeEngine);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        enabled = true;
+        rebuilding = true;
+        long afterId = 0L;
+        int loaded = 0;
+
+        while (true) {
+            List<ProductSearchDocument> chunk =
+                    productRepository.findSearchDocumentsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+
+            lock.writeLock().lock();
+            try {
+                chunk.forEach(this::upsertLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            loaded += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).productId();
+        }
+
+        rebuilding = false;
+        reloadPending();
+
+        ready = true;
+        log.info("[ProductKeywordIndex] built. products={}, grams={}, {} ms",
+                loaded, postings.size(), System.currentTimeMillis() - start);
+    }
+
+    // 변경된 상품을 DB 의 현재 값으로 다시 반영 (조회되지 않은 상품은 삭제됨)
+    // 한 번에 하나씩 → 먼저 읽은 예전 값이 나중에 읽은 값을 덮어쓰지 않는다.
+    private synchronized void reloadPending() {
+        List<Long> ids = new ArrayList<>(pending);
+        if (ids.isEmpty()) return;
+        pending.removeAll(ids);
+
+        Map<Long, ProductSearchDocument> current = new HashMap<>();
+        productRepository.findSearchDocumentsByIds(ids).forEach(doc -> current.put(doc.productId(), doc));
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                ProductSearchDocument doc = current.get(id);
+                if (doc != null) {
+                    upsertLocked(doc);
+                } else if (fitsInt(id)) {
+                    removeLocked(id.intValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("[ProductKeywordIndex] reloaded changed products. count={}", ids.size());
+    }
+
+    /* =========================
+       Query
+    ========================= */
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    /**
+     * 검색어 → 후보 productId 목록 (productName 또는 productInfo 에 포함, 대소문자 무시)
+     * @return 인덱스를 사용할 수 없으면 Optional.empty() (호출 측에서 LIKE 로 fallback)
+     */
+    @Override
+    public Optional<ProductSearchResult> search(String keyword) {
+        if (!ready || disabled || keyword == null || keyword.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String normalized = NgramTokenizer.normalize(keyword);
+        Set<String> grams = NgramTokenizer.queryGrams(normalized);
+
+        lock.readLock().lock();
+        try {
+            List<IntPostingList> lists = new ArrayList<>(grams.size());
+            for (String gram : grams) {
+                IntPostingList list = postings.get(gram);
+                if (list == null || list.isEmpty()) {
+                    return Optional.of(ProductSearchResult.unranked(List.of())); // gram 하나라도 없으면 결과 없음
+                }
+                lists.add(list);
+            }
+
+            // 짧은 posting list 부터 교집합 → 중간 결과가 빨리 작아짐
+            lists.sort(Comparator.comparingInt(IntPostingList::size));
+            int[] candidates = lists.get(0).toArray();
+            for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+                candidates = IntPostingList.intersect(candidates, lists.get(i));
+            }
+
+            // n-gram 교집합은 "연속 포함" 을 보장하지 않으므로 원문으로 최종 확인
+            List<Long> matched = new ArrayList<>();
+            for (int id : candidates) {
+                IndexedText text = documents.get(id);
+                if (text != null && text.contains(normalized)) {
+                    matched.add((long) id);
+                    if (matched.size() > maxCandidates) {
+                        return Optional.empty(); // IN 절이 과도하게 커지면 LIKE 가 더 낫다
+                    }
+                }
+            }
+            return Optional.of(ProductSearchResult.unranked(matched));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* =========================
+       Incremental update
+       - 서비스 트랜잭션 커밋 이후에만 반영
+    ========================= */
+
+    /**
+     * 상품 변경 커밋 이후 DB 의 현재 값으로 다시 반영 (조회되지 않는 상품은 삭제)
+     * - 적재 중이면 productId 만 기록해 두고 적재가 끝난 뒤 반영
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(ProductChangedEvent event) {
+        if (!enabled) return;
+        pending.addAll(event.productIds());
+        if (!rebuilding) reloadPending();
+    }
+
+    private void upsertLocked(ProductSearchDocument doc) {
+        if (!fitsInt(doc.productId())) {
+            // posting list 는 int 기반 → 범위를 넘는 ID 가 생기면 인덱스를 끄고 LIKE 로 돌아간다.
+            log.warn("[ProductKeywordIndex] productId out of int range, index disabled. productId={}", doc.productId());
+            disabled = true;
+            return;
+        }
+
+        int id = doc.productId().intValue();
+        removeLocked(id);
+
+        IndexedText text = new IndexedText(
+                NgramTokenizer.normalize(doc.productName()),
+                NgramTokenizer.normalize(doc.productInfo()));
+        documents.put(id, text);
+
+        for (String gram : text.grams()) {
+            postings.computeIfAbsent(gram, g -> new IntPostingList()).add(id);
+        }
+    }
+
+    private void removeLocked(int id) {
+        IndexedText previous = documents.remove(id);
+        if (previous == null) return;
+
+        for (String gram : previous.grams()) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) continue;
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static boolean fitsInt(Long productId) {
+        return productId != null && productId > 0 && productId <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * 정규화된 원문 (name / info 를 따로 보관 → 두 필드에 걸친 오탐 방지)
+     */
+    private record IndexedText(String name, String info) {
+
+        boolean contains(String normalizedKeyword) {
+            return name.contains(normalizedKeyword) || info.contains(normalizedKeyword);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = NgramTokenizer.indexGrams(name);
+            grams.addAll(NgramTokenizer.indexGrams(info));
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package JOO.jooshop.product.search;
+
+/**
+ * 검색 인덱스 적재용 최소 프로젝션
+ * - Product 엔티티 전체(연관 컬렉션 포함)를 올리지 않고 검색 대상 컬럼만 조회
+ */
+public record ProductSearchDocument(Long productId, String productName, String productInfo) {}
@@ -0,0 +1,24 @@
+package JOO.jooshop.product.search;
+
+import java.util.Optional;
+
+/**
+ * 상품 키워드 검색 엔진 SPI
+ *
+ * - ProductOrderService 는 검색어를 직접 LIKE 로 거는 대신 이 인터페이스로 후보 productId 를 먼저 구한다.
+ * - 구현체는 product.search.engine 프로퍼티로 선택 (ProductSearchEngineRegistry)
+ *   · like           : 기존 QueryDSL LIKE '%kw%' (DB 에서 조건으로 처리)
+ *   · ngram-index    : in-process n-gram 역색인 (ProductKeywordIndex)
+ *   · mysql-fulltext : MySQL FULLTEXT(ngram parser) + relevance 정렬
+ */
+public interface ProductSearchEngine {
+
+    /** 프로퍼티/벤치마크에서 사용하는 엔진 이름 */
+    String name();
+
+    /**
+     * 검색어 → 매칭 productId
+     * @return Optional.empty() 면 엔진이 처리하지 않음 → 목록 쿼리에서 기존 LIKE 조건으로 처리
+     */
+    Optional<ProductSearchResult> search(String keyword);
+}
@@ -0,0 +1,51 @@
+package JOO.jooshop.product.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 엔진 선택기
+ * - product.search.engine 프로퍼티 값으로 활성 엔진을 결정 (코드 변경 없이 엔진 교체/비교)
+ * - 등록된 모든 엔진은 벤치마크에서 같은 검색어 세트로 비교할 수 있도록 이름으로 조회 가능
+ */
+@Slf4j
+@Component
+public class ProductSearchEngineRegistry {
+
+    private final Map<String, ProductSearchEngine> engines = new LinkedHashMap<>();
+    private final ProductSearchEngine active;
+
+    public ProductSearchEngineRegistry(List<ProductSearchEngine> engineList,
+                                       @Value("${product.search.engine:" + ProductKeywordIndex.NAME + "}") String activeName) {
+        engineList.forEach(engine -> engines.put(engine.name(), engine));
+
+        this.active = engines.get(activeName);
+        if (this.active == null) {
+            throw new IllegalStateException("알 수 없는 검색 엔진입니다: " + activeName + " (사용 가능: " + engines.keySet() + ")");
+        }
+        log.info("[ProductSearch] active engine = {}", activeName);
+    }
+
+    public ProductSearchEngine active() {
+        return active;
+    }
+
+    public ProductSearchEngine get(String name) {
+        ProductSearchEngine engine = engines.get(name);
+        if (engine == null) {
+            throw new IllegalArgumentException("알 수 없는 검색 엔진입니다: " + name);
+        }
+        return engine;
+    }
+
+    public Collection<ProductSearchEngine> all() {
+        return Collections.unmodifiableCollection(engines.values());
+    }
+}
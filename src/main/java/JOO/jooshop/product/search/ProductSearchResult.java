@@ -0,0 +1,19 @@
+package JOO.jooshop.product.search;
+
+import java.util.List;
+
+/**
+ * 검색 엔진 결과
+ * @param productIds 매칭 productId 목록
+ * @param ranked     true 면 productIds 가 relevance 내림차순 (정렬 미지정 목록에서 그대로 사용)
+ */
+public record ProductSearchResult(List<Long> productIds, boolean ranked) {
+
+    public static ProductSearchResult unranked(List<Long> productIds) {
+        return new ProductSearchResult(productIds, false);
+    }
+
+    public static ProductSearchResult ranked(List<Long> productIds) {
+        return new ProductSearchResult(productIds, true);
+    }
+}
@@ -0,0 +1,133 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.categorys.service.CategoryTreeSnapshot;
+import JOO.jooshop.product.facet.ProductCategoryLink;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCategoryMap {
+
+    /*
+        상품 → 최상위 카테고리 캐시 (카테고리별 랭킹용)
+
+        - 상품의 카테고리는 ProductManagement(옵션) 단위로 붙어 있어 상품 하나가 여러 최상위 카테고리에 속할 수 있다.
+        - 전체 (product_id, category_id) 를 한 번에 읽어 최상위 카테고리 ID 목록으로 변환해 둔다.
+          → 조회수 flush 때 상품마다 DB 조회 없이 Map 조회 한 번
+        - 옵션 생성/수정/삭제 커밋 이후 해당 상품만 pending 에 넣고, 다음 조회 때 그 상품들만 다시 읽는다. (ProductFacetIndex 와 동일)
+        - 카테고리 트리가 바뀌면(CategoryTreeSnapshot version) 최상위 카테고리가 달라질 수 있으므로 전체 재적재
+     */
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ProductManagementRepository productManagementRepository;
+    private final CategoryTreeSnapshot categoryTreeSnapshot;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private Map<Long, List<Long>> topCategories = Map.of();
+    private long loadedTreeVersion = -1;
+
+    /**
+     * 상품별 최상위 카테고리 ID (카테고리가 없는 상품은 결과에서 제외)
+     */
+    public synchronized Map<Long, List<Long>> topCategoriesOf(Collection<Long> productIds) {
+        refresh();
+
+        Map<Long, List<Long>> result = new HashMap<>();
+        for (Long productId : productIds) {
+            List<Long> categoryIds = topCategories.get(productId);
+            if (categoryIds != null) {
+                result.put(productId, categoryIds);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 상품의 옵션(카테고리) 변경 트랜잭션 커밋 이후 해당 상품을 다시 읽도록 표시
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(ProductChangedEvent event) {
+        pending.addAll(event.productIds());
+    }
+
+    // 적재 실패 시 이전 맵을 그대로 사용하고 다음 조회 때 재시도
+    private void refresh() {
+        long treeVersion = categoryTreeSnapshot.version();
+        if (treeVersion != loadedTreeVersion) {
+            List<Long> drained = drainPending(); // 전체 재적재에 포함
+            try {
+                topCategories = group(productManagementRepository.findAllCategoryLinks());
+                loadedTreeVersion = treeVersion;
+                log.debug("[ProductCategoryMap] loaded. products={}, treeVersion={}", topCategories.size(), treeVersion);
+            } catch (Exception e) {
+                pending.addAll(drained);
+                log.warn("[ProductCategoryMap] load failed, keep previous mapping", e);
+            }
+            return;
+        }
+
+        List<Long> dirty = drainPending();
+        if (dirty.isEmpty()) return;
+
+        try {
+            Map<Long, List<Long>> updated = new HashMap<>(topCategories);
+            for (int from = 0; from < dirty.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = dirty.subList(from, Math.min(from + CHUNK_SIZE, dirty.size()));
+                Map<Long, List<Long>> reloaded = group(productManagementRepository.findCategoryLinks(chunk));
+                for (Long productId : chunk) {
+                    List<Long> categoryIds = reloaded.get(productId);
+                    if (categoryIds == null) {
+                        updated.remove(productId); // 옵션이 모두 삭제되었거나 상품 삭제
+                    } else {
+                        updated.put(productId, categoryIds);
+                    }
+                }
+            }
+            topCategories = updated;
+        } catch (Exception e) {
+            pending.addAll(dirty);
+            log.warn("[ProductCategoryMap] failed to apply {} changed products, retry later", dirty.size(), e);
+        }
+    }
+
+    private List<Long> drainPending() {
+        List<Long> drained = new ArrayList<>();
+        Iterator<Long> it = pending.iterator();
+        while (it.hasNext()) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private Map<Long, List<Long>> group(List<ProductCategoryLink> links) {
+        Map<Long, List<Long>> grouped = new HashMap<>();
+        for (ProductCategoryLink link : links) {
+            Long topLevelId = categoryTreeSnapshot.topLevelIdOf(link.categoryId());
+            if (topLevelId == null) continue;
+            List<Long> categoryIds = grouped.computeIfAbsent(link.productId(), k -> new ArrayList<>(1));
+            if (!categoryIds.contains(topLevelId)) {
+                categoryIds.add(topLevelId);
+            }
+        }
+        grouped.replaceAll((productId, categoryIds) -> List.copyOf(categoryIds));
+        return grouped;
+    }
+}
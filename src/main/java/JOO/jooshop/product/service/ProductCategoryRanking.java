@@ -0,0 +1,141 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.categorys.service.CategoryTreeSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCategoryRanking {
+
+    /*
+        최상위 카테고리별 누적 조회수 랭킹
+
+        - 카테고리마다 ZSET (product_views:category:{topCategoryId}) 을 두고
+          전체 랭킹과 같은 flush 경로에서 같은 pipeline 으로 ZINCRBY
+        - 상품 → 최상위 카테고리는 ProductCategoryMap 캐시에서 조회 (조회수 1건당 DB 조회 없음)
+        - 옵션의 카테고리가 바뀌어도 이전 카테고리에 쌓인 조회수는 그대로 남는다. (누적 랭킹이므로)
+        - 처음 켰을 때는 기존 누적 조회수로 한 번 채운다.
+          ZADD GT 로 기록하므로 기동 직후 flush 된 조회수와 겹쳐도 누적 조회수보다 커지지 않는다.
+     */
+
+    private static final String KEY_PREFIX = "product_views:category:";
+    private static final String SEEDED_KEY = KEY_PREFIX + "seeded";
+    private static final String SEED_LOCK_KEY = KEY_PREFIX + "seed-lock";
+    private static final Duration SEED_LOCK_TTL = Duration.ofMinutes(10);
+    private static final int SEED_CHUNK = 1000;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ProductCategoryMap productCategoryMap;
+    private final ProductViewShards productViewShards;
+    private final CategoryTreeSnapshot categoryTreeSnapshot;
+
+    /**
+     * flush 대상 상품들의 최상위 카테고리 (pipeline 시작 전에 조회)
+     */
+    public Map<Long, List<Long>> resolve(Collection<Long> productIds) {
+        return productCategoryMap.topCategoriesOf(productIds);
+    }
+
+    /**
+     * pipeline / SessionCallback 안에서 호출 (상품이 속한 최상위 카테고리 ZSET 마다 ZINCRBY)
+     */
+    public void increment(RedisOperations<String, Object> ops, List<Long> topCategoryIds, Long productId, double delta) {
+        if (topCategoryIds == null) return;
+        String member = String.valueOf(productId);
+        for (Long categoryId : topCategoryIds) {
+            ops.opsForZSet().incrementScore(key(categoryId), member, delta);
+        }
+    }
+
+    /**
+     * 최상위 카테고리 랭킹 상위 limit 상품 ID (조회수 높은 순)
+     */
+    public List<Long> topIds(Long categoryId, int limit) {
+        Long topLevelId = categoryTreeSnapshot.topLevelIdOf(categoryId);
+        if (topLevelId == null) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. categoryId=" + categoryId);
+        }
+        if (!topLevelId.equals(categoryId)) {
+            throw new IllegalArgumentException("카테고리 랭킹은 최상위 카테고리만 조회할 수 있습니다. categoryId=" + categoryId);
+        }
+
+        Set<Object> members = redisTemplate.opsForZSet().reverseRange(key(categoryId), 0, limit - 1L);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+                .map(String::valueOf)
+                .map(Long::parseLong)
+                .toList();
+    }
+
+    /* =========================
+       Seed (기존 누적 조회수로 채우기)
+    ========================= */
+
+    @Order(2) // 샤드 마이그레이션 / 체크포인트 재적재 이후
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        String owner = UUID.randomUUID().toString();
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(SEEDED_KEY))) return;
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(SEED_LOCK_KEY, owner, SEED_LOCK_TTL))) return;
+
+            productViewShards.forEachChunk(SEED_CHUNK, this::seed);
+            redisTemplate.opsForValue().set(SEEDED_KEY, true);
+            log.info("[ProductCategoryRanking] category rankings seeded from all-time views");
+        } catch (Exception e) {
+            log.warn("[ProductCategoryRanking] category ranking seed failed, retry on next startup", e);
+        } finally {
+            if (owner.equals(String.valueOf(redisTemplate.opsForValue().get(SEED_LOCK_KEY)))) {
+                redisTemplate.delete(SEED_LOCK_KEY);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void seed(List<Long> productIds) {
+        Map<Long, Double> scores = productViewShards.scores(productIds);
+        Map<Long, List<Long>> categories = resolve(scores.keySet());
+        if (categories.isEmpty()) return;
+
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            categories.forEach((productId, categoryIds) -> {
+                byte[] member = valueSerializer.serialize(String.valueOf(productId));
+                for (Long categoryId : categoryIds) {
+                    zaddGreater(connection, keySerializer.serialize(key(categoryId)), scores.get(productId), member);
+                }
+            });
+            return null;
+        });
+    }
+
+    private static void zaddGreater(RedisConnection connection, byte[] key, double score, byte[] member) {
+        connection.zSetCommands().zAdd(key, score, member, ZAddArgs.empty().gt());
+    }
+
+    private static String key(Long categoryId) {
+        return KEY_PREFIX + categoryId;
+    }
+}
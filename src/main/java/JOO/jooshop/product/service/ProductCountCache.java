@@ -0,0 +1,87 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.global.queries.Condition;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+@Component
+public class ProductCountCache {
+
+    /*
+        상품 목록 totalCount 캐시
+
+        - 목록 페이지마다 같은 (condition, category, keyword) 조합으로 COUNT 쿼리가 반복된다.
+        - totalCount 는 페이지 UI 용도라 몇 초 정도의 오차는 허용 가능 → 짧은 TTL 로 캐싱
+        - 키워드는 containsIgnoreCase 검색이므로 소문자 기준으로 정규화해서 키를 만든다.
+        - 검색어 조합이 무한히 늘어날 수 있으므로 최대 엔트리 수를 둔다.
+        - 재고 있는 상품만 보기는 재고 가용 인덱스 version 을 키에 넣어 품절 상태가 바뀌면 다시 센다.
+
+        기존
+        - 가득 차면 만료분 정리 후 전체를 비움 → 자주 쓰는 조합(전체 목록, 카테고리별)까지 한꺼번에 miss, COUNT 쿼리가 몰린다.
+
+        변경
+        - 접근 순서 LinkedHashMap(accessOrder = true) + removeEldestEntry → 가장 오래 안 쓰인 엔트리 하나만 내보낸다. (LRU)
+        - LinkedHashMap 은 get 도 순서를 바꾸므로 조회 / 저장 모두 cache 를 잠그고 한다. (COUNT 쿼리는 잠금 밖에서 실행)
+     */
+
+    private final Map<CountKey, CachedCount> cache;
+
+    private final ProductAvailabilityIndex productAvailabilityIndex;
+    private final long ttlMillis;
+
+    public ProductCountCache(ProductAvailabilityIndex productAvailabilityIndex,
+                             @Value("${product.count-cache.ttl-seconds:30}") long ttlSeconds,
+                             @Value("${product.count-cache.max-entries:10000}") int maxEntries) {
+        this.productAvailabilityIndex = productAvailabilityIndex;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CountKey, CachedCount> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 totalCount 반환, 없거나 만료되었으면 loader 로 COUNT 쿼리 실행 후 저장
+     */
+    public long getOrLoad(Condition condition, Long category, String keyword, boolean inStockOnly, LongSupplier loader) {
+        Long availabilityVersion = inStockOnly ? productAvailabilityIndex.version() : null;
+        CountKey key = new CountKey(condition, category, normalizeKeyword(keyword), availabilityVersion);
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            CachedCount cached = cache.get(key);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.count();
+            }
+        }
+
+        long count = loader.getAsLong();
+        synchronized (cache) {
+            cache.put(key, new CachedCount(count, now + ttlMillis));
+        }
+        return count;
+    }
+
+    /** 상품 등록/수정/삭제 등으로 전체 카운트가 바뀌었을 때 호출 */
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static String normalizeKeyword(String keyword) {
+        return keyword == null ? null : keyword.toLowerCase(Locale.ROOT);
+    }
+
+    private record CountKey(Condition condition, Long category, String keyword, Long availabilityVersion) {}
+
+    private record CachedCount(long count, long expiresAt) {}
+}
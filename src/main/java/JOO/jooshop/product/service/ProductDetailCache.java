@@ -0,0 +1,129 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.hot.HotProductTracker;
+import JOO.jooshop.product.model.ProductDetailResponseDto;
+import JOO.jooshop.product.repository.ProductRepository;
+import JOO.jooshop.productManagement.entity.ProductManagement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class ProductDetailCache {
+
+    /*
+        인기 상품 상세 응답 캐시 (인스턴스 로컬)
+
+        - 상세 조회는 상품 + 썸네일 + 옵션 + 위시리스트 EntityGraph 조회라 무겁고, 조회는 소수 인기 상품에 몰린다.
+        - HotProductTracker 의 현재 상위 K 상품만 주기적으로 미리 조회해 둔다. (pre-warm)
+          → 캐시 크기 = 상위 K, 인기에서 밀려난 상품은 다음 주기에 제거
+        - 무효화: 상품 / 썸네일 / 옵션 변경 커밋 시 올라가는 ProductListCache generation 이 바뀌면 miss
+          위시리스트 수처럼 generation 을 올리지 않는 변경은 TTL 만큼만 늦게 반영된다.
+        - 캐시된 DTO 는 여러 요청이 공유하므로 반환 후 수정하지 않는다.
+     */
+
+    private final ProductRepository productRepository;
+    private final HotProductTracker hotProductTracker;
+    private final ProductListCache productListCache;
+    private final int size;
+    private final long ttlMillis;
+
+    private final Map<Long, CachedDetail> cache = new ConcurrentHashMap<>();
+
+    public ProductDetailCache(ProductRepository productRepository,
+                              HotProductTracker hotProductTracker,
+                              ProductListCache productListCache,
+                              @Value("${product.hot.detail-cache.size:20}") int size,
+                              @Value("${product.hot.detail-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.productRepository = productRepository;
+        this.hotProductTracker = hotProductTracker;
+        this.productListCache = productListCache;
+        this.size = size;
+        this.ttlMillis = ttlSeconds * 1000L;
+    }
+
+    /**
+     * 캐시된 상세 응답 (없거나 stale 이면 null)
+     */
+    public ProductDetailResponseDto get(Long productId) {
+        CachedDetail cached = cache.get(productId);
+        if (cached == null || !cached.isFresh(productListCache.generation(), System.currentTimeMillis())) {
+            return null;
+        }
+        return cached.detail();
+    }
+
+    /**
+     * 상세 응답 조회 (DB)
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProductDetailResponseDto> load(Long productId) {
+        return productRepository.findProductWithDetailsByProductId(productId)
+                .map(ProductDetailCache::toDetailDto);
+    }
+
+    /**
+     * 현재 인기 상품 상세를 미리 조회 (이미 fresh 한 상품은 건너뜀)
+     */
+    @Scheduled(fixedDelayString = "${product.hot.detail-cache.prewarm-millis:5000}")
+    @Transactional(readOnly = true)
+    public void prewarm() {
+        if (size <= 0) return;
+
+        List<Long> hotIds = hotProductTracker.topIds(size);
+        Set<Long> keep = new HashSet<>(hotIds);
+        cache.keySet().retainAll(keep);
+
+        int loaded = 0;
+        for (Long productId : hotIds) {
+            long generation = productListCache.generation();
+            long now = System.currentTimeMillis();
+            CachedDetail cached = cache.get(productId);
+            if (cached != null && cached.isFresh(generation, now)) continue;
+
+            try {
+                Optional<ProductDetailResponseDto> detail = productRepository.findProductWithDetailsByProductId(productId)
+                        .map(ProductDetailCache::toDetailDto);
+                if (detail.isPresent()) {
+                    cache.put(productId, new CachedDetail(detail.get(), generation, now + ttlMillis));
+                    loaded++;
+                } else {
+                    cache.remove(productId);
+                }
+            } catch (Exception e) {
+                log.warn("[ProductDetailCache] prewarm failed. productId={}", productId, e);
+            }
+        }
+        if (loaded > 0) {
+            log.debug("[ProductDetailCache] prewarmed {} hot products", loaded);
+        }
+    }
+
+    private static ProductDetailResponseDto toDetailDto(Product product) {
+        ProductDetailResponseDto dto = new ProductDetailResponseDto(product);
+
+        List<ProductManagement> options = product.getProductManagements();
+        if (!options.isEmpty()) {
+            dto.withInventoryId(options.get(0).getInventoryId());
+        }
+        return dto;
+    }
+
+    private record CachedDetail(ProductDetailResponseDto detail, long generation, long expiresAt) {
+
+        boolean isFresh(long currentGeneration, long now) {
+            return generation == currentGeneration && expiresAt > now;
+        }
+    }
+}
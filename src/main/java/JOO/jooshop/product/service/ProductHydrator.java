@@ -0,0 +1,81 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.thumbnail.entity.QProductThumbnail;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static JOO.jooshop.product.entity.QProduct.product;
+
+@Component
+@RequiredArgsConstructor
+public class ProductHydrator {
+
+    /*
+        productId 목록 → 상품 + 대표 썸네일 일괄 조회
+
+        - 목록(ProductOrderService) / 랭킹(ProductRankingService) 이 같이 사용
+        - 기존: 상품 ID 마다 findByProductId + 썸네일 컬렉션 lazy 로딩 (N+1)
+        - 변경: 쿼리 1번, 썸네일은 상품별 min(thumbnailId) 한 건만 left join → 결과 row 수 = ID 수
+     */
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * ID 목록 순서를 유지한 상품 + 상품별 대표 썸네일(가장 먼저 등록된 썸네일) 경로
+     * - IN 절 결과는 순서가 보장되지 않으므로 입력 ID 순서대로 다시 정렬한다.
+     * - 조회 사이에 삭제된 상품은 결과에서 빠진다.
+     */
+    public HydratedProducts hydrate(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new HydratedProducts(List.of(), Map.of());
+        }
+
+        QProductThumbnail thumbnail = QProductThumbnail.productThumbnail;
+        QProductThumbnail firstThumbnail = new QProductThumbnail("firstThumbnail");
+
+        List<Tuple> rows = queryFactory.select(product, thumbnail.imagePath)
+                .from(product)
+                .leftJoin(product.productThumbnails, thumbnail)
+                .on(thumbnail.thumbnailId.eq(
+                        JPAExpressions.select(firstThumbnail.thumbnailId.min())
+                                .from(firstThumbnail)
+                                .where(firstThumbnail.product.eq(product))))
+                .where(product.productId.in(ids))
+                .fetch();
+
+        Map<Long, Product> productById = new HashMap<>();
+        Map<Long, String> thumbnailById = new HashMap<>();
+        for (Tuple row : rows) {
+            Product p = row.get(product);
+            productById.put(p.getProductId(), p);
+            String imagePath = row.get(thumbnail.imagePath);
+            if (imagePath != null) {
+                thumbnailById.put(p.getProductId(), imagePath);
+            }
+        }
+
+        List<Product> ordered = ids.stream()
+                .map(productById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new HydratedProducts(ordered, thumbnailById);
+    }
+
+    // 입력 순서가 유지된 상품 + 상품별 대표 썸네일 경로 (썸네일이 없는 상품은 key 없음)
+    public record HydratedProducts(List<Product> products, Map<Long, String> firstThumbnails) {
+
+        public String firstThumbnail(Long productId) {
+            return firstThumbnails.get(productId);
+        }
+    }
+}
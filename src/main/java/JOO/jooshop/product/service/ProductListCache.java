@@ -0,0 +1,158 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.global.authorization.RequiresRole;
+import JOO.jooshop.global.queries.Condition;
+import JOO.jooshop.global.queries.OrderBy;
+import JOO.jooshop.members.entity.enums.MemberRole;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.model.ProductListCacheStatsDto;
+import JOO.jooshop.product.model.ProductListResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class ProductListCache {
+
+    /*
+        상품 목록(page 모드) 결과 캐시
+
+        - 검색어 없는 목록 요청은 (condition, category, order, page, size) 조합이 몇 개 안 되는데
+          요청마다 같은 QueryDSL 쿼리(ID 페이지 + hydrate + COUNT)를 다시 실행한다.
+        - 조회 결과 Page 를 정규화된 요청 키로 캐싱
+        - 무효화는 generation 카운터: 상품 / 썸네일 / ProductManagement 변경 커밋 이후 generation 을 올리면
+          이전 generation 으로 저장된 엔트리는 전부 miss 처리된다. (엔트리를 일일이 찾아 지울 필요 없음)
+        - 조회 도중 변경이 커밋되면 조회 시작 시점 generation 으로 저장되므로 곧바로 stale 이 된다.
+        - NEW(최근 1개월) 처럼 시간이 지나면 바뀌는 조건이 있어 TTL 도 함께 둔다.
+        - 검색어가 있는 요청은 조합이 무한하므로 캐싱하지 않는다.
+        - 재고 있는 상품만 보기는 재고 가용 인덱스 version 을 키에 넣는다. (결제 차감은 generation 을 올리지 않으므로)
+          품절 배지(available)는 캐시에 넣지 않고 응답 시점에 ProductOrderService 가 채운다.
+     */
+
+    private final Map<ListKey, CachedPage> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleMisses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final ProductCountCache productCountCache;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    public ProductListCache(ProductCountCache productCountCache,
+                            ProductAvailabilityIndex productAvailabilityIndex,
+                            @Value("${product.list-cache.enabled:true}") boolean enabled,
+                            @Value("${product.list-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${product.list-cache.max-entries:2000}") int maxEntries) {
+        this.productCountCache = productCountCache;
+        this.productAvailabilityIndex = productAvailabilityIndex;
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 캐시된 목록 페이지 반환, 없거나 stale 이면 loader 로 조회 후 저장
+     */
+    public Page<ProductListResponseDto> getOrLoad(int page, int size, Condition condition, OrderBy order,
+                                                  Long category, String keyword, boolean inStockOnly,
+                                                  Supplier<Page<ProductListResponseDto>> loader) {
+        if (!enabled || keyword != null) {
+            bypasses.increment();
+            return loader.get();
+        }
+
+        Long availabilityVersion = inStockOnly ? productAvailabilityIndex.version() : null;
+        ListKey key = new ListKey(page, size, condition, order == null ? OrderBy.LATEST : order, category, availabilityVersion);
+        long currentGeneration = generation.get();
+        long now = System.currentTimeMillis();
+
+        CachedPage cached = cache.get(key);
+        if (cached != null && cached.generation() == currentGeneration && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.page();
+        }
+
+        if (cached != null && cached.generation() != currentGeneration) {
+            staleMisses.increment();
+        }
+        misses.increment();
+
+        Page<ProductListResponseDto> loaded = loader.get();
+        evictIfFull(currentGeneration, now);
+        cache.put(key, new CachedPage(loaded, currentGeneration, now + ttlMillis));
+        return loaded;
+    }
+
+    /**
+     * 상품 / 썸네일 / ProductManagement 변경 트랜잭션 커밋 이후 generation 증가
+     * - 목록 totalCount 캐시도 같이 비운다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        productCountCache.invalidateAll();
+    }
+
+    /**
+     * 현재 generation (상품 / 썸네일 / 옵션 변경마다 증가, 상세 캐시도 같이 사용)
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 캐시 크기 산정용 hit / miss 통계
+     */
+    @RequiresRole({MemberRole.ADMIN})
+    public ProductListCacheStatsDto stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new ProductListCacheStatsDto(
+                enabled,
+                generation.get(),
+                cache.size(),
+                maxEntries,
+                hitCount,
+                missCount,
+                staleMisses.sum(),
+                bypasses.sum(),
+                evictions.sum(),
+                lookups == 0 ? 0.0 : (double) hitCount / lookups
+        );
+    }
+
+    private void evictIfFull(long currentGeneration, long now) {
+        if (cache.size() < maxEntries) return;
+
+        int before = cache.size();
+        cache.entrySet().removeIf(e -> e.getValue().generation() != currentGeneration || e.getValue().expiresAt() <= now);
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+        evictions.add(before - cache.size());
+    }
+
+    private record ListKey(int page, int size, Condition condition, OrderBy order, Long category, Long availabilityVersion) {}
+
+    private record CachedPage(Page<ProductListResponseDto> page, long generation, long expiresAt) {}
+}
@@ -1,16 +1,29 @@
 package JOO.jooshop.product.service;
 
+import JOO.jooshop.categorys.model.CategoryNode;
+import JOO.jooshop.categorys.service.CategoryTreeSnapshot;
 import JOO.jooshop.global.queries.Condition;
 import JOO.jooshop.global.queries.OrderBy;
+import JOO.jooshop.global.queries.ProductCursor;
 import JOO.jooshop.global.queries.ProductQueryHelper;
 import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.QProduct;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.product.facet.ProductFacetCounts;
+import JOO.jooshop.product.facet.ProductFacetIndex;
+import JOO.jooshop.product.model.ProductCursorResponseDto;
+import JOO.jooshop.product.model.ProductFacetResponseDto;
 import JOO.jooshop.product.model.ProductListResponseDto;
 import JOO.jooshop.product.repository.ProductColorRepository;
 import JOO.jooshop.product.repository.ProductRepository;
-import JOO.jooshop.thumbnail.entity.ProductThumbnail;
+import JOO.jooshop.product.search.ProductSearchEngineRegistry;
+import JOO.jooshop.product.search.ProductSearchResult;
+import JOO.jooshop.product.service.ProductHydrator.HydratedProducts;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +34,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static JOO.jooshop.product.entity.QProduct.product;
 
@@ -35,6 +53,13 @@ public class ProductOrderService {
     public final ProductColorRepository productColorRepository;
     public final ModelMapper modelMapper;
     private final JPAQueryFactory queryFactory;
+    private final ProductHydrator productHydrator;
+    private final ProductCountCache productCountCache;
+    private final ProductListCache productListCache;
+    private final ProductSearchEngineRegistry productSearchEngineRegistry;
+    private final CategoryTreeSnapshot categoryTreeSnapshot;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
 
     /**
      * 필터링 및 정렬
@@ -42,27 +67,42 @@ public class ProductOrderService {
      * @param size
      * @param condition
      * @param order
+     * @param inStockOnly 재고 있는 옵션이 하나라도 있는 상품만
      * @return
      */
-    public Page<ProductListResponseDto> getFilteredAndSortedProducts(int page, int size, Condition condition, OrderBy order, Long category, String keyword) {
+    public Page<ProductListResponseDto> getFilteredAndSortedProducts(int page, int size, Condition condition, OrderBy order, Long category, String keyword, boolean inStockOnly) {
+        // 검색어 없는 요청은 결과 캐시 (상품/썸네일/옵션 변경 시 generation 으로 무효화)
+        Page<ProductListResponseDto> result = productListCache.getOrLoad(page, size, condition, order, category, keyword, inStockOnly,
+                () -> loadFilteredAndSortedProducts(page, size, condition, order, category, keyword, inStockOnly));
+        // 품절 배지는 캐시와 무관하게 응답 시점 재고 인덱스 값
+        return result.map(this::withAvailability);
+    }
+
+    private Page<ProductListResponseDto> loadFilteredAndSortedProducts(int page, int size, Condition condition, OrderBy order, Long category, String keyword, boolean inStockOnly) {
+        // 검색어 → 검색 엔진으로 후보 productId 조회
+        ProductSearchResult searchResult = searchKeyword(keyword);
+
         // 필터링
-        BooleanBuilder filterBuilder = ProductQueryHelper.createFilterBuilder(condition, category, keyword, QProduct.product);
+        BooleanBuilder filterBuilder = createFilterBuilder(condition, category, keyword, searchResult, inStockOnly);
+
+        // 정렬 미지정 + relevance 를 제공하는 엔진이면 relevance 순 정렬
+        if (order == null && searchResult != null && searchResult.ranked()) {
+            return getRelevanceSortedProducts(page, size, filterBuilder, searchResult.productIds());
+        }
 
         // 정렬
         OrderSpecifier<?> orderSpecifier = ProductQueryHelper.getOrderSpecifier(order, product);
 
-        // 필터링 및 정렬 적용
-        List<Product> results = getFilteredAndSortedResults(orderSpecifier, filterBuilder, page, size);
+        // 필터링 및 정렬 적용 (1단계: 페이지 ID 조회, 2단계: 상품 + 대표 썸네일 일괄 조회)
+        List<Long> pageIds = getFilteredAndSortedIds(orderSpecifier, filterBuilder, page, size);
+        HydratedProducts hydrated = productHydrator.hydrate(pageIds);
 
-        // 전체 카운트 조회 쿼리
-        long totalCount = queryFactory.selectFrom(product)
-                .where(filterBuilder)
-                .fetch().size();
-        // querydsl 개발진 측에서 fetchCount 와 groupby 를 함께 사용할 때 생기는 문제로 인해 fetchcount 함수를 deprecated 시켰다고함.
-//        .fetchCount();
+        // 전체 카운트 조회 (짧은 TTL 캐시 → 없으면 COUNT 쿼리)
+        long totalCount = productCountCache.getOrLoad(condition, category, keyword, inStockOnly,
+                () -> countFilteredProducts(filterBuilder));
 
         // ProductListResponseDto 로 변환
-        List<ProductListResponseDto> productList = mapToProductListResponseDto(results);
+        List<ProductListResponseDto> productList = mapToProductListResponseDto(hydrated);
 
         /*
         List<ProductListResponseDto> productList = results.stream()
@@ -72,29 +112,231 @@ public class ProductOrderService {
         return new PageImpl<>(productList, PageRequest.of(page, size), totalCount);
     }
 
-    // 필터링 및 정렬 수행하는 메서드
-    private List<Product> getFilteredAndSortedResults(OrderSpecifier orderSpecifier, BooleanBuilder filterBuilder, int page, int size) {
-        return queryFactory.selectFrom(product)
-                .leftJoin(product.productThumbnails).fetchJoin()
+    /**
+     * 필터링 및 정렬 (커서 모드)
+     * - offset 대신 "마지막 정렬 키 + productId" 이후 row 만 조회 → 깊은 페이지에서도 일정한 비용
+     * - size + 1 개를 조회해서 다음 페이지 존재 여부를 판단 (COUNT 쿼리 없음)
+     * @param cursor 이전 응답의 nextCursor, 첫 페이지는 null
+     */
+    public ProductCursorResponseDto getFilteredAndSortedProductsByCursor(String cursor, int size, Condition condition, OrderBy order, Long category, String keyword, boolean inStockOnly) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size 는 1 이상이어야 합니다.");
+        }
+
+        // 필터링 (커서 모드는 relevance 정렬을 지원하지 않고 order 기준으로만 정렬)
+        BooleanBuilder filterBuilder = createFilterBuilder(condition, category, keyword, searchKeyword(keyword), inStockOnly);
+
+        // 커서 조건
+        if (cursor != null && !cursor.isBlank()) {
+            filterBuilder.and(ProductQueryHelper.cursorPredicate(order, ProductCursor.decode(cursor), product));
+        }
+
+        // 정렬 (정렬 키 + productId tiebreaker)
+        OrderSpecifier<?>[] orderSpecifiers = ProductQueryHelper.getCursorOrderSpecifiers(order, product);
+
+        List<Long> ids = queryFactory.select(product.productId)
+                .from(product)
+                .where(filterBuilder)
+                .orderBy(orderSpecifiers)
+                .limit(size + 1L)
+                .fetch();
+
+        boolean hasNext = ids.size() > size;
+        HydratedProducts hydrated = productHydrator.hydrate(hasNext ? ids.subList(0, size) : ids);
+
+        List<Product> pageItems = hydrated.products();
+        String nextCursor = hasNext && !pageItems.isEmpty()
+                ? ProductQueryHelper.nextCursor(order, pageItems.get(pageItems.size() - 1)).encode()
+                : null;
+
+        List<ProductListResponseDto> items = mapToProductListResponseDto(hydrated).stream()
+                .map(this::withAvailability)
+                .toList();
+        return new ProductCursorResponseDto(items, nextCursor, hasNext, size);
+    }
+
+    /**
+     * 패싯 카운트 (Condition / ProductType / 최상위 카테고리 별 상품 수)
+     * - 패싯 비트셋 인덱스로 계산, 인덱스를 쓸 수 없으면 패싯 값마다 COUNT 쿼리로 fallback
+     */
+    @Transactional(readOnly = true)
+    public ProductFacetResponseDto getFacetCounts(Condition condition, Long category, String keyword) {
+        Set<Long> categoryIds = category == null ? null : categoryTreeSnapshot.descendantIdsOf(category);
+
+        List<CategoryNode> topLevel = categoryTreeSnapshot.topLevelNodes();
+        Map<Long, Set<Long>> categoryGroups = new LinkedHashMap<>();
+        for (CategoryNode node : topLevel) {
+            categoryGroups.put(node.categoryId(), categoryTreeSnapshot.descendantIdsOf(node.categoryId()));
+        }
+
+        List<Long> keywordIds = keyword == null ? null : findKeywordMatchedIds(keyword);
+
+        ProductFacetCounts counts = productFacetIndex.count(condition, categoryIds, keywordIds, categoryGroups)
+                .orElseGet(() -> countFacetsByQuery(condition, categoryIds, keyword, categoryGroups));
+
+        List<ProductFacetResponseDto.CategoryCount> categoryCounts = topLevel.stream()
+                .map(node -> new ProductFacetResponseDto.CategoryCount(
+                        node.categoryId(), node.name(), counts.categories().getOrDefault(node.categoryId(), 0L)))
+                .toList();
+
+        return new ProductFacetResponseDto(counts.total(), counts.conditions(), counts.productTypes(), categoryCounts);
+    }
+
+    // 검색어 매칭 productId 전체 (검색 엔진 → 처리하지 못하면 LIKE 쿼리)
+    private List<Long> findKeywordMatchedIds(String keyword) {
+        ProductSearchResult searchResult = searchKeyword(keyword);
+        if (searchResult != null) {
+            return searchResult.productIds();
+        }
+        return queryFactory.select(product.productId)
+                .from(product)
+                .where(ProductQueryHelper.createFilterBuilder(null, null, keyword, product))
+                .fetch();
+    }
+
+    // 패싯 인덱스 적재 전 fallback: 패싯 값마다 COUNT 쿼리 (인덱스와 같은 규칙)
+    private ProductFacetCounts countFacetsByQuery(Condition condition, Set<Long> categoryIds, String keyword,
+                                                  Map<Long, Set<Long>> categoryGroups) {
+        long total = countFilteredProducts(ProductQueryHelper.createFilterBuilder(condition, categoryIds, keyword, product));
+
+        Map<Condition, Long> conditionCounts = new EnumMap<>(Condition.class);
+        for (Condition facet : ProductFacetIndex.FACET_CONDITIONS) {
+            conditionCounts.put(facet,
+                    countFilteredProducts(ProductQueryHelper.createFilterBuilder(facet, categoryIds, keyword, product)));
+        }
+
+        Map<ProductType, Long> typeCounts = new EnumMap<>(ProductType.class);
+        for (ProductType type : ProductType.values()) {
+            BooleanBuilder filter = ProductQueryHelper.createFilterBuilder(condition, categoryIds, keyword, product);
+            typeCounts.put(type, countFilteredProducts(filter.and(product.productType.eq(type))));
+        }
+
+        Map<Long, Long> categoryCounts = new LinkedHashMap<>();
+        categoryGroups.forEach((groupId, ids) -> categoryCounts.put(groupId,
+                countFilteredProducts(ProductQueryHelper.createFilterBuilder(condition, ids, keyword, product))));
+
+        return new ProductFacetCounts(total, conditionCounts, typeCounts, categoryCounts);
+    }
+
+    /**
+     * 검색어 → 활성 검색 엔진(product.search.engine)으로 후보 productId 조회
+     * @return null 이면 검색어 없음 또는 엔진이 처리하지 않음 → 기존 LIKE 조건 사용
+     */
+    private ProductSearchResult searchKeyword(String keyword) {
+        if (keyword == null) return null;
+        return productSearchEngineRegistry.active().search(keyword).orElse(null);
+    }
+
+    /**
+     * 필터 생성
+     * - 카테고리는 카테고리 트리 스냅샷에서 하위 카테고리 ID 집합으로 확장
+     * - 검색 엔진이 후보를 구했으면 IN 조건, 아니면(적재 전, 후보 과다, like 엔진) 기존 LIKE 조건
+     * - 재고 있는 상품만: 재고 가용 인덱스의 productId 로 IN / NOT IN (조인 없음), 인덱스 적재 전이면 옵션 EXISTS 서브쿼리
+     */
+    private BooleanBuilder createFilterBuilder(Condition condition, Long category, String keyword, ProductSearchResult searchResult, boolean inStockOnly) {
+        Set<Long> categoryIds = category == null ? null : categoryTreeSnapshot.descendantIdsOf(category);
+        List<Long> candidateIds = searchResult == null ? null : searchResult.productIds();
+        BooleanBuilder builder = ProductQueryHelper.createFilterBuilder(condition, categoryIds, keyword, candidateIds, QProduct.product);
+        if (inStockOnly) {
+            builder.and(inStockPredicate());
+        }
+        return builder;
+    }
+
+    private BooleanExpression inStockPredicate() {
+        return productAvailabilityIndex.inStockFilter()
+                .map(filter -> {
+                    if (filter.include()) {
+                        return filter.productIds().isEmpty()
+                                ? Expressions.FALSE.isTrue()
+                                : product.productId.in(filter.productIds());
+                    }
+                    return filter.productIds().isEmpty()
+                            ? Expressions.TRUE.isTrue()
+                            : product.productId.notIn(filter.productIds());
+                })
+                .orElseGet(() -> product.productManagements.any().productStock.gt(0L));
+    }
+
+    // 응답 시점 재고 인덱스 값으로 품절 배지 (인덱스 적재 전이면 null)
+    private ProductListResponseDto withAvailability(ProductListResponseDto dto) {
+        return dto.withAvailable(productAvailabilityIndex.isAvailable(dto.getProductId()).orElse(null));
+    }
+
+    /**
+     * relevance 순 목록
+     * - 후보는 검색 엔진에서 이미 relevance 순으로 상한(max-candidates) 이내로 받아온 상태
+     * - 나머지 필터(condition, category)를 통과한 ID 만 DB 에서 확인한 뒤 relevance 순서대로 페이징
+     * - 전체 개수도 여기서 확정되므로 COUNT 쿼리 불필요
+     */
+    private Page<ProductListResponseDto> getRelevanceSortedProducts(int page, int size, BooleanBuilder filterBuilder, List<Long> rankedIds) {
+        Set<Long> filtered = new HashSet<>(queryFactory.select(product.productId)
+                .from(product)
+                .where(filterBuilder)
+                .fetch());
+
+        List<Long> matched = rankedIds.stream()
+                .filter(filtered::contains)
+                .toList();
+
+        int from = (int) Math.min((long) page * size, matched.size());
+        int to = Math.min(from + size, matched.size());
+        HydratedProducts hydrated = productHydrator.hydrate(matched.subList(from, to));
+
+        return new PageImpl<>(mapToProductListResponseDto(hydrated), PageRequest.of(page, size), matched.size());
+    }
+
+    /**
+     * 필터링 및 정렬 수행하는 메서드 (1단계: ID 페이지 조회)
+     * - 기존: selectFrom(product).leftJoin(productThumbnails).fetchJoin() + offset/limit
+     *   → 컬렉션 fetch join 과 페이징을 같이 쓰면 Hibernate 가 LIMIT 없이 전체 row 를 가져와
+     *     메모리에서 페이징한다. (HHH90003004 경고)
+     * - 변경: 조인 없이 productId 만 offset/limit 으로 조회 → DB 가 페이지 크기만큼만 반환
+     */
+    private List<Long> getFilteredAndSortedIds(OrderSpecifier<?> orderSpecifier, BooleanBuilder filterBuilder, int page, int size) {
+        return queryFactory.select(product.productId)
+                .from(product)
                 .where(filterBuilder)
                 .orderBy(orderSpecifier)
-                .offset(page * size)
+                .offset((long) page * size)
                 .limit(size)
                 .fetch();
     }
 
+    /**
+     * 전체 카운트 조회 쿼리
+     * - 기존: selectFrom(product).fetch().size() → 필터 결과 전체를 메모리에 올린 뒤 개수만 사용
+     * - 변경: select count(distinct p.productId) 로 DB 에서 개수만 계산
+     * - querydsl 개발진 측에서 fetchCount 와 groupby 를 함께 사용할 때 생기는 문제로 인해 fetchCount 함수를 deprecated 시켰다고함.
+     *   → fetchCount 대신 count 프로젝션을 직접 select 한다.
+     */
+    private long countFilteredProducts(BooleanBuilder filterBuilder) {
+        Long count = queryFactory.select(product.productId.countDistinct())
+                .from(product)
+                .where(filterBuilder)
+                .fetchOne();
+        return count == null ? 0L : count;
+    }
+
     // Product 리스트 -> ProductListResponseDto 리스트로 변환 메서드
-    private List<ProductListResponseDto> mapToProductListResponseDto(List<Product> results) {
-        return results.stream()
-                .map(product -> { // Product -> ProductListResponseDto 변환
-                    ProductListResponseDto ProductListResponseDto = modelMapper.map(product, ProductListResponseDto.class);
-                    // ProductThumbnail 의 imagePath 를 매핑
-                    ProductListResponseDto.setProductThumbnails(
-                            product.getProductThumbnails().stream()
-                                    .map(ProductThumbnail::getImagePath)
-                                    .toList()
+    // ModelMapper 는 productThumbnails 컬렉션까지 읽어 lazy 로딩을 일으키므로 생성자로 직접 변환
+    private List<ProductListResponseDto> mapToProductListResponseDto(HydratedProducts page) {
+        return page.products().stream()
+                .map(p -> {
+                    String thumbnailPath = page.firstThumbnail(p.getProductId());
+                    return new ProductListResponseDto(
+                            p.getProductId(),
+                            p.getProductType(),
+                            p.getProductName(),
+                            p.getPrice(),
+                            p.getCreatedAt(),
+                            p.getWishListCount(),
+                            p.isDiscount(),
+                            p.getDiscountRate(),
+                            p.isRecommend(),
+                            thumbnailPath == null ? List.of() : List.of(thumbnailPath), // 대표 썸네일
+                            null // 품절 배지는 응답 시점에 withAvailability
                     );
-                    return ProductListResponseDto;
                 })
                 .toList();
     }
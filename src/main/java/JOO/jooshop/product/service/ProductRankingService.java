@@ -1,23 +1,37 @@
 package JOO.jooshop.product.service;
 
+import JOO.jooshop.global.queries.RankingType;
 import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.hot.HotProductTracker;
 import JOO.jooshop.product.model.ProductRankResponseDto;
-import JOO.jooshop.product.repository.ProductColorRepository;
-import JOO.jooshop.product.repository.ProductRepository;
+import JOO.jooshop.product.service.ProductHydrator.HydratedProducts;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
-@Transactional(rollbackFor = Exception.class)
 @RequiredArgsConstructor
 @Slf4j
 public class ProductRankingService {
@@ -28,76 +42,370 @@ public class ProductRankingService {
         3. 상품 리스트 조회(랭킹순으로) -> 랭킹에 따라 상품 목록을 가져오고, DTO 로 변환해 반환.
 
         Redis : 실시간 랭킹 같은 빠른 데이터 처리를 위해 사용. ZSet(정렬된 집합) 활용
-        ModelMapper : Entity -> DTO 변환을 편하게 하기 위해 사용
 
         - RedisTemplate<String, Object> + GenericJackson2JsonRedisSerializer 조합은 문자열 + 객체 모두 저장 가능
         - 단순 랭킹뿐 아니라, 제품 상세 캐시, 인기 상품 리스트, 유저 임시 정보 저장 등 다양한 기능에 대응
+
+        랭킹 조회
+        - 기존: reverseRange 결과를 toSet() 으로 모아 순위가 사라지고,
+                상품 ID 마다 findByProductId + ModelMapper + 썸네일 lazy 로딩 (N+1)
+        - 변경: 순위 순서 그대로 List 로 받고, 상품 + 대표 썸네일을 쿼리 1번으로 조회 (ProductHydrator)
+        - 상위 N 개는 몇 초마다 백그라운드에서 미리 만들어 두고(스냅샷), 조회는 스냅샷에서 잘라서 반환
+          → 홈 화면 랭킹 조회는 Redis / MySQL 을 거치지 않는다.
+
+        조회수 증가
+        - 기존: 상세 조회마다 ZINCRBY 동기 호출
+        - 변경: ProductViewCounter 에 메모리로 누적 → 주기적으로(기본 1초) pipeline 한 번으로 ZINCRBY 일괄 반영
+                종료 시에도 남은 누적분 반영, Redis 장애로 실패하면 누적분을 되돌려 다음 주기에 재시도
+
+        트렌딩 랭킹
+        - product_views 는 누적이라 예전에 인기 있던 상품이 계속 상위에 남는다.
+        - 조회수를 시간대별 버킷(product_views:h:{yyyyMMddHH}, window 만큼 TTL)에도 같이 기록
+        - 백그라운드에서 최근 window 시간 버킷을 ZUNIONSTORE 로 합산 (가중치 = 0.5^(경과 시간 / 반감기))
+          → product_views:trending 에 저장, 조회 요청마다 합산하지 않는다.
+
+        순 방문자 랭킹
+        - 새로고침 / 봇 반복 조회는 조회수만 올리고 순 방문자 수는 올리지 않는다.
+        - 상품별 / 일자별 HyperLogLog (product_visitors:{yyyyMMdd}:{productId}) 에 방문자 ID 를 PFADD
+          → 방문자 수와 무관하게 키당 최대 약 12KB
+        - 그날 방문 기록이 있는 상품 ID 는 product_visitors:{yyyyMMdd}:ids 에 모아 둔다.
+        - 백그라운드에서 최근 window 일 후보 상품을 pipeline PFCOUNT(여러 날 키 합산) 로 읽어
+          product_views:unique ZSET 을 새로 만들어 교체 (RENAME)
+
+        누적 조회수 샤딩
+        - 누적 ZSET 을 productId 해시로 N 개 키에 나눠 기록하고, 상위 N 은 샤드별 상위 N 을 k-way merge (ProductViewShards)
+
+        카테고리별 랭킹
+        - 같은 flush pipeline 에서 상품이 속한 최상위 카테고리 ZSET 에도 ZINCRBY (ProductCategoryRanking)
+        - 상품 → 카테고리는 메모리 캐시(ProductCategoryMap)에서 flush 한 번에 한꺼번에 조회
+
+        로컬 인기 상품
+        - 상세 조회마다 인스턴스 로컬 Count-Min Sketch 에도 기록 (HotProductTracker, 네트워크 없음)
+        - Redis 장애로 트렌딩 순위를 못 읽으면 로컬 인기 상품으로 대체 → 트렌딩 목록은 계속 갱신된다.
      */
 
-    public final ProductRepository productRepository;
-    public final ProductColorRepository productColorRepository;
-    public final ModelMapper modelMapper;
+    private static final String HOURLY_KEY_PREFIX = "product_views:h:";
+    private static final String TRENDING_KEY = "product_views:trending";
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    private static final String VISITORS_KEY_PREFIX = "product_visitors:";
+    private static final String UNIQUE_KEY = "product_views:unique";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ProductHydrator productHydrator;
+    private final ProductViewCounter productViewCounter;
+    private final ProductVisitorResolver productVisitorResolver;
+    private final ProductViewShards productViewShards;
+    private final ProductCategoryRanking productCategoryRanking;
+    private final HotProductTracker hotProductTracker;
 
-    // 랭킹순으로 상품 리스트를 조회하는 메서드
+    @Value("${product.ranking.snapshot.size:100}")
+    private int snapshotSize;
+
+    @Value("${product.ranking.trending.window-hours:24}")
+    private int trendingWindowHours;
+
+    @Value("${product.ranking.trending.half-life-hours:6}")
+    private double trendingHalfLifeHours;
+
+    @Value("${product.ranking.unique.window-days:2}")
+    private int uniqueWindowDays;
+
+    private final Map<RankingType, List<ProductRankResponseDto>> snapshots = new EnumMap<>(RankingType.class);
+
+    // 랭킹순으로 상품 리스트를 조회하는 메서드 (누적 조회수)
+    @Transactional(readOnly = true)
     public List<ProductRankResponseDto> getProductListByRanking(int limit) {
+        return getProductListByRanking(RankingType.ALL_TIME, limit);
+    }
 
-        // Redis 에서 랭킹 순으로 상품 ID를 가져옴
-        Set<String> productIds = getTopProductIds(limit);
-        // Redis에서 가져온 ID는 문자열이라서 **숫자(Long)**으로 변환.
-        List<Long> productIdList = productIds.stream()
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
-
-        // 상품 ID로 DB 에서 상품 조회, 해당 상품이 없으면 null 제외하고 필터링
-        List<Product> products = productIdList.stream()
-                .map(productId -> productRepository.findByProductId(productId).orElse(null))
-                .filter(Objects::nonNull) // 상품이 없을 수도 있음 (null), 위 repository 방지
-                .collect(Collectors.toList());
-
-        // Product -> ProductRankResponseDto 변환
-        return products.stream()
-                .map(product -> {
-                    ProductRankResponseDto dto = modelMapper.map(product, ProductRankResponseDto.class);
-                    // 썸네일 리스트가 비어있을 경우, get(0) 을 아예 호출하지 않도록 설정
-                    //  "Index 0 out of bounds for length 0" 에러 방지
-                    if (!product.getProductThumbnails().isEmpty()) {
-                        dto.setProductThumbnails(product.getProductThumbnails().get(0).getImagePath());
+    /**
+     * 랭킹순 상품 리스트
+     * @param type ALL_TIME(누적) / TRENDING(최근 시간대 가중)
+     */
+    @Transactional(readOnly = true)
+    public List<ProductRankResponseDto> getProductListByRanking(RankingType type, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit 는 1 이상이어야 합니다.");
+        }
+        RankingType resolved = type == null ? RankingType.ALL_TIME : type;
+
+        // 스냅샷 범위 안이면 스냅샷에서 반환 (Redis / DB 조회 없음)
+        List<ProductRankResponseDto> current = snapshot(resolved);
+        if (current != null && limit <= snapshotSize) {
+            return current.subList(0, Math.min(limit, current.size()));
+        }
+
+        return loadRanking(resolved, limit);
+    }
+
+    /**
+     * 최상위 카테고리 내 누적 조회수 랭킹
+     */
+    @Transactional(readOnly = true)
+    public List<ProductRankResponseDto> getProductListByRanking(Long categoryId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit 는 1 이상이어야 합니다.");
+        }
+        return hydrateRanking(productCategoryRanking.topIds(categoryId, limit));
+    }
+
+    /**
+     * 랭킹 상위 N 스냅샷 갱신 (랭킹 종류별)
+     * - 갱신 실패(Redis 장애 등) 시 이전 스냅샷을 계속 사용
+     */
+    @Scheduled(fixedDelayString = "${product.ranking.snapshot.refresh-millis:5000}")
+    @Transactional(readOnly = true)
+    public void refreshSnapshot() {
+        for (RankingType type : RankingType.values()) {
+            try {
+                List<ProductRankResponseDto> loaded = List.copyOf(loadRanking(type, snapshotSize));
+                synchronized (snapshots) {
+                    snapshots.put(type, loaded);
+                }
+            } catch (Exception e) {
+                log.warn("[ProductRankingService] {} ranking snapshot refresh failed, keep previous snapshot", type, e);
+            }
+        }
+    }
+
+    private List<ProductRankResponseDto> snapshot(RankingType type) {
+        synchronized (snapshots) {
+            return snapshots.get(type);
+        }
+    }
+
+    /**
+     * 트렌딩 점수 재계산
+     * - 최근 window 시간 버킷을 시간 감쇠 가중치로 합산해 product_views:trending 에 저장
+     */
+    @Scheduled(fixedDelayString = "${product.ranking.trending.refresh-millis:60000}")
+    public void refreshTrending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> bucketKeys = new ArrayList<>(trendingWindowHours);
+        double[] weights = new double[trendingWindowHours];
+        for (int age = 0; age < trendingWindowHours; age++) {
+            bucketKeys.add(hourlyKey(now.minusHours(age)));
+            weights[age] = Math.pow(0.5, age / trendingHalfLifeHours);
+        }
+
+        try {
+            redisTemplate.opsForZSet().unionAndStore(
+                    bucketKeys.get(0), bucketKeys.subList(1, bucketKeys.size()), TRENDING_KEY,
+                    Aggregate.SUM, Weights.of(weights));
+            redisTemplate.expire(TRENDING_KEY, Duration.ofHours(trendingWindowHours));
+        } catch (Exception e) {
+            log.warn("[ProductRankingService] trending refresh failed, keep previous trending scores", e);
+        }
+    }
+
+    /**
+     * 순 방문자 랭킹 재계산
+     * - 최근 window 일 방문 상품 후보 → pipeline PFCOUNT(일자별 HLL 키 합산) → 임시 ZSET 작성 후 RENAME 으로 교체
+     */
+    @Scheduled(fixedDelayString = "${product.ranking.unique.refresh-millis:60000}")
+    public void refreshUniqueVisitors() {
+        LocalDate today = LocalDate.now();
+        List<String> days = new ArrayList<>(uniqueWindowDays);
+        for (int i = 0; i < uniqueWindowDays; i++) {
+            days.add(today.minusDays(i).format(DAY_FORMAT));
+        }
+
+        try {
+            List<String> idKeys = days.stream().map(ProductRankingService::visitedIdsKey).toList();
+            Set<Object> members = redisTemplate.opsForSet().union(idKeys.get(0), idKeys.subList(1, idKeys.size()));
+            if (members == null || members.isEmpty()) {
+                redisTemplate.delete(UNIQUE_KEY);
+                return;
+            }
+
+            List<Long> productIds = members.stream().map(String::valueOf).map(Long::parseLong).toList();
+            List<Object> counts = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (Long productId : productIds) {
+                        String[] keys = days.stream().map(day -> visitorsKey(day, productId)).toArray(String[]::new);
+                        ops.opsForHyperLogLog().size(keys);
                     }
-                    return dto;
-                })
-                .toList();
+                    return null;
+                }
+            });
+
+            Set<TypedTuple<Object>> tuples = new HashSet<>();
+            for (int i = 0; i < productIds.size(); i++) {
+                long count = ((Number) counts.get(i)).longValue();
+                if (count > 0) {
+                    tuples.add(TypedTuple.of(String.valueOf(productIds.get(i)), (double) count));
+                }
+            }
+
+            String tmpKey = UNIQUE_KEY + ":tmp";
+            redisTemplate.delete(tmpKey);
+            if (tuples.isEmpty()) {
+                redisTemplate.delete(UNIQUE_KEY);
+                return;
+            }
+            redisTemplate.opsForZSet().add(tmpKey, tuples);
+            redisTemplate.rename(tmpKey, UNIQUE_KEY);
+        } catch (Exception e) {
+            log.warn("[ProductRankingService] unique visitor ranking refresh failed, keep previous ranking", e);
+        }
     }
 
-    // 랭킹을 위한 상품 조회수 가져오는 메서드
-    public Set<String> getTopProductIds(int limit) {
-        String key = "product_views";
-        // Redis 에 있는 key 값을 ZSet 에서 '조회수가 높은 순서'로 상품 ID를 가져온다.
-        return redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1)
-                .stream()
-                .map(String::valueOf) // Object -> String
-                .collect(Collectors.toSet());
+    // Redis 순위 → 상품 + 대표 썸네일 일괄 조회 (순위 순서 유지)
+    private List<ProductRankResponseDto> loadRanking(RankingType type, int limit) {
+        if (type == RankingType.TRENDING) {
+            return hydrateRanking(getTrendingProductIds(limit));
+        }
+        return hydrateRanking(getTopProductIds(type, limit));
+    }
+
+    // Redis 를 읽지 못하면 이 인스턴스의 로컬 인기 상품으로 대체
+    private List<Long> getTrendingProductIds(int limit) {
+        try {
+            return getTopProductIds(RankingType.TRENDING, limit);
+        } catch (Exception e) {
+            log.warn("[ProductRankingService] trending ranking unavailable, fall back to local hot products: {}", e.getMessage());
+            return hotProductTracker.topIds(limit);
+        }
     }
 
+    private List<ProductRankResponseDto> hydrateRanking(List<Long> productIds) {
+        HydratedProducts hydrated = productHydrator.hydrate(productIds);
 
-    // 상품 조회수 증가 메서드 (ProductServiceV1 메서드)
-    public void increaseProductViews(Long productId) {
-        String key = "product_views"; // Redis 매핑
-        // ProductServiceV1 class 의 productDetail 메서드에 호출
-        redisTemplate.opsForZSet().incrementScore(key, String.valueOf(productId), 1);
+        return hydrated.products().stream()
+                .map(product -> toRankResponseDto(product, hydrated.firstThumbnail(product.getProductId())))
+                .toList();
     }
-}
 
+    // 랭킹을 위한 상품 조회수 가져오는 메서드 (조회수가 높은 순서 유지)
+    public List<Long> getTopProductIds(int limit) {
+        return getTopProductIds(RankingType.ALL_TIME, limit);
+    }
 
+    public List<Long> getTopProductIds(RankingType type, int limit) {
+        if (type == RankingType.ALL_TIME) {
+            // 누적 조회수는 샤드별 상위 limit 를 합쳐서 (ProductViewShards)
+            return productViewShards.topIds(limit);
+        }
+        String key = type == RankingType.TRENDING ? TRENDING_KEY : UNIQUE_KEY;
+        // Redis 에 있는 key 값을 ZSet 에서 '조회수가 높은 순서'로 상품 ID를 가져온다. (LinkedHashSet → 순서 유지)
+        Set<Object> members = redisTemplate.opsForZSet().reverseRange(key, 0, limit - 1);
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+                .map(String::valueOf) // Object -> String
+                .map(Long::parseLong)
+                .toList();
+    }
 
+    // 상품 조회수 증가 메서드 (ProductServiceV1 메서드)
+    public void increaseProductViews(Long productId) {
+        // ProductServiceV1 class 의 productDetail 메서드에 호출 → 로컬 누적만 하고 Redis 반영은 flushViews 에서
+        productViewCounter.increment(productId);
+        hotProductTracker.record(productId);
 
+        String visitorId = productVisitorResolver.currentVisitorId();
+        if (visitorId != null) {
+            productViewCounter.addVisitor(productId, visitorId);
+        }
+    }
 
+    /**
+     * 로컬 누적 조회수 → Redis 일괄 반영 (pipeline)
+     * - 누적 키 + 현재 시간대 버킷 키 (버킷은 트렌딩 window 가 지나면 만료)
+     */
+    @Scheduled(fixedDelayString = "${product.ranking.views.flush-millis:1000}")
+    public void flushViews() {
+        Map<Long, Long> deltas = productViewCounter.drain();
+        Map<Long, Set<String>> visitors = productViewCounter.drainVisitors();
+        if (deltas.isEmpty() && visitors.isEmpty()) return;
 
+        String bucketKey = hourlyKey(LocalDateTime.now());
+        Duration bucketTtl = Duration.ofHours(trendingWindowHours + 1L);
+        String day = LocalDate.now().format(DAY_FORMAT);
+        Duration visitorsTtl = Duration.ofDays(uniqueWindowDays + 1L);
+        Map<Long, List<Long>> categories = resolveCategories(deltas);
 
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    deltas.forEach((productId, delta) -> {
+                        productViewShards.increment(ops, productId, delta);
+                        productViewShards.markDirty(ops, productId);
+                        productCategoryRanking.increment(ops, categories.get(productId), productId, delta);
+                        ops.opsForZSet().incrementScore(bucketKey, String.valueOf(productId), delta);
+                    });
+                    if (!deltas.isEmpty()) {
+                        ops.expire(bucketKey, bucketTtl);
+                    }
 
+                    visitors.forEach((productId, ids) -> {
+                        String key = visitorsKey(day, productId);
+                        ops.opsForHyperLogLog().add(key, ids.toArray());
+                        ops.expire(key, visitorsTtl);
+                        ops.opsForSet().add(visitedIdsKey(day), String.valueOf(productId));
+                    });
+                    if (!visitors.isEmpty()) {
+                        ops.expire(visitedIdsKey(day), visitorsTtl);
+                    }
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            productViewCounter.restore(deltas);
+            productViewCounter.restoreVisitors(visitors);
+            log.warn("[ProductRankingService] view flush failed, {} products re-queued", deltas.size(), e);
+        }
+    }
 
+    // 카테고리 맵 적재 실패로 전체 flush 가 막히지 않도록 (이번 주기 카테고리 랭킹만 누락)
+    private Map<Long, List<Long>> resolveCategories(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) return Map.of();
+        try {
+            return productCategoryRanking.resolve(deltas.keySet());
+        } catch (Exception e) {
+            log.warn("[ProductRankingService] category lookup failed, skip category rankings for this flush", e);
+            return Map.of();
+        }
+    }
 
+    // 종료 시 남은 누적분 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushViews();
+    }
 
+    private static String hourlyKey(LocalDateTime time) {
+        return HOURLY_KEY_PREFIX + time.format(HOUR_FORMAT);
+    }
 
+    private static String visitorsKey(String day, Long productId) {
+        return VISITORS_KEY_PREFIX + day + ":" + productId;
+    }
 
+    private static String visitedIdsKey(String day) {
+        return VISITORS_KEY_PREFIX + day + ":ids";
+    }
 
+    // 썸네일이 없는 상품은 null ("Index 0 out of bounds for length 0" 에러 방지)
+    private static ProductRankResponseDto toRankResponseDto(Product product, String thumbnailPath) {
+        return new ProductRankResponseDto(
+                product.getProductId(),
+                product.getProductType(),
+                product.getProductName(),
+                product.getPrice(),
+                product.getWishListCount(),
+                product.isDiscount(),
+                product.getDiscountRate(),
+                product.isRecommend(),
+                thumbnailPath
+        );
+    }
+}
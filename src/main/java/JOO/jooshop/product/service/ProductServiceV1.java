@@ -6,6 +6,7 @@ import JOO.jooshop.global.authorization.RequiresRole;
 import JOO.jooshop.members.entity.enums.MemberRole;
 import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.model.ProductChangedEvent;
 import JOO.jooshop.product.model.ProductColorDto;
 import JOO.jooshop.product.model.ProductDetailResponseDto;
 import JOO.jooshop.product.model.ProductListResponseDto;
@@ -13,10 +14,13 @@ import JOO.jooshop.product.model.ProductRequestDto;
 import JOO.jooshop.product.repository.ProductColorRepository;
 import JOO.jooshop.product.repository.ProductRepository;
 import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.stock.FlashSaleStockService;
+import JOO.jooshop.productManagement.stock.StockReservationService;
 import JOO.jooshop.thumbnail.service.ThumbnailService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -40,6 +44,10 @@ public class ProductServiceV1 {
     private final ThumbnailService thumbnailService;
     private final ContentImgService contentImgService;
     private final ProductRankingService productRankingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductDetailCache productDetailCache;
+    private final StockReservationService stockReservationService;
+    private final FlashSaleStockService flashSaleStockService;
 
     /**
      * 상품 등록 (MultipartFile 반영)
@@ -63,6 +71,9 @@ public class ProductServiceV1 {
             contentImgService.uploadContentImages(product, contentImages, uploadType);
         }
 
+        // 검색 / 패싯 인덱스 반영 (커밋 이후)
+        eventPublisher.publishEvent(ProductChangedEvent.of(product.getProductId()));
+
         return product.getProductId();
     }
 
@@ -90,6 +101,9 @@ public class ProductServiceV1 {
             contentImgService.uploadContentImages(existingProduct, contentImages, UploadType.PRODUCT);
         }
 
+        // 검색 / 패싯 인덱스 반영 (커밋 이후)
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId));
+
         return new ProductDetailResponseDto(existingProduct);
     }
 
@@ -109,18 +123,15 @@ public class ProductServiceV1 {
      */
     @Transactional(readOnly = true)
     public ProductDetailResponseDto productDetail(Long productId) {
-        Product product = productRepository.findProductWithDetailsByProductId(productId)
-                .orElseThrow(() -> new NoSuchElementException(PRODUCT_NOT_FOUND));
+        // 인기 상품은 미리 조회해 둔 상세 응답 사용 (ProductDetailCache)
+        ProductDetailResponseDto dto = productDetailCache.get(productId);
+        if (dto == null) {
+            dto = productDetailCache.load(productId)
+                    .orElseThrow(() -> new NoSuchElementException(PRODUCT_NOT_FOUND));
+        }
 
         productRankingService.increaseProductViews(productId);
 
-        ProductDetailResponseDto dto = new ProductDetailResponseDto(product);
-
-        List<ProductManagement> options = product.getProductManagements();
-        if (!options.isEmpty()) {
-            dto.withInventoryId(options.get(0).getInventoryId());
-        }
-
         return dto;
     }
 
@@ -131,7 +142,16 @@ public class ProductServiceV1 {
     public void deleteProduct(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new NoSuchElementException(PRODUCT_NOT_FOUND));
+        // 옵션은 cascade 로 함께 삭제 - 플래시 세일 중인 옵션이 있으면 거부, 가용 재고 카운터는 커밋 이후 폐기
+        List<Long> inventoryIds = product.optionsView().stream()
+                .map(ProductManagement::getInventoryId)
+                .toList();
+        if (!inventoryIds.isEmpty() && !flashSaleStockService.activeShards(inventoryIds).isEmpty()) {
+            throw new IllegalStateException("플래시 세일 중인 옵션이 있는 상품은 삭제할 수 없습니다. productId=" + productId);
+        }
         productRepository.delete(product);
+        inventoryIds.forEach(stockReservationService::evictAfterCommit);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productId));
     }
 
     /**
@@ -0,0 +1,180 @@
+package JOO.jooshop.product.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductViewCheckpoint {
+
+    /*
+        Redis 누적 조회수 → MySQL 체크포인트
+
+        기존
+        - 조회수가 Redis 에만 있어서 Redis flush / 재시작이면 랭킹이 통째로 사라지고, SQL 로 조회수 정렬 / 필터 불가
+
+        변경
+        - flush 때 점수가 바뀐 상품 ID 를 product_views:dirty 에 모아 두고 (ProductViewShards.markDirty)
+          주기적으로 chunk 단위 SPOP → pipeline ZSCORE → products_table.viewCount JDBC batch UPDATE
+        - chunk 마다 autocommit batch 하나로 끝나므로 긴 트랜잭션을 잡지 않고, chunk 사이에 쉬어서 DB 부하를 제한
+          한 주기에 처리하는 chunk 수도 제한하고 남은 건 다음 주기로 넘긴다.
+        - viewCount = GREATEST(viewCount, ?) → Redis 가 유실된 직후 작은 값으로 덮어쓰지 않는다.
+        - Redis 유실 감지: 적재를 마치면 product_views:checkpoint:seeded 키를 남기고,
+          기동 시 + 체크포인트 주기마다 이 키가 없으면 (Redis flush / 영속성 없는 재시작) 체크포인트 값으로 다시 적재
+          (기동 중 Redis 가 재시작되어도 다음 주기에 복구된다. 샤드 키 존재 여부는 그 사이 flush 로 다시 생기므로 보지 않는다)
+        - 재적재는 ZADD GT → 동시에 flush 된 조회수(ZINCRBY)보다 작은 값으로 덮어쓰지 않는다.
+          여러 인스턴스가 동시에 감지해도 한 번만 적재되도록 Redis 락(SET NX, 샤드 마이그레이션과 같은 락) 사용
+        - 적재 후 Redis 에 있는 상품 전체를 dirty 로 한 번 등록 (체크포인트를 처음 켰을 때 / 유실 이후 flush 된 조회수)
+     */
+
+    private static final String SEEDED_KEY = "product_views:checkpoint:seeded";
+
+    private static final String UPDATE_SQL =
+            "UPDATE products_table SET viewCount = GREATEST(viewCount, ?) WHERE productId = ?";
+
+    private static final String SELECT_CHUNK_SQL =
+            "SELECT productId, viewCount FROM products_table " +
+            "WHERE viewCount > 0 AND productId > ? ORDER BY productId LIMIT ?";
+
+    private final ProductViewShards productViewShards;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${product.ranking.checkpoint.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${product.ranking.checkpoint.max-chunks:20}")
+    private int maxChunks;
+
+    @Value("${product.ranking.checkpoint.chunk-pause-millis:50}")
+    private long chunkPauseMillis;
+
+    /**
+     * 변경된 조회수 체크포인트 (chunk 단위, 주기당 최대 maxChunks)
+     */
+    @Scheduled(fixedDelayString = "${product.ranking.checkpoint.refresh-millis:60000}")
+    public void checkpoint() {
+        restoreIfLost();
+
+        int written = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            List<Long> productIds;
+            try {
+                productIds = productViewShards.popDirty(chunkSize);
+            } catch (Exception e) {
+                log.warn("[ProductViewCheckpoint] failed to read dirty products, retry next cycle", e);
+                return;
+            }
+            if (productIds.isEmpty()) break;
+
+            try {
+                written += write(productViewShards.scores(productIds));
+            } catch (Exception e) {
+                requeue(productIds);
+                log.warn("[ProductViewCheckpoint] checkpoint chunk failed, {} products re-queued", productIds.size(), e);
+                return;
+            }
+
+            if (productIds.size() < chunkSize || !pause()) break;
+        }
+        if (written > 0) {
+            log.debug("[ProductViewCheckpoint] checkpointed {} products", written);
+        }
+    }
+
+    private int write(Map<Long, Double> scores) {
+        if (scores.isEmpty()) return 0;
+
+        List<Object[]> args = new ArrayList<>(scores.size());
+        scores.forEach((productId, score) -> args.add(new Object[]{Math.round(score), productId}));
+        jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+        return args.size();
+    }
+
+    private void requeue(List<Long> productIds) {
+        try {
+            productViewShards.requeueDirty(productIds);
+        } catch (Exception e) {
+            log.warn("[ProductViewCheckpoint] failed to re-queue {} products", productIds.size(), e);
+        }
+    }
+
+    private boolean pause() {
+        if (chunkPauseMillis <= 0) return true;
+        try {
+            Thread.sleep(chunkPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /* =========================
+       Restore (기동 / 체크포인트 주기마다 유실 확인)
+    ========================= */
+
+    @Order(1) // 샤드 마이그레이션(ProductViewShards) 이후
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreOnStartup() {
+        restoreIfLost();
+    }
+
+    // seeded 키가 없으면 (처음 켰거나 Redis 가 비워짐) 락을 잡은 인스턴스 하나만 다시 적재
+    private void restoreIfLost() {
+        String owner = null;
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(SEEDED_KEY))) return;
+
+            owner = productViewShards.tryLock();
+            if (owner == null) {
+                return; // 다른 인스턴스가 처리 중
+            }
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(SEEDED_KEY))) return; // 락을 잡는 사이 끝남
+
+            rebuildFromCheckpoint();
+            productViewShards.forEachChunk(chunkSize, productViewShards::requeueDirty);
+            redisTemplate.opsForValue().set(SEEDED_KEY, true);
+            log.info("[ProductViewCheckpoint] registered existing view counts for the next checkpoint");
+        } catch (Exception e) {
+            log.warn("[ProductViewCheckpoint] view ranking restore failed, retry next cycle", e);
+        } finally {
+            if (owner != null) productViewShards.unlock(owner);
+        }
+    }
+
+    // 체크포인트 → 누적 조회수 ZSET (productId keyset chunk)
+    private void rebuildFromCheckpoint() {
+        long lastId = 0;
+        long restored = 0;
+        while (true) {
+            Map<Long, Long> chunk = new LinkedHashMap<>();
+            jdbcTemplate.query(SELECT_CHUNK_SQL,
+                    rs -> { chunk.put(rs.getLong("productId"), rs.getLong("viewCount")); },
+                    lastId, chunkSize);
+            if (chunk.isEmpty()) break;
+
+            productViewShards.raiseAll(chunk);
+            restored += chunk.size();
+            for (Long productId : chunk.keySet()) {
+                lastId = productId; // productId 오름차순
+            }
+            if (chunk.size() < chunkSize) break;
+        }
+        log.info("[ProductViewCheckpoint] rebuilt view ranking from checkpoint. products={}", restored);
+    }
+}
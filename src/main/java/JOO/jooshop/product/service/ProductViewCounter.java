@@ -0,0 +1,83 @@
+package JOO.jooshop.product.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ProductViewCounter {
+
+    /*
+        상품 조회수 로컬 누적기 (write-behind)
+
+        - 기존: 상세 조회마다 ZINCRBY product_views 1 을 동기 호출 → 상세 응답 시간에 Redis 왕복 포함
+        - 변경: 상품별 LongAdder 에 메모리로만 누적 (경합 시 내부 셀로 분산되어 락 없이 증가)
+                ProductRankingService 가 주기적으로 drain 해서 pipeline 한 번으로 Redis 에 반영
+        - 상품 수만큼만 엔트리가 생기므로(존재하는 상품만 상세 조회 가능) 엔트리는 지우지 않고 재사용한다.
+          → 지우는 순간 들어온 증가분이 사라지는 경쟁 조건이 없음
+        - 순 방문자 집계용 방문자 ID 도 flush 주기 동안만 상품별로 모아 둔다. (PFADD 일괄 반영)
+          추가(compute)와 꺼내기(remove)가 같은 키 단위로 원자적이라 꺼내는 도중 추가된 방문자가 유실되지 않는다.
+     */
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> pendingVisitors = new ConcurrentHashMap<>();
+
+    public void increment(Long productId) {
+        pending.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    public void addVisitor(Long productId, String visitorId) {
+        pendingVisitors.compute(productId, (id, visitors) -> {
+            Set<String> target = visitors == null ? new HashSet<>() : visitors;
+            target.add(visitorId);
+            return target;
+        });
+    }
+
+    /**
+     * 누적분을 꺼내고 0 으로 초기화
+     * @return productId → 증가분 (증가분이 0 인 상품 제외)
+     */
+    public Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pending.forEach((productId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(productId, delta);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 모아 둔 방문자 ID 꺼내기
+     * @return productId → 방문자 ID 집합
+     */
+    public Map<Long, Set<String>> drainVisitors() {
+        Map<Long, Set<String>> drained = new HashMap<>();
+        for (Long productId : pendingVisitors.keySet()) {
+            Set<String> visitors = pendingVisitors.remove(productId);
+            if (visitors != null && !visitors.isEmpty()) {
+                drained.put(productId, visitors);
+            }
+        }
+        return drained;
+    }
+
+    public void restoreVisitors(Map<Long, Set<String>> visitors) {
+        visitors.forEach((productId, ids) -> ids.forEach(id -> addVisitor(productId, id)));
+    }
+
+    /**
+     * 반영 실패한 증가분 되돌리기 (다음 flush 에서 재시도)
+     */
+    public void restore(Map<Long, Long> deltas) {
+        deltas.forEach((productId, delta) ->
+                pending.computeIfAbsent(productId, id -> new LongAdder()).add(delta));
+    }
+}
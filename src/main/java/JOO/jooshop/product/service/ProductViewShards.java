@@ -0,0 +1,365 @@
+package JOO.jooshop.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class ProductViewShards {
+
+    /*
+        누적 조회수 ZSET 샤딩
+
+        기존
+        - 모든 조회수 증가가 product_views 키 하나로 몰린다 → Redis Cluster 에서 한 노드에 몰리는 hot key
+        - ZREVRANGE 비용이 카탈로그 크기와 함께 커진다.
+
+        변경
+        - productId 해시로 N 개 키(product_views:shard:{i}) 에 분산
+        - 전체 상위 K = 샤드별 상위 K 를 pipeline 으로 한 번에 읽고 k-way merge
+          (각 샤드 결과가 이미 점수 내림차순이므로 힙에는 샤드 수만큼만 올라간다)
+        - shards = 1 이면 기존 product_views 키 하나를 그대로 사용
+        - 샤드 수를 바꿔 기동하면 기존 키(legacy / 이전 샤드)의 점수를 새 샤드로 옮긴다.
+          여러 인스턴스가 동시에 기동해도 한 번만 옮기도록 Redis 락(SET NX) + layout 키(옮긴 뒤 기록)로 확인하고,
+          멤버마다 합친 값을 ZADD 후 이전 키에서 지우는 Lua 스크립트로 옮긴다. (재시작해도 두 번 더해지지 않음)
+        - 점수가 바뀐 상품 ID 는 product_views:dirty 에 모아 MySQL 체크포인트 대상으로 넘긴다. (ProductViewCheckpoint)
+     */
+
+    static final String LEGACY_KEY = "product_views";
+    private static final String SHARD_KEY_PREFIX = "product_views:shard:";
+    private static final String LAYOUT_KEY = "product_views:layout";
+    private static final String DIRTY_KEY = "product_views:dirty";
+    private static final String LOCK_KEY = "product_views:rebuild-lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(10);
+    private static final int MIGRATION_CHUNK = 1000;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final int shards;
+    private final List<String> shardKeys;
+    private final DefaultRedisScript<Long> migrateScript = script("view_migrate.lua");
+    private final DefaultRedisScript<Long> restoreScript = script("view_restore.lua");
+
+    public ProductViewShards(RedisTemplate<String, Object> redisTemplate,
+                             @Value("${product.ranking.views.shards:8}") int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("product.ranking.views.shards 는 1 이상이어야 합니다.");
+        }
+        this.redisTemplate = redisTemplate;
+        this.shards = shards;
+        this.shardKeys = keysFor(shards);
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public List<String> shardKeys() {
+        return shardKeys;
+    }
+
+    public String shardKey(Long productId) {
+        return shardKeys.get(shardOf(productId, shards));
+    }
+
+    /**
+     * pipeline / SessionCallback 안에서 호출 (ZINCRBY 를 해당 샤드로)
+     */
+    public void increment(RedisOperations<String, Object> ops, Long productId, double delta) {
+        ops.opsForZSet().incrementScore(shardKey(productId), String.valueOf(productId), delta);
+    }
+
+    /**
+     * pipeline / SessionCallback 안에서 호출 (체크포인트 대상으로 표시)
+     */
+    public void markDirty(RedisOperations<String, Object> ops, Long productId) {
+        ops.opsForSet().add(DIRTY_KEY, String.valueOf(productId));
+    }
+
+    /**
+     * 체크포인트 대상 상품 ID 를 최대 count 개 꺼낸다. (SPOP → 여러 인스턴스가 나눠 처리)
+     */
+    public List<Long> popDirty(int count) {
+        List<Object> members = redisTemplate.opsForSet().pop(DIRTY_KEY, count);
+        if (members == null) return List.of();
+        return members.stream().map(String::valueOf).map(Long::parseLong).toList();
+    }
+
+    /**
+     * 체크포인트 실패 시 다시 대상으로 (다음 주기에 재시도)
+     */
+    public void requeueDirty(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        redisTemplate.opsForSet().add(DIRTY_KEY, productIds.stream().map(String::valueOf).toArray());
+    }
+
+    /**
+     * 상품별 누적 조회수 (pipeline ZSCORE, 점수가 없는 상품은 제외)
+     */
+    public Map<Long, Double> scores(List<Long> productIds) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                productIds.forEach(id -> ops.opsForZSet().score(shardKey(id), String.valueOf(id)));
+                return null;
+            }
+        });
+
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        for (int i = 0; i < productIds.size(); i++) {
+            if (results.get(i) instanceof Number score) {
+                scores.put(productIds.get(i), score.doubleValue());
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 누적 점수를 주어진 값 이상으로 (ZADD GT, 체크포인트 → Redis 재적재용)
+     * - 재적재 중 flush 된 조회수가 더 크면 그대로 둔다.
+     */
+    public void raiseAll(Map<Long, Long> scores) {
+        if (scores.isEmpty()) return;
+        List<Object> args = new ArrayList<>(scores.size() * 3);
+        scores.forEach((productId, score) -> {
+            args.add(String.valueOf(productId));
+            args.add(shardOf(productId, shards));
+            args.add(score);
+        });
+        redisTemplate.execute(restoreScript, shardKeys, args.toArray());
+    }
+
+    /**
+     * 샤드별 멤버를 rank 구간 chunk 단위로 순회 (체크포인트 초기 적재용)
+     */
+    public void forEachChunk(int chunkSize, Consumer<List<Long>> consumer) {
+        for (String key : shardKeys) {
+            for (long start = 0; ; start += chunkSize) {
+                Set<Object> members = redisTemplate.opsForZSet().range(key, start, start + chunkSize - 1);
+                if (members == null || members.isEmpty()) break;
+                consumer.accept(members.stream().map(String::valueOf).map(Long::parseLong).toList());
+                if (members.size() < chunkSize) break;
+            }
+        }
+    }
+
+    /**
+     * 전체 상위 K productId (점수 내림차순, 동점이면 productId 오름차순)
+     */
+    public List<Long> topIds(int k) {
+        return topK(shardKeys, k).stream().map(ScoredId::productId).toList();
+    }
+
+    /**
+     * 여러 ZSET 의 상위 K 를 k-way merge (벤치마크에서 임시 키로도 사용)
+     */
+    public List<ScoredId> topK(List<String> keys, int k) {
+        if (k <= 0) return List.of();
+
+        List<List<ScoredId>> perShard = readTopPerKey(keys, k);
+        PriorityQueue<Cursor> heap = new PriorityQueue<>(
+                Comparator.comparing((Cursor c) -> c.head(), ScoredId.ORDER));
+        for (List<ScoredId> list : perShard) {
+            if (!list.isEmpty()) heap.add(new Cursor(list));
+        }
+
+        List<ScoredId> merged = new ArrayList<>(k);
+        while (!heap.isEmpty() && merged.size() < k) {
+            Cursor cursor = heap.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) heap.add(cursor);
+        }
+        return merged;
+    }
+
+    // 샤드별 ZREVRANGE 0..k-1 WITHSCORES 를 pipeline 한 번으로
+    private List<List<ScoredId>> readTopPerKey(List<String> keys, int k) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                keys.forEach(key -> ops.opsForZSet().reverseRangeWithScores(key, 0, k - 1L));
+                return null;
+            }
+        });
+
+        List<List<ScoredId>> perKey = new ArrayList<>(results.size());
+        for (Object result : results) {
+            perKey.add(toScoredIds(result));
+        }
+        return perKey;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ScoredId> toScoredIds(Object result) {
+        if (!(result instanceof Collection<?> tuples)) return List.of();
+        List<ScoredId> list = new ArrayList<>(tuples.size());
+        for (Object tuple : tuples) {
+            TypedTuple<Object> typed = (TypedTuple<Object>) tuple;
+            if (typed.getValue() == null || typed.getScore() == null) continue;
+            list.add(new ScoredId(Long.parseLong(String.valueOf(typed.getValue())), typed.getScore()));
+        }
+        return list; // ZREVRANGE 결과라 이미 점수 내림차순
+    }
+
+    /* =========================
+       Migration (샤드 수 변경 시)
+    ========================= */
+
+    /**
+     * 마지막으로 사용한 샤드 수(product_views:layout)와 현재 설정이 다르면 이전 키의 점수를 옮긴다.
+     * - layout 키가 없으면 샤딩 이전(product_views 단일 키)으로 간주
+     * - layout 키는 옮기기가 끝난 뒤에만 기록 → 도중에 실패하면 다음 기동 때 남은 멤버만 이어서 옮긴다.
+     */
+    @Order(0) // 체크포인트 재적재(ProductViewCheckpoint)보다 먼저
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateFromPreviousLayout() {
+        String owner = null;
+        try {
+            if (storedLayout() == shards) return;
+
+            owner = tryLock();
+            if (owner == null) {
+                log.info("[ProductViewShards] another instance is migrating view shards");
+                return;
+            }
+
+            int previous = storedLayout(); // 락을 잡는 사이 다른 인스턴스가 끝냈을 수 있다.
+            if (previous != shards) {
+                for (String source : keysFor(previous)) {
+                    if (!shardKeys.contains(source) && Boolean.TRUE.equals(redisTemplate.hasKey(source))) {
+                        migrate(source);
+                    }
+                }
+                redisTemplate.opsForValue().set(LAYOUT_KEY, shards);
+            }
+        } catch (Exception e) {
+            log.warn("[ProductViewShards] view shard migration failed", e);
+        } finally {
+            if (owner != null) unlock(owner);
+        }
+    }
+
+    private int storedLayout() {
+        Object stored = redisTemplate.opsForValue().get(LAYOUT_KEY);
+        return stored == null ? 1 : Integer.parseInt(String.valueOf(stored));
+    }
+
+    // source 키의 점수를 현재 샤드로 옮기고 source 삭제 (rank 구간 chunk 단위, 멤버별 원자적 이동)
+    private void migrate(String source) {
+        List<String> keys = new ArrayList<>(shardKeys.size() + 1);
+        keys.add(source);
+        keys.addAll(shardKeys);
+
+        long moved = 0;
+        while (true) {
+            Set<Object> chunk = redisTemplate.opsForZSet().range(source, 0, MIGRATION_CHUNK - 1L);
+            if (chunk == null || chunk.isEmpty()) break;
+
+            List<Object> args = new ArrayList<>(chunk.size() * 2);
+            for (Object member : chunk) {
+                args.add(member);
+                args.add(shardOf(Long.parseLong(String.valueOf(member)), shards));
+            }
+            Long count = redisTemplate.execute(migrateScript, keys, args.toArray());
+            if (count == null || count == 0) {
+                throw new IllegalStateException("view shard migration made no progress. source=" + source);
+            }
+            moved += count;
+        }
+        redisTemplate.delete(source);
+        log.info("[ProductViewShards] migrated {} members from {} into {} shards", moved, source, shards);
+    }
+
+    /* =========================
+       Lock (샤드 마이그레이션 / 체크포인트 재적재 공용)
+    ========================= */
+
+    /**
+     * product_views:rebuild-lock SET NX
+     * @return 락 소유자 토큰, 다른 인스턴스가 잡고 있으면 null
+     */
+    String tryLock() {
+        String owner = UUID.randomUUID().toString();
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, owner, LOCK_TTL)) ? owner : null;
+    }
+
+    void unlock(String owner) {
+        try {
+            if (owner.equals(String.valueOf(redisTemplate.opsForValue().get(LOCK_KEY)))) {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (Exception e) {
+            log.debug("[ProductViewShards] failed to release rebuild lock", e);
+        }
+    }
+
+    private static DefaultRedisScript<Long> script(String name) {
+        DefaultRedisScript<Long> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/product/" + name));
+        script.setResultType(Long.class);
+        return script;
+    }
+
+    static int shardOf(Long productId, int shards) {
+        long mixed = productId * 0x9E3779B97F4A7C15L; // 연속된 productId 가 한 샤드로 몰리지 않도록 섞는다.
+        return Math.floorMod(Long.hashCode(mixed), shards);
+    }
+
+    static List<String> keysFor(int shards) {
+        if (shards == 1) return List.of(LEGACY_KEY);
+        List<String> keys = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            keys.add(SHARD_KEY_PREFIX + i);
+        }
+        return List.copyOf(keys);
+    }
+
+    public record ScoredId(long productId, double score) {
+        static final Comparator<ScoredId> ORDER = Comparator.comparingDouble(ScoredId::score).reversed()
+                .thenComparingLong(ScoredId::productId);
+    }
+
+    // 샤드 하나의 정렬된 결과 위를 움직이는 커서
+    private static final class Cursor {
+        private final List<ScoredId> items;
+        private int index;
+
+        private Cursor(List<ScoredId> items) {
+            this.items = items;
+        }
+
+        ScoredId head() {
+            return items.get(index);
+        }
+
+        boolean advance() {
+            return ++index < items.size();
+        }
+    }
+}
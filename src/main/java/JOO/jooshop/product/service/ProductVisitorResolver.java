@@ -0,0 +1,61 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.global.authentication.jwts.entity.CustomUserDetails;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Component
+public class ProductVisitorResolver {
+
+    /*
+        순 방문자(unique visitor) 집계용 방문자 식별자
+
+        - 로그인 사용자: "m:{memberId}"
+        - 비로그인 사용자: "a:{SHA-256(IP | User-Agent) 앞 16바이트}" → 원문 IP / UA 는 Redis 에 남기지 않는다.
+        - 요청 컨텍스트가 없는 호출(배치 등)은 null → 순 방문자 집계 제외
+     */
+
+    private static final int FINGERPRINT_BYTES = 16;
+
+    public String currentVisitorId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user
+                && user.getMemberId() != null) {
+            return "m:" + user.getMemberId();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        return "a:" + fingerprint(clientIp(request) + "|" + request.getHeader("User-Agent"));
+    }
+
+    private static String clientIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            return forwarded.split(",")[0].trim(); // 최초 클라이언트
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static String fingerprint(String raw) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, FINGERPRINT_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package JOO.jooshop.productManagement.controller;
 
 import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.model.FlashSaleStatusDto;
+import JOO.jooshop.productManagement.model.InventoryImportResultDto;
+import JOO.jooshop.productManagement.model.InventoryLedgerDto;
 import JOO.jooshop.productManagement.model.InventoryCreateDto;
 import JOO.jooshop.productManagement.model.InventoryUpdateDto;
 import JOO.jooshop.productManagement.model.ProductManagementDto;
+import JOO.jooshop.productManagement.service.InventoryImportService;
+import JOO.jooshop.productManagement.service.InventoryLedgerService;
 import JOO.jooshop.productManagement.service.ProductManagementService;
+import JOO.jooshop.productManagement.stock.FlashSaleStockService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +32,9 @@ import static JOO.jooshop.global.exception.ResponseMessageConstants.DELETE_SUCCE
 public class ProductManagementController {
 
     private final ProductManagementService managementService;
+    private final FlashSaleStockService flashSaleStockService;
+    private final InventoryImportService inventoryImportService;
+    private final InventoryLedgerService inventoryLedgerService;
 
     @Data
     private class UpdateResponse {
@@ -95,6 +107,76 @@ public class ProductManagementController {
         return ResponseEntity.ok().body(DELETE_SUCCESS);
     }
 
+    /**
+     * 옵션 재고 원장 (스냅샷 + 이후 원장 항목으로 계산한 재고, 최근 항목)
+     * @param inventoryId
+     * @param limit 최근 항목 수 (기본 50)
+     * @return
+     */
+    @GetMapping("/{inventoryId}/ledger")
+    public ResponseEntity<InventoryLedgerDto> inventoryLedger(@PathVariable("inventoryId") Long inventoryId,
+                                                              @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(inventoryLedgerService.ledger(inventoryId, limit));
+    }
+
+    /**
+     * 공급사 파일 대량 재고 반영 (multipart 업로드, format 없으면 확장자로 판단)
+     * @param file
+     * @param format csv / ndjson
+     * @return
+     */
+    @PostMapping(value = "/import", consumes = "multipart/form-data")
+    public ResponseEntity<InventoryImportResultDto> importInventory(@RequestParam("file") MultipartFile file,
+                                                                    @RequestParam(value = "format", required = false) String format) throws IOException {
+        InventoryImportService.Format resolved = InventoryImportService.Format.of(format, file.getOriginalFilename());
+        return ResponseEntity.ok(inventoryImportService.importStock(file.getInputStream(), resolved));
+    }
+
+    /**
+     * 공급사 파일 대량 재고 반영 (요청 본문 스트리밍 - multipart 크기 제한 없이 큰 파일)
+     * @param request
+     * @return
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<InventoryImportResultDto> importInventoryStream(HttpServletRequest request) throws IOException {
+        InventoryImportService.Format format = request.getContentType().startsWith("application/x-ndjson")
+                ? InventoryImportService.Format.NDJSON
+                : InventoryImportService.Format.CSV;
+        return ResponseEntity.ok(inventoryImportService.importStock(request.getInputStream(), format));
+    }
+
+    /**
+     * 플래시 세일 시작 (가용 재고를 shards 개 Redis 샤드로 분할)
+     * @param inventoryId
+     * @param shards
+     * @return
+     */
+    @PostMapping("/{inventoryId}/flash-sale")
+    public ResponseEntity<FlashSaleStatusDto> startFlashSale(@PathVariable("inventoryId") Long inventoryId,
+                                                             @RequestParam(value = "shards", defaultValue = "8") int shards) {
+        return ResponseEntity.ok(flashSaleStockService.start(inventoryId, shards));
+    }
+
+    /**
+     * 플래시 세일 종료 (미반영 판매분 DB 반영 후 샤드 삭제)
+     * @param inventoryId
+     * @return
+     */
+    @DeleteMapping("/{inventoryId}/flash-sale")
+    public ResponseEntity<String> stopFlashSale(@PathVariable("inventoryId") Long inventoryId) {
+        flashSaleStockService.stop(inventoryId);
+        return ResponseEntity.ok().body(DELETE_SUCCESS);
+    }
+
+    /**
+     * 진행 중인 플래시 세일 상태 (샤드 수, 샤드별 재고, DB 미반영 수량 / 지연)
+     * @return
+     */
+    @GetMapping("/flash-sales")
+    public ResponseEntity<List<FlashSaleStatusDto>> flashSaleStatuses() {
+        return ResponseEntity.ok(flashSaleStockService.statuses());
+    }
+
 }
 
 
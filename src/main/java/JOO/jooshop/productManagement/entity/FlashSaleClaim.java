@@ -0,0 +1,37 @@
+package JOO.jooshop.productManagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "flash_sale_claim", indexes = {
+        @Index(name = "idx_flash_sale_claim_applied_at", columnList = "applied_at")
+})
+public class FlashSaleClaim {
+
+    /*
+     * [Entity] DB 에 반영된 플래시 세일 reconcile claim
+     *
+     * - product_stock 반영 / 원장 기록과 같은 트랜잭션에서 INSERT → 같은 claim 을 다시 반영해도 한 번만 적용된다.
+     * - 쓰기는 StockDecrementRepository(JDBC), 이 엔티티는 테이블 정의용
+     */
+
+    @Id
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
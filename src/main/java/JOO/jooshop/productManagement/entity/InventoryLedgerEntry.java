@@ -0,0 +1,45 @@
+package JOO.jooshop.productManagement.entity;
+
+import JOO.jooshop.productManagement.entity.enums.LedgerEntryType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "inventory_ledger",
+        indexes = @Index(name = "idx_ledger_inventory", columnList = "inventory_id, ledger_id")
+)
+public class InventoryLedgerEntry {
+
+    /*
+     * [Entity] 재고 원장 (append-only)
+     *
+     * - 옵션 재고가 바뀔 때마다 같은 트랜잭션에서 한 행씩 추가만 한다. (수정 / 삭제 없음)
+     * - 쓰기는 InventoryLedgerRepository(JDBC batch), 이 엔티티는 테이블 정의용
+     * - 옵션이 삭제되어도 이력은 남도록 product_management 와 FK 를 두지 않는다.
+     */
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ledger_id")
+    private Long ledgerId;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 20)
+    private LedgerEntryType entryType;
+
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,47 @@
+package JOO.jooshop.productManagement.entity;
+
+import JOO.jooshop.productManagement.repository.InventoryLedgerRepository;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class InventoryLedgerListener {
+
+    /*
+        ProductManagement 재고 변경 → 재고 원장 추가 (JPA 엔티티 리스너)
+
+        기존
+        - @DomainEvents 는 repository.save 를 호출할 때만 발행된다.
+          → Product.addOption cascade 등록(상품 등록, 더미 데이터), save 없이 dirty checking 으로 반영된 변경은 원장에 남지 않았다.
+
+        변경
+        - 엔티티가 쌓아 둔 변경(등록 ADJUST / RESTOCK / SALE / ADJUST)을 행 INSERT / UPDATE 직후(flush 중)에 원장에 추가
+          → 어떤 경로로 반영되든 같은 트랜잭션에서, 옵션 행 락을 잡은 뒤에 추가된다.
+        - Spring Boot 가 Hibernate 에 SpringBeanContainer 를 연결하므로 생성자 주입을 받는다.
+          (슬라이스 테스트처럼 원장 repository 가 없는 컨텍스트에서는 원장 추가 없이 엔티티만 저장된다)
+     */
+
+    private final ObjectProvider<InventoryLedgerRepository> inventoryLedgerRepository;
+
+    @PostPersist
+    @PostUpdate
+    void append(ProductManagement option) {
+        List<ProductManagement.LedgerChange> changes = option.drainLedgerChanges();
+        InventoryLedgerRepository repository = inventoryLedgerRepository.getIfAvailable();
+        if (changes.isEmpty() || repository == null) return;
+
+        repository.append(changes.stream()
+                .map(change -> new InventoryLedgerRepository.Append(option.getInventoryId(), change.type(), change.quantity()))
+                .toList());
+    }
+
+    @PostRemove
+    void discard(ProductManagement option) {
+        option.drainLedgerChanges();
+    }
+}
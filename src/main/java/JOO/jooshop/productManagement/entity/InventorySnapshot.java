@@ -0,0 +1,36 @@
+package JOO.jooshop.productManagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Entity
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "inventory_snapshot")
+public class InventorySnapshot {
+
+    /*
+     * [Entity] 옵션별 재고 원장 스냅샷
+     *
+     * - 원장 항목을 lastLedgerId 까지 접은 결과 (InventoryLedgerService 의 compactor 가 갱신)
+     * - 현재 재고 = stock + (ledger_id > lastLedgerId 인 원장 항목)
+     * - 쓰기는 InventoryLedgerRepository(JDBC), 이 엔티티는 테이블 정의용
+     */
+
+    @Id
+    @Column(name = "inventory_id")
+    private Long inventoryId;
+
+    @Column(name = "stock", nullable = false)
+    private long stock;
+
+    @Column(name = "last_ledger_id", nullable = false)
+    private long lastLedgerId;
+
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+}
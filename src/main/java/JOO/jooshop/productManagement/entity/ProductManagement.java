@@ -5,6 +5,7 @@ import JOO.jooshop.order.entity.Orders;
 import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.ProductColor;
 import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.productManagement.entity.enums.LedgerEntryType;
 import JOO.jooshop.productManagement.entity.enums.Size;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -16,6 +17,7 @@ import java.util.List;
 
 @Getter
 @Entity
+@EntityListeners(InventoryLedgerListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Table(
         name = "product_management",
@@ -98,6 +100,16 @@ public class ProductManagement {
     @Column(name = "is_restocked", nullable = false)
     private boolean restocked;
 
+    /**
+     * 낙관적 락 버전
+     * - 관리자 수정(카테고리 / 입고 / 재입고 여부 등)이 동시에 저장되면 나중 저장이 실패한다.
+     * - 결제 재고 차감(StockDecrementRepository 조건부 UPDATE)도 version 을 올리므로
+     *   차감 이전에 읽은 엔티티로 재고를 덮어쓰는 저장은 실패한다. (lost update 방지)
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint not null default 0")
+    private long version;
+
     /**
      * Orders가 연관관계의 주인이라고 가정(mappedBy="productManagements")
      * - 여기서는 "조회용" 컬렉션
@@ -106,6 +118,13 @@ public class ProductManagement {
     @ManyToMany(mappedBy = "productManagements")
     private final List<Orders> orders = new ArrayList<>();
 
+    /**
+     * 재고 원장에 남길 변경 (행 INSERT / UPDATE 직후 InventoryLedgerListener 가 원장에 추가하고 비움)
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private final List<LedgerChange> ledgerChanges = new ArrayList<>();
+
     /* =========================================================
        Factory
        - Product와 연결하지 않는다.
@@ -136,6 +155,7 @@ public class ProductManagement {
         pm.restocked = false;
         pm.soldOut = (stock == 0);
 
+        pm.record(LedgerEntryType.ADJUST, stock);
         return pm;
     }
 
@@ -166,6 +186,7 @@ public class ProductManagement {
         pm.restocked = Boolean.TRUE.equals(restocked);
         pm.soldOut = Boolean.TRUE.equals(soldOut) || (initialStock == 0);
 
+        pm.record(LedgerEntryType.ADJUST, initialStock);
         return pm;
     }
 
@@ -218,6 +239,7 @@ public class ProductManagement {
         this.productStock += amount;
         this.restocked = true;
         this.soldOut = (this.productStock == 0);
+        record(LedgerEntryType.RESTOCK, amount);
     }
 
     /** 판매/차감: 재고 음수 방지 */
@@ -227,6 +249,7 @@ public class ProductManagement {
 
         this.productStock -= amount;
         this.soldOut = (this.productStock == 0);
+        record(LedgerEntryType.SALE, amount);
     }
 
     /** 재고 수동 보정(관리자용) */
@@ -234,12 +257,29 @@ public class ProductManagement {
         if (newStock < 0) throw new IllegalArgumentException("stock must be >= 0");
         this.productStock = newStock;
         this.soldOut = (this.productStock == 0);
+        record(LedgerEntryType.ADJUST, newStock);
     }
 
     public void setRestockAvailable(boolean available) {
         this.restockAvailable = available;
     }
 
+    /* =========================================================
+       Ledger changes
+    ========================================================= */
+
+    private void record(LedgerEntryType type, long quantity) {
+        ledgerChanges.add(new LedgerChange(type, quantity));
+    }
+
+    List<LedgerChange> drainLedgerChanges() {
+        List<LedgerChange> drained = List.copyOf(ledgerChanges);
+        ledgerChanges.clear();
+        return drained;
+    }
+
+    record LedgerChange(LedgerEntryType type, long quantity) {}
+
     /* =========================================================
        Validation
     ========================================================= */
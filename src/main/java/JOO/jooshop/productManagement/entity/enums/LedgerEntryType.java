@@ -0,0 +1,23 @@
+package JOO.jooshop.productManagement.entity.enums;
+
+/**
+ * 재고 원장 항목 종류
+ * - RESTOCK / RELEASE : 재고 증가 (입고 / 판매 취소 · 반환)
+ * - SALE              : 재고 감소
+ * - ADJUST            : 재고를 quantity 로 설정 (등록 시 초기 재고, 관리자 / 대량 반영 보정)
+ */
+public enum LedgerEntryType {
+    RESTOCK,
+    SALE,
+    ADJUST,
+    RELEASE;
+
+    /** 이 항목을 stock 에 반영한 결과 */
+    public long apply(long stock, long quantity) {
+        return switch (this) {
+            case RESTOCK, RELEASE -> stock + quantity;
+            case SALE -> stock - quantity;
+            case ADJUST -> quantity;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package JOO.jooshop.productManagement.model;
+
+import java.util.List;
+
+/**
+ * 플래시 세일 옵션 상태
+ * @param shards             재고 샤드 수
+ * @param shardStocks        샤드별 남은 재고
+ * @param pendingReconcile   판매되었지만 아직 DB product_stock 에 반영되지 않은 수량
+ * @param reconcileLagMillis 가장 오래된 미반영 판매 이후 경과 시간 (미반영분이 없으면 0)
+ */
+public record FlashSaleStatusDto(
+        Long inventoryId,
+        int shards,
+        List<Long> shardStocks,
+        long remainingStock,
+        long pendingReconcile,
+        long reconcileLagMillis
+) {}
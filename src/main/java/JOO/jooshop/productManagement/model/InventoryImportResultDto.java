@@ -0,0 +1,24 @@
+package JOO.jooshop.productManagement.model;
+
+import java.util.List;
+
+/**
+ * 대량 재고 반영 결과
+ * @param totalRows       읽은 데이터 행 수 (헤더 / 빈 줄 제외)
+ * @param inserted        새로 등록된 옵션 수
+ * @param updated         재고가 반영된 기존 옵션 수
+ * @param failed          반영하지 못한 행 수
+ * @param errors          행별 오류 (앞에서부터 최대 error-limit 개)
+ * @param errorsTruncated 오류가 error-limit 을 넘어 일부만 담겼는지
+ */
+public record InventoryImportResultDto(
+        long totalRows,
+        long inserted,
+        long updated,
+        long failed,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+
+    public record RowError(long line, String message) {}
+}
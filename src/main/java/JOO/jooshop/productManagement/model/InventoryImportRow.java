@@ -0,0 +1,24 @@
+package JOO.jooshop.productManagement.model;
+
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.productManagement.entity.enums.Size;
+
+/**
+ * 대량 재고 반영 1 행 (이름 → ID 변환이 끝난 상태)
+ * @param line  파일 내 행 번호 (오류 보고용, 헤더 포함 1 부터)
+ * @param stock 반영할 현재 재고 (절대값, 없는 옵션이면 초기 재고로 등록)
+ */
+public record InventoryImportRow(
+        long line,
+        Long productId,
+        Long colorId,
+        Long categoryId,
+        Gender gender,
+        Size size,
+        long stock
+) {
+
+    public ProductOptionRow.Key key() {
+        return new ProductOptionRow.Key(colorId, categoryId, gender, size);
+    }
+}
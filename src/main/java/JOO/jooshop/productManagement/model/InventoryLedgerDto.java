@@ -0,0 +1,26 @@
+package JOO.jooshop.productManagement.model;
+
+import JOO.jooshop.productManagement.entity.enums.LedgerEntryType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 옵션 재고 원장 조회 결과
+ * @param ledgerStock      스냅샷 + 이후 원장 항목으로 계산한 재고 (스냅샷이 없으면 null)
+ * @param productStock     product_management.product_stock (판매 차감의 기준)
+ * @param snapshotLedgerId 스냅샷이 접은 마지막 원장 ID (없으면 0)
+ * @param tailEntries      스냅샷 이후 아직 접히지 않은 원장 항목 수
+ * @param recent           최근 원장 항목 (최신순)
+ */
+public record InventoryLedgerDto(
+        Long inventoryId,
+        Long ledgerStock,
+        long productStock,
+        long snapshotLedgerId,
+        int tailEntries,
+        List<Entry> recent
+) {
+
+    public record Entry(long ledgerId, LedgerEntryType type, long quantity, LocalDateTime createdAt) {}
+}
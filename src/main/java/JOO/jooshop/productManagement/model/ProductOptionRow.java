@@ -0,0 +1,32 @@
+package JOO.jooshop.productManagement.model;
+
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.productManagement.entity.enums.Size;
+
+/**
+ * 옵션 diff / batch 반영용 product_management 행 (엔티티를 거치지 않는다)
+ * @param inventoryId 기존 행이면 ID, 새로 넣을 행이면 null
+ * @param stock       현재 재고 (product_stock)
+ * @param version     낙관적 락 버전 (새 행이면 0)
+ */
+public record ProductOptionRow(
+        Long inventoryId,
+        Long colorId,
+        Long categoryId,
+        Gender gender,
+        Size size,
+        long stock,
+        long version
+) {
+
+    /** 옵션 식별 키 (color, category, gender, size) - uk_pm_option 과 같은 기준 */
+    public Key key() {
+        return new Key(colorId, categoryId, gender, size);
+    }
+
+    public ProductOptionRow withStock(long newStock) {
+        return new ProductOptionRow(inventoryId, colorId, categoryId, gender, size, newStock, version);
+    }
+
+    public record Key(Long colorId, Long categoryId, Gender gender, Size size) {}
+}
@@ -0,0 +1,92 @@
+package JOO.jooshop.productManagement.repository;
+
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.model.InventoryImportRow;
+import JOO.jooshop.productManagement.model.ProductOptionRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryImportRepository {
+
+    /*
+        대량 재고 반영 chunk 단위 조회 / upsert (JDBC)
+
+        - chunk 하나당 상품 존재 확인 1 회, 기존 옵션 조회 1 회, upsert batch 1 회
+        - upsert 는 uk_pm_option(product_id, gender, size, color_id, category_id) 기준
+          INSERT ... ON DUPLICATE KEY UPDATE → 없는 옵션은 등록, 있는 옵션은 재고만 절대값으로 반영 + version 증가
+        - 영향 행 수: 1 = 등록, 2 = 갱신 (MySQL)
+        - 반영한 행은 같은 트랜잭션에서 재고 원장(ADJUST)에 추가
+     */
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO product_management " +
+            "(product_id, color_id, category_id, gender, size, initial_stock, additional_stock, product_stock, " +
+            "is_sold_out, is_restock_available, is_restocked, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?, false, false, 0) " +
+            "ON DUPLICATE KEY UPDATE product_stock = VALUES(product_stock), " +
+            "is_sold_out = VALUES(is_sold_out), version = version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryLedgerRepository inventoryLedgerRepository;
+
+    public Set<Long> findExistingProductIds(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return Set.of();
+        String sql = "SELECT productId FROM products_table WHERE productId IN (" + placeholders(productIds.size()) + ")";
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, productIds.toArray()));
+    }
+
+    /**
+     * 상품별 기존 옵션 키 → inventory_id
+     */
+    public Map<Long, Map<ProductOptionRow.Key, Long>> findInventoryIds(Collection<Long> productIds) {
+        Map<Long, Map<ProductOptionRow.Key, Long>> result = new HashMap<>();
+        if (productIds.isEmpty()) return result;
+
+        String sql = "SELECT inventory_id, product_id, color_id, category_id, gender, size " +
+                "FROM product_management WHERE product_id IN (" + placeholders(productIds.size()) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            ProductOptionRow.Key key = new ProductOptionRow.Key(
+                    rs.getLong("color_id"),
+                    rs.getLong("category_id"),
+                    Gender.valueOf(rs.getString("gender")),
+                    Size.valueOf(rs.getString("size")));
+            result.computeIfAbsent(rs.getLong("product_id"), id -> new HashMap<>())
+                    .put(key, rs.getLong("inventory_id"));
+        }, productIds.toArray());
+        return result;
+    }
+
+    /**
+     * @return 행별 영향 행 수 (1 = 등록, 2 = 갱신)
+     */
+    public int[] upsert(List<InventoryImportRow> rows) {
+        if (rows.isEmpty()) return new int[0];
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (InventoryImportRow row : rows) {
+            args.add(new Object[]{row.productId(), row.colorId(), row.categoryId(), row.gender().name(),
+                    row.size().name(), row.stock(), row.stock(), row.stock() == 0});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+        inventoryLedgerRepository.appendAdjustByKey(rows.stream()
+                .map(row -> new InventoryLedgerRepository.OptionRef(row.productId(), row.key()))
+                .toList());
+        return counts;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,136 @@
+package JOO.jooshop.productManagement.repository;
+
+import JOO.jooshop.productManagement.entity.enums.LedgerEntryType;
+import JOO.jooshop.productManagement.model.InventoryLedgerDto;
+import JOO.jooshop.productManagement.model.ProductOptionRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class InventoryLedgerRepository {
+
+    /*
+        재고 원장(inventory_ledger) / 스냅샷(inventory_snapshot) JDBC 접근
+
+        - 원장 추가는 재고를 바꾼 UPDATE / INSERT 와 같은 트랜잭션에서 한다.
+          → 같은 읽기 시점이면 product_stock 과 원장이 같은 커밋까지 반영되어 있다. (compactor 는 잠그지 않는다)
+        - 추가는 항상 batch INSERT 한 번 (행 수정 없음)
+     */
+
+    private static final String APPEND_SQL =
+            "INSERT INTO inventory_ledger (inventory_id, entry_type, quantity, created_at) " +
+            "VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final String APPEND_ADJUST_BY_KEY_SQL =
+            "INSERT INTO inventory_ledger (inventory_id, entry_type, quantity, created_at) " +
+            "SELECT inventory_id, 'ADJUST', product_stock, CURRENT_TIMESTAMP FROM product_management " +
+            "WHERE product_id = ? AND color_id = ? AND category_id = ? AND gender = ? AND size = ?";
+
+    private static final String UPSERT_SNAPSHOT_SQL =
+            "INSERT INTO inventory_snapshot (inventory_id, stock, last_ledger_id, compacted_at) " +
+            "VALUES (?, ?, ?, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE stock = VALUES(stock), last_ledger_id = VALUES(last_ledger_id), " +
+            "compacted_at = VALUES(compacted_at)";
+
+    private static final RowMapper<InventoryLedgerDto.Entry> ENTRY_MAPPER = (rs, rowNum) -> new InventoryLedgerDto.Entry(
+            rs.getLong("ledger_id"),
+            LedgerEntryType.valueOf(rs.getString("entry_type")),
+            rs.getLong("quantity"),
+            rs.getTimestamp("created_at").toLocalDateTime()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(Collection<Append> entries) {
+        if (entries.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(entries.size());
+        for (Append entry : entries) {
+            args.add(new Object[]{entry.inventoryId(), entry.type().name(), entry.quantity()});
+        }
+        jdbcTemplate.batchUpdate(APPEND_SQL, args);
+    }
+
+    /**
+     * 옵션 키로 찾은 행의 현재 product_stock 을 ADJUST 항목으로 추가 (ID 를 모르는 batch INSERT / upsert 직후)
+     */
+    public void appendAdjustByKey(Collection<OptionRef> options) {
+        if (options.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(options.size());
+        for (OptionRef option : options) {
+            ProductOptionRow.Key key = option.key();
+            args.add(new Object[]{option.productId(), key.colorId(), key.categoryId(), key.gender().name(), key.size().name()});
+        }
+        jdbcTemplate.batchUpdate(APPEND_ADJUST_BY_KEY_SQL, args);
+    }
+
+    public Optional<Snapshot> findSnapshot(Long inventoryId) {
+        return jdbcTemplate.query(
+                "SELECT stock, last_ledger_id FROM inventory_snapshot WHERE inventory_id = ?",
+                (rs, rowNum) -> new Snapshot(rs.getLong("stock"), rs.getLong("last_ledger_id")),
+                inventoryId
+        ).stream().findFirst();
+    }
+
+    public void upsertSnapshot(Long inventoryId, long stock, long lastLedgerId) {
+        jdbcTemplate.update(UPSERT_SNAPSHOT_SQL, inventoryId, stock, lastLedgerId);
+    }
+
+    /** 스냅샷 이후 원장 항목 (오래된 순) */
+    public List<InventoryLedgerDto.Entry> findTail(Long inventoryId, long afterLedgerId) {
+        return jdbcTemplate.query(
+                "SELECT ledger_id, entry_type, quantity, created_at FROM inventory_ledger " +
+                "WHERE inventory_id = ? AND ledger_id > ? ORDER BY ledger_id",
+                ENTRY_MAPPER, inventoryId, afterLedgerId);
+    }
+
+    /** 최근 원장 항목 (최신순) */
+    public List<InventoryLedgerDto.Entry> findRecent(Long inventoryId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT ledger_id, entry_type, quantity, created_at FROM inventory_ledger " +
+                "WHERE inventory_id = ? ORDER BY ledger_id DESC LIMIT ?",
+                ENTRY_MAPPER, inventoryId, limit);
+    }
+
+    /** seconds 초보다 오래된 마지막 원장 ID (최신 항목부터 PK 역순으로 훑는다) */
+    public long findMaxLedgerIdOlderThan(long seconds) {
+        return jdbcTemplate.queryForList(
+                "SELECT ledger_id FROM inventory_ledger " +
+                "WHERE created_at < CURRENT_TIMESTAMP - INTERVAL ? SECOND ORDER BY ledger_id DESC LIMIT 1",
+                Long.class, seconds
+        ).stream().findFirst().orElse(0L);
+    }
+
+    /** 스냅샷에 접힌 가장 큰 원장 ID (compactor 재시작 지점) */
+    public long findMaxSnapshotLedgerId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(last_ledger_id) FROM inventory_snapshot", Long.class);
+        return max == null ? 0L : max;
+    }
+
+    /** (fromExclusive, toInclusive] 구간에 원장 항목이 있는 옵션 */
+    public List<Long> findInventoryIdsBetween(long fromExclusive, long toInclusive) {
+        return jdbcTemplate.queryForList(
+                "SELECT DISTINCT inventory_id FROM inventory_ledger WHERE ledger_id > ? AND ledger_id <= ?",
+                Long.class, fromExclusive, toInclusive);
+    }
+
+    public Optional<Long> findProductStock(Long inventoryId) {
+        return jdbcTemplate.queryForList(
+                "SELECT product_stock FROM product_management WHERE inventory_id = ?",
+                Long.class, inventoryId
+        ).stream().findFirst();
+    }
+
+    public record Append(Long inventoryId, LedgerEntryType type, long quantity) {}
+
+    public record OptionRef(Long productId, ProductOptionRow.Key key) {}
+
+    public record Snapshot(long stock, long lastLedgerId) {}
+}
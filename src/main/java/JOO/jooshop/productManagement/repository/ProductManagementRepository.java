@@ -3,6 +3,7 @@ package JOO.jooshop.productManagement.repository;
 import JOO.jooshop.categorys.entity.Category;
 import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.facet.ProductCategoryLink;
 import JOO.jooshop.productManagement.entity.ProductManagement;
 import JOO.jooshop.productManagement.entity.enums.Size;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,18 @@ public interface ProductManagementRepository extends JpaRepository<ProductManage
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("delete from ProductManagement pm where pm.product.productId in :productIds")
     void deleteByProductIdIn(@Param("productIds") List<Long> productIds);
+
+    // 패싯 인덱스용 상품별 카테고리 (옵션 단위 중복 제거)
+    @Query("select distinct new JOO.jooshop.product.facet.ProductCategoryLink(pm.product.productId, pm.category.categoryId) " +
+            "from ProductManagement pm where pm.product.productId in :productIds")
+    List<ProductCategoryLink> findCategoryLinks(@Param("productIds") Collection<Long> productIds);
+
+    // 재고 가용 인덱스용 옵션 → 상품 (결제 차감처럼 inventoryId 만 아는 경로)
+    @Query("select distinct pm.product.productId from ProductManagement pm where pm.inventoryId in :inventoryIds")
+    List<Long> findProductIdsByInventoryIds(@Param("inventoryIds") Collection<Long> inventoryIds);
+
+    // 랭킹용 상품 → 카테고리 전체 맵 적재
+    @Query("select distinct new JOO.jooshop.product.facet.ProductCategoryLink(pm.product.productId, pm.category.categoryId) " +
+            "from ProductManagement pm")
+    List<ProductCategoryLink> findAllCategoryLinks();
 }
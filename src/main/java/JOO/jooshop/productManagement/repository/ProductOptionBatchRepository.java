@@ -0,0 +1,105 @@
+package JOO.jooshop.productManagement.repository;
+
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.productManagement.entity.enums.LedgerEntryType;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.model.ProductOptionRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductOptionBatchRepository {
+
+    /*
+        상품 옵션(product_management) 행 단위 batch 반영
+
+        - 옵션 diff 결과를 INSERT / UPDATE / DELETE 각각 JDBC batch 한 번으로 반영
+          (IDENTITY 키라 JPA saveAll 은 insert batch 가 되지 않는다)
+        - UPDATE 는 읽어 둔 version 조건을 걸고 version 을 올린다.
+          → 그 사이 결제 차감 / 다른 관리자 수정이 있었으면 OptimisticLockingFailureException (409)
+        - 등록 / 재고 수정은 같은 트랜잭션에서 재고 원장(ADJUST)에 추가
+        - 호출 측 트랜잭션에 참여, 영속성 컨텍스트를 거치지 않으므로 같은 트랜잭션에서 옵션 엔티티를 다시 읽지 않는다.
+     */
+
+    private static final String SELECT_SQL =
+            "SELECT inventory_id, color_id, category_id, gender, size, product_stock, version " +
+            "FROM product_management WHERE product_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_management " +
+            "(product_id, color_id, category_id, gender, size, initial_stock, additional_stock, product_stock, " +
+            "is_sold_out, is_restock_available, is_restocked, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?, false, false, 0)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE product_management SET product_stock = ?, is_sold_out = ?, version = version + 1 " +
+            "WHERE inventory_id = ? AND version = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM product_management WHERE inventory_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryLedgerRepository inventoryLedgerRepository;
+
+    public List<ProductOptionRow> findByProductId(Long productId) {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new ProductOptionRow(
+                rs.getLong("inventory_id"),
+                rs.getLong("color_id"),
+                rs.getLong("category_id"),
+                Gender.valueOf(rs.getString("gender")),
+                Size.valueOf(rs.getString("size")),
+                rs.getLong("product_stock"),
+                rs.getLong("version")
+        ), productId);
+    }
+
+    public void insert(Long productId, Collection<ProductOptionRow> rows) {
+        if (rows.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (ProductOptionRow row : rows) {
+            args.add(new Object[]{productId, row.colorId(), row.categoryId(), row.gender().name(), row.size().name(),
+                    row.stock(), row.stock(), row.stock() == 0});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+        inventoryLedgerRepository.appendAdjustByKey(rows.stream()
+                .map(row -> new InventoryLedgerRepository.OptionRef(productId, row.key()))
+                .toList());
+    }
+
+    /**
+     * @throws OptimisticLockingFailureException 읽은 이후 다른 곳에서 바뀐 행이 있음
+     */
+    public void updateStock(Collection<ProductOptionRow> rows) {
+        if (rows.isEmpty()) return;
+        List<ProductOptionRow> list = List.copyOf(rows);
+        List<Object[]> args = new ArrayList<>(list.size());
+        for (ProductOptionRow row : list) {
+            args.add(new Object[]{row.stock(), row.stock() == 0, row.inventoryId(), row.version()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new OptimisticLockingFailureException(
+                        "옵션이 다른 요청에 의해 변경되었습니다. inventoryId=" + list.get(i).inventoryId());
+            }
+        }
+        inventoryLedgerRepository.append(list.stream()
+                .map(row -> new InventoryLedgerRepository.Append(row.inventoryId(), LedgerEntryType.ADJUST, row.stock()))
+                .toList());
+    }
+
+    public void delete(Collection<Long> inventoryIds) {
+        if (inventoryIds.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(inventoryIds.size());
+        for (Long inventoryId : inventoryIds) {
+            args.add(new Object[]{inventoryId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, args);
+    }
+}
@@ -0,0 +1,104 @@
+package JOO.jooshop.productManagement.repository;
+
+import JOO.jooshop.productManagement.entity.enums.LedgerEntryType;
+import JOO.jooshop.productManagement.stock.StockLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class StockDecrementRepository {
+
+    /*
+        조건부 UPDATE 재고 차감 (DB 단독으로 초과 판매 방지)
+
+        - 엔티티를 읽고 decreaseStock 후 저장하면 동시 결제 간 lost update / 초과 판매가 생긴다.
+        - product_stock >= ? 조건을 건 UPDATE 한 번으로 확인과 차감을 원자적으로 처리
+          영향받은 행이 0 이면 재고 부족
+        - is_sold_out 은 같은 UPDATE 에서 갱신 (MySQL 은 SET 을 왼쪽부터 적용하므로 차감된 값 기준)
+        - version 도 올려서, 차감 이전에 읽어 둔 엔티티로 재고를 덮어쓰는 저장은 낙관적 락으로 실패시킨다.
+        - 여러 라인은 inventoryId 오름차순으로 JDBC batch 한 번 → 동시 결제 간 행 락 순서가 같아 교착 없음
+        - 호출 측 트랜잭션에 참여하므로 한 라인이라도 실패하면 예외로 전체 롤백
+        - 차감한 라인은 같은 트랜잭션에서 재고 원장(SALE)에 추가
+        - 플래시 세일 반영(applyClaim)은 claim token 을 flash_sale_claim 에 같이 INSERT → 재시도해도 한 번만 반영
+     */
+
+    private static final String DECREASE_SQL =
+            "UPDATE product_management " +
+            "SET product_stock = product_stock - ?, is_sold_out = (product_stock = 0), version = version + 1 " +
+            "WHERE inventory_id = ? AND product_stock >= ?";
+
+    private static final String APPLY_SQL =
+            "UPDATE product_management " +
+            "SET product_stock = product_stock - ?, is_sold_out = (product_stock = 0), version = version + 1 " +
+            "WHERE inventory_id = ?";
+
+    private static final String INSERT_CLAIM_SQL =
+            "INSERT IGNORE INTO flash_sale_claim (claim_token, inventory_id, quantity, applied_at) " +
+            "VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryLedgerRepository inventoryLedgerRepository;
+
+    /**
+     * 주문 라인 재고 차감 (전부 성공 또는 IllegalStateException)
+     */
+    public void decrease(Collection<StockLine> lines) {
+        List<StockLine> sorted = StockLine.normalize(lines);
+        if (sorted.isEmpty()) return;
+
+        List<Object[]> args = new ArrayList<>(sorted.size());
+        for (StockLine line : sorted) {
+            args.add(new Object[]{line.quantity(), line.inventoryId(), line.quantity()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREASE_SQL, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new IllegalStateException("재고가 부족합니다. inventoryId=" + sorted.get(i).inventoryId());
+            }
+        }
+
+        inventoryLedgerRepository.append(sorted.stream()
+                .map(line -> new InventoryLedgerRepository.Append(line.inventoryId(), LedgerEntryType.SALE, line.quantity()))
+                .toList());
+    }
+
+    /**
+     * 이미 다른 곳(플래시 세일 샤드)에서 확인 / 차감된 수량을 DB 재고에 반영 (음수면 복원)
+     * @return 반영된 행 수 (0 이면 옵션이 삭제됨)
+     */
+    public int apply(Long inventoryId, long quantity) {
+        int updated = jdbcTemplate.update(APPLY_SQL, quantity, inventoryId);
+        if (updated > 0 && quantity != 0) {
+            inventoryLedgerRepository.append(List.of(quantity > 0
+                    ? new InventoryLedgerRepository.Append(inventoryId, LedgerEntryType.SALE, quantity)
+                    : new InventoryLedgerRepository.Append(inventoryId, LedgerEntryType.RELEASE, -quantity)));
+        }
+        return updated;
+    }
+
+    /**
+     * 플래시 세일 claim 반영 - 호출 측 트랜잭션 안에서 claim 기록 + apply
+     * (이미 반영된 claim 이면 아무것도 바꾸지 않는다)
+     */
+    public ClaimResult applyClaim(String claimToken, Long inventoryId, long quantity) {
+        if (jdbcTemplate.update(INSERT_CLAIM_SQL, claimToken, inventoryId, quantity) == 0) {
+            return ClaimResult.ALREADY_APPLIED;
+        }
+        return apply(inventoryId, quantity) == 0 ? ClaimResult.OPTION_DELETED : ClaimResult.APPLIED;
+    }
+
+    /** 보관 기간이 지난 claim 기록 삭제 */
+    public int deleteClaimsAppliedBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM flash_sale_claim WHERE applied_at < ?", before);
+    }
+
+    public enum ClaimResult { APPLIED, ALREADY_APPLIED, OPTION_DELETED }
+}
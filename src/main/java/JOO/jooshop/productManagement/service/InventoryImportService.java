@@ -0,0 +1,411 @@
+package JOO.jooshop.productManagement.service;
+
+import JOO.jooshop.categorys.model.CategoryNode;
+import JOO.jooshop.categorys.repository.CategoryRepository;
+import JOO.jooshop.global.authorization.RequiresRole;
+import JOO.jooshop.members.entity.enums.MemberRole;
+import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductColorRepository;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.model.InventoryImportResultDto;
+import JOO.jooshop.productManagement.model.InventoryImportRow;
+import JOO.jooshop.productManagement.model.ProductOptionRow;
+import JOO.jooshop.productManagement.repository.InventoryImportRepository;
+import JOO.jooshop.productManagement.stock.FlashSaleStockService;
+import JOO.jooshop.productManagement.stock.StockReservationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryImportService {
+
+    /*
+        공급사 파일 대량 재고 반영 (CSV / NDJSON)
+
+        기존
+        - 행마다 updateInventory 호출 → 행당 findById + findByCategoryId + save, 수천 행이면 수천 번 왕복
+
+        변경
+        - 파일을 한 줄씩 읽어 파싱 (파일 전체를 메모리에 올리지 않음)
+        - 색상 / 카테고리 이름 → ID 는 시작할 때 한 번 적재한 사전으로 변환 (행마다 조회 없음)
+          카테고리는 전체 경로(상위/하위) 또는 이름, 이름이 여러 카테고리에 걸리면 경로를 요구하고 그 행은 오류
+        - chunk-size 행마다 트랜잭션 하나: 상품 존재 확인 1 회 + 기존 옵션 조회 1 회 + upsert batch 1 회
+          (InventoryImportRepository, uk_pm_option 기준 INSERT ... ON DUPLICATE KEY UPDATE)
+        - 잘못된 행은 행 번호와 함께 오류로 모으고 나머지는 계속 반영, chunk 반영이 DB 오류로 실패하면 그 chunk 행만 실패
+        - 메모리 = 사전(색상 / 카테고리 수) + chunk 하나 + 오류 최대 error-limit 개 → 파일 크기와 무관
+        - 재고는 절대값으로 덮어쓰므로 플래시 세일 중인 옵션은 거부, 반영된 기존 옵션은 커밋 후 Redis 가용 재고 카운터 폐기
+
+        파일 형식 (컬럼 / 키 이름 동일)
+        - productId, color, category, gender, size, stock
+        - category: "상의/반팔" 처럼 최상위부터 / 로 이은 경로, 또는 겹치지 않는 카테고리 이름
+        - CSV: 첫 줄 헤더, 따옴표 필드 지원 (필드 안 줄바꿈 미지원)
+        - NDJSON: 한 줄에 JSON 객체 하나
+     */
+
+    private static final List<String> COLUMNS = List.of("productId", "color", "category", "gender", "size", "stock");
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * format 파라미터 우선, 없으면 파일 확장자 (.ndjson / .jsonl → NDJSON, 그 외 CSV)
+         */
+        public static Format of(String format, String filename) {
+            if (format != null && !format.isBlank()) {
+                try {
+                    return valueOf(format.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("지원하지 않는 형식입니다. format=" + format);
+                }
+            }
+            String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryImportRepository inventoryImportRepository;
+    private final ProductColorRepository productColorRepository;
+    private final CategoryRepository categoryRepository;
+    private final FlashSaleStockService flashSaleStockService;
+    private final StockReservationService stockReservationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    @Value("${inventory.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${inventory.import.error-limit:1000}")
+    private int errorLimit;
+
+    @RequiresRole({MemberRole.ADMIN, MemberRole.SELLER})
+    public InventoryImportResultDto importStock(InputStream in, Format format) throws IOException {
+        Map<String, Long> colorIds = new HashMap<>();
+        for (ProductColor color : productColorRepository.findAll()) {
+            colorIds.put(color.getColor(), color.getColorId());
+        }
+        CategoryLookup categoryIds = CategoryLookup.of(categoryRepository.findAllNodes());
+
+        Progress progress = new Progress(errorLimit);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            long lineNo = 0;
+            Map<String, Integer> header = null;
+            if (format == Format.CSV) {
+                String headerLine = reader.readLine();
+                lineNo++;
+                if (headerLine == null) {
+                    throw new IllegalArgumentException("빈 파일입니다.");
+                }
+                header = parseHeader(headerLine);
+            }
+
+            List<InventoryImportRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                progress.totalRows++;
+
+                try {
+                    Map<String, String> fields = format == Format.CSV ? csvFields(line, header) : jsonFields(line);
+                    chunk.add(resolve(lineNo, fields, colorIds, categoryIds));
+                } catch (IllegalArgumentException e) {
+                    progress.error(lineNo, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    applyChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+            applyChunk(chunk, progress);
+        }
+
+        log.info("[InventoryImport] rows={}, inserted={}, updated={}, failed={}",
+                progress.totalRows, progress.inserted, progress.updated, progress.failed);
+        return progress.toResult();
+    }
+
+    private void applyChunk(List<InventoryImportRow> chunk, Progress progress) {
+        if (chunk.isEmpty()) return;
+
+        List<InventoryImportResultDto.RowError> chunkErrors = new ArrayList<>();
+        try {
+            int[] counts = transactionTemplate.execute(status -> applyInTransaction(chunk, chunkErrors));
+            for (int count : counts) {
+                if (count == 1) progress.inserted++;
+                else progress.updated++;
+            }
+            chunkErrors.forEach(e -> progress.error(e.line(), e.message()));
+        } catch (DataAccessException e) {
+            log.warn("[InventoryImport] chunk failed. lines {}~{}", chunk.get(0).line(), chunk.get(chunk.size() - 1).line(), e);
+            String message = "DB 반영 실패: " + e.getMostSpecificCause().getMessage();
+            chunk.forEach(row -> progress.error(row.line(), message));
+        }
+    }
+
+    private int[] applyInTransaction(List<InventoryImportRow> chunk, List<InventoryImportResultDto.RowError> errors) {
+        Set<Long> productIds = new HashSet<>();
+        chunk.forEach(row -> productIds.add(row.productId()));
+        Set<Long> existingProducts = inventoryImportRepository.findExistingProductIds(productIds);
+        Map<Long, Map<ProductOptionRow.Key, Long>> inventoryIds = inventoryImportRepository.findInventoryIds(existingProducts);
+
+        List<InventoryImportRow> valid = new ArrayList<>(chunk.size());
+        List<Long> touched = new ArrayList<>();
+        for (InventoryImportRow row : chunk) {
+            if (!existingProducts.contains(row.productId())) {
+                errors.add(new InventoryImportResultDto.RowError(row.line(), "존재하지 않는 상품입니다. productId=" + row.productId()));
+                continue;
+            }
+            Long inventoryId = inventoryIds.getOrDefault(row.productId(), Map.of()).get(row.key());
+            if (inventoryId != null) touched.add(inventoryId);
+            valid.add(row);
+        }
+
+        Set<Long> onFlashSale = flashSaleStockService.activeShards(touched).keySet();
+        if (!onFlashSale.isEmpty()) {
+            valid.removeIf(row -> {
+                Long inventoryId = inventoryIds.get(row.productId()).get(row.key());
+                if (inventoryId == null || !onFlashSale.contains(inventoryId)) return false;
+                errors.add(new InventoryImportResultDto.RowError(row.line(), "플래시 세일 중인 옵션입니다. inventoryId=" + inventoryId));
+                return true;
+            });
+            touched.removeAll(onFlashSale);
+        }
+
+        int[] counts = inventoryImportRepository.upsert(valid);
+
+        if (!valid.isEmpty()) {
+            eventPublisher.publishEvent(ProductChangedEvent.of(valid.stream().map(InventoryImportRow::productId).toList()));
+        }
+        touched.forEach(stockReservationService::evictAfterCommit);
+        return counts;
+    }
+
+    static InventoryImportRow resolve(long line, Map<String, String> fields,
+                                      Map<String, Long> colorIds, CategoryLookup categoryIds) {
+        Long productId = parseLong(fields, "productId");
+
+        String color = required(fields, "color");
+        Long colorId = colorIds.get(color);
+        if (colorId == null) throw new IllegalArgumentException("등록되지 않은 색상입니다. color=" + color);
+
+        Long categoryId = categoryIds.resolve(required(fields, "category"));
+
+        Gender gender = parseEnum(Gender.class, fields, "gender");
+        Size size = parseEnum(Size.class, fields, "size");
+
+        long stock = parseLong(fields, "stock");
+        if (stock < 0) throw new IllegalArgumentException("stock 은 0 이상이어야 합니다.");
+
+        return new InventoryImportRow(line, productId, colorId, categoryId, gender, size, stock);
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " 값이 없습니다.");
+        }
+        return value.trim();
+    }
+
+    private static long parseLong(Map<String, String> fields, String name) {
+        String value = required(fields, name);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " 는 정수여야 합니다. " + name + "=" + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, Map<String, String> fields, String name) {
+        String value = required(fields, name);
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("올바르지 않은 " + name + " 입니다. " + name + "=" + value);
+        }
+    }
+
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> names = splitCsv(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim(), i);
+        }
+        for (String column : COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new IllegalArgumentException("CSV 헤더에 " + column + " 컬럼이 없습니다.");
+            }
+        }
+        return header;
+    }
+
+    private static Map<String, String> csvFields(String line, Map<String, Integer> header) {
+        List<String> values = splitCsv(line);
+        Map<String, String> fields = new HashMap<>();
+        for (String column : COLUMNS) {
+            int index = header.get(column);
+            fields.put(column, index < values.size() ? values.get(index) : null);
+        }
+        return fields;
+    }
+
+    private Map<String, String> jsonFields(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다.");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (String column : COLUMNS) {
+            JsonNode value = node.get(column);
+            fields.put(column, value == null || value.isNull() ? null : value.asText());
+        }
+        return fields;
+    }
+
+    // RFC 4180 한 줄 분리 (따옴표 필드, "" 이스케이프)
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 따옴표가 있습니다.");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    /**
+     * 카테고리 경로 / 이름 → ID 사전
+     * - 경로는 항상 유일, 이름은 한 카테고리에만 쓰였을 때만 사용
+     */
+    static final class CategoryLookup {
+        private static final String PATH_SEPARATOR = "/";
+
+        private final Map<String, Long> byPath = new HashMap<>();
+        private final Map<String, Long> byName = new HashMap<>();
+        private final Set<String> ambiguousNames = new HashSet<>();
+
+        static CategoryLookup of(List<CategoryNode> nodes) {
+            Map<Long, CategoryNode> byId = new HashMap<>();
+            nodes.forEach(node -> byId.put(node.categoryId(), node));
+
+            CategoryLookup lookup = new CategoryLookup();
+            for (CategoryNode node : nodes) {
+                lookup.byPath.put(path(node, byId), node.categoryId());
+                if (lookup.byName.putIfAbsent(node.name(), node.categoryId()) != null) {
+                    lookup.ambiguousNames.add(node.name());
+                }
+            }
+            lookup.ambiguousNames.forEach(lookup.byName::remove);
+            return lookup;
+        }
+
+        Long resolve(String category) {
+            String normalized = normalizePath(category);
+            if (ambiguousNames.contains(normalized)) {
+                // 최상위 카테고리 경로도 이름과 같으므로 경로보다 먼저 확인
+                throw new IllegalArgumentException("같은 이름의 카테고리가 여러 개입니다. 상위/하위 경로로 지정해 주세요. category=" + category);
+            }
+            Long id = byPath.getOrDefault(normalized, byName.get(normalized));
+            if (id == null) throw new IllegalArgumentException("존재하지 않는 카테고리입니다. category=" + category);
+            return id;
+        }
+
+        // 최상위 → 자기 자신 (부모를 찾을 수 없으면 거기서 끊는다)
+        private static String path(CategoryNode node, Map<Long, CategoryNode> byId) {
+            List<String> names = new ArrayList<>();
+            Set<Long> visited = new HashSet<>();
+            for (CategoryNode current = node; current != null && visited.add(current.categoryId());
+                 current = current.parentId() == null ? null : byId.get(current.parentId())) {
+                names.add(0, current.name());
+            }
+            return String.join(PATH_SEPARATOR, names);
+        }
+
+        private static String normalizePath(String category) {
+            List<String> parts = new ArrayList<>();
+            for (String part : category.split(PATH_SEPARATOR, -1)) {
+                parts.add(part.trim());
+            }
+            return String.join(PATH_SEPARATOR, parts);
+        }
+    }
+
+    private static final class Progress {
+        private final int errorLimit;
+        private final List<InventoryImportResultDto.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        private Progress(int errorLimit) {
+            this.errorLimit = errorLimit;
+        }
+
+        private void error(long line, String message) {
+            failed++;
+            if (errors.size() < errorLimit) {
+                errors.add(new InventoryImportResultDto.RowError(line, message));
+            }
+        }
+
+        private InventoryImportResultDto toResult() {
+            return new InventoryImportResultDto(totalRows, inserted, updated, failed, errors, failed > errors.size());
+        }
+    }
+}
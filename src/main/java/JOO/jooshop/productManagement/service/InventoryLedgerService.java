@@ -0,0 +1,162 @@
+package JOO.jooshop.productManagement.service;
+
+import JOO.jooshop.global.authorization.RequiresRole;
+import JOO.jooshop.members.entity.enums.MemberRole;
+import JOO.jooshop.productManagement.model.InventoryLedgerDto;
+import JOO.jooshop.productManagement.repository.InventoryLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryLedgerService {
+
+    /*
+        옵션 재고 원장 (append-only 감사 로그) + 스냅샷 compaction
+
+        기존
+        - product_stock / sold-out 을 제자리에서 덮어써서 재고가 왜 이 값이 되었는지 이력이 없다.
+
+        변경
+        - 재고를 바꾸는 모든 경로가 같은 트랜잭션에서 원장 항목을 INSERT 한다.
+          · 엔티티 restock / decreaseStock / adjustStock / 등록(cascade 포함) → InventoryLedgerListener (행 INSERT / UPDATE 직후)
+          · JDBC 경로(결제 차감, 플래시 세일 반영, 옵션 diff, 대량 반영) → 각 repository 가 직접 batch INSERT
+        - 재고의 기준은 그대로 product_stock 이다.
+          · 초과 판매 방지는 product_stock 조건부 UPDATE 가 담당하고, 원장은 그 뒤에 한 행을 더 쓴다.
+            → 결제 경로의 옵션 행 경쟁은 줄지 않는다. (원장은 이력 / 감사용이지 재고 조회 경로가 아니다)
+        - compactor 가 주기마다 새 원장 항목이 생긴 옵션만 골라 inventory_snapshot 에 접는다.
+          · 옵션 행을 잠그지 않는다. 한 트랜잭션의 일관된 읽기(REPEATABLE READ)로 product_stock 과 원장을 같이 읽는다.
+          · 스냅샷에는 settle-seconds 보다 오래된 항목까지만 접는다.
+            (AUTO_INCREMENT ID 는 커밋 순서와 다르므로, 방금 쓰인 ID 보다 작은 항목이 아직 커밋 전일 수 있다)
+          · 스냅샷이 없는 옵션은 최근 항목이 없을 때 현재 product_stock 으로 시작 (원장 도입 이전 재고)
+        - 원장 재고 = 스냅샷 + 이후 원장 항목 (조회 시 접히지 않은 꼬리만 읽음)
+          product_stock 과 다르면 경고만 남긴다. (원장을 product_stock 으로 덮으면 누락된 경로가 드러나지 않는다)
+        - 원장 항목은 지우지 않는다. (보관 기간 정리는 별도)
+     */
+
+    private static final int DEFAULT_RECENT = 50;
+    private static final int MAX_RECENT = 500;
+
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryLedgerRepository inventoryLedgerRepository;
+
+    @Value("${inventory.ledger.compact-window:10000}")
+    private long compactWindow;
+
+    @Value("${inventory.ledger.settle-seconds:60}")
+    private long settleSeconds;
+
+    /** 이 원장 ID 까지는 compaction 대상 옵션을 이미 훑었다. (-1: 아직 모름 → 스냅샷에서 다시 구한다) */
+    private volatile long cursor = -1L;
+
+    /**
+     * 원장 항목 → 옵션별 스냅샷 (cursor 부터 settle 된 마지막 원장 ID 까지 compact-window 구간씩)
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.compact-millis:60000}")
+    public void compact() {
+        long max = inventoryLedgerRepository.findMaxLedgerIdOlderThan(settleSeconds);
+        if (cursor < 0 || max < cursor) {
+            // 재시작 / 원장 테이블이 비워짐 → 이미 접힌 마지막 원장 ID 부터 (처음부터 다시 훑지 않는다)
+            cursor = Math.min(inventoryLedgerRepository.findMaxSnapshotLedgerId(), max);
+        }
+
+        int options = 0;
+        int failed = 0;
+        while (cursor < max) {
+            long to = Math.min(cursor + compactWindow, max);
+            List<Long> inventoryIds = inventoryLedgerRepository.findInventoryIdsBetween(cursor, to);
+            for (Long inventoryId : inventoryIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> compact(inventoryId, max));
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("[InventoryLedger] compaction failed. inventoryId={}", inventoryId, e);
+                }
+            }
+            // 실패한 옵션은 다음 원장 항목이 생길 때 다시 접힌다. (꼬리가 길어질 뿐 결과는 같다)
+            options += inventoryIds.size();
+            cursor = to;
+        }
+        if (options > 0) {
+            log.debug("[InventoryLedger] compacted. options={}, failed={}, upTo={}", options, failed, max);
+        }
+    }
+
+    /**
+     * 옵션 원장 조회 - 원장 재고(스냅샷 + 꼬리), product_stock, 최근 항목
+     */
+    @Transactional(readOnly = true) // product_stock 과 원장을 같은 읽기 시점으로
+    @RequiresRole({MemberRole.ADMIN, MemberRole.SELLER})
+    public InventoryLedgerDto ledger(Long inventoryId, Integer limit) {
+        int recentLimit = limit == null ? DEFAULT_RECENT : limit;
+        if (recentLimit < 1 || recentLimit > MAX_RECENT) {
+            throw new IllegalArgumentException("limit 은 1 ~ " + MAX_RECENT + " 사이여야 합니다.");
+        }
+        long productStock = inventoryLedgerRepository.findProductStock(inventoryId)
+                .orElseThrow(() -> new IllegalArgumentException("해당 상품 관리 정보가 존재하지 않습니다. inventoryId=" + inventoryId));
+
+        Optional<InventoryLedgerRepository.Snapshot> snapshot = inventoryLedgerRepository.findSnapshot(inventoryId);
+        long snapshotLedgerId = snapshot.map(InventoryLedgerRepository.Snapshot::lastLedgerId).orElse(0L);
+        List<InventoryLedgerDto.Entry> tail = inventoryLedgerRepository.findTail(inventoryId, snapshotLedgerId);
+        Long ledgerStock = snapshot.map(s -> fold(s.stock(), tail)).orElse(null);
+
+        return new InventoryLedgerDto(
+                inventoryId,
+                ledgerStock,
+                productStock,
+                snapshotLedgerId,
+                tail.size(),
+                inventoryLedgerRepository.findRecent(inventoryId, recentLimit)
+        );
+    }
+
+    // 잠금 없는 일관된 읽기 → 결제의 옵션 행 UPDATE 와 경쟁하지 않는다.
+    private void compact(Long inventoryId, long settledLedgerId) {
+        Optional<Long> found = inventoryLedgerRepository.findProductStock(inventoryId);
+        if (found.isEmpty()) return; // 삭제된 옵션 - 원장 이력만 남긴다.
+        long productStock = found.get();
+
+        Optional<InventoryLedgerRepository.Snapshot> snapshot = inventoryLedgerRepository.findSnapshot(inventoryId);
+        List<InventoryLedgerDto.Entry> tail = inventoryLedgerRepository.findTail(inventoryId,
+                snapshot.map(InventoryLedgerRepository.Snapshot::lastLedgerId).orElse(0L));
+        if (tail.isEmpty()) return;
+        long lastLedgerId = tail.get(tail.size() - 1).ledgerId();
+
+        if (snapshot.isEmpty()) {
+            // 아직 settle 되지 않은 항목이 있으면 그 항목이 다음 구간에 잡힐 때 시작한다.
+            if (lastLedgerId <= settledLedgerId) {
+                inventoryLedgerRepository.upsertSnapshot(inventoryId, productStock, lastLedgerId);
+            }
+            return;
+        }
+
+        long ledgerStock = fold(snapshot.get().stock(), tail);
+        if (ledgerStock != productStock) {
+            log.warn("[InventoryLedger] ledger drift. inventoryId={}, ledgerStock={}, productStock={}",
+                    inventoryId, ledgerStock, productStock);
+        }
+
+        List<InventoryLedgerDto.Entry> settled = tail.stream()
+                .filter(entry -> entry.ledgerId() <= settledLedgerId)
+                .toList();
+        if (settled.isEmpty()) return;
+        inventoryLedgerRepository.upsertSnapshot(inventoryId, fold(snapshot.get().stock(), settled),
+                settled.get(settled.size() - 1).ledgerId());
+    }
+
+    private static long fold(long stock, List<InventoryLedgerDto.Entry> entries) {
+        for (InventoryLedgerDto.Entry entry : entries) {
+            stock = entry.type().apply(stock, entry.quantity());
+        }
+        return stock;
+    }
+}
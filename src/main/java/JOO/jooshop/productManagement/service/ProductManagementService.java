@@ -3,16 +3,20 @@ package JOO.jooshop.productManagement.service;
 import JOO.jooshop.categorys.repository.CategoryRepository;
 import JOO.jooshop.product.entity.Product;
 import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.model.ProductChangedEvent;
 import JOO.jooshop.product.repository.ProductColorRepository;
 import JOO.jooshop.product.repository.ProductRepository;
 import JOO.jooshop.productManagement.model.InventoryCreateDto;
 import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.productManagement.stock.FlashSaleStockService;
+import JOO.jooshop.productManagement.stock.StockReservationService;
 import JOO.jooshop.categorys.entity.Category;
 import JOO.jooshop.global.authorization.RequiresRole;
 import JOO.jooshop.members.entity.enums.MemberRole;
 import JOO.jooshop.productManagement.entity.ProductManagement;
 import JOO.jooshop.productManagement.model.InventoryUpdateDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +33,9 @@ public class ProductManagementService {
     public final CategoryRepository categoryRepository;
     public final ProductRepository productRepository;
     public final ProductColorRepository productColorRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationService stockReservationService;
+    private final FlashSaleStockService flashSaleStockService;
 
     /**
      * 상품관리 등록
@@ -58,8 +65,10 @@ public class ProductManagementService {
             throw new IllegalArgumentException("이미 존재하는 상품입니다.");
         }
 
-        // 저장
-        return productManagementRepository.save(entity);
+        // 저장 (상품의 카테고리 구성이 바뀌므로 패싯 인덱스 갱신 표시)
+        ProductManagement saved = productManagementRepository.save(entity);
+        eventPublisher.publishEvent(ProductChangedEvent.of(product.getProductId()));
+        return saved;
     }
 
     /**
@@ -97,9 +106,10 @@ public class ProductManagementService {
         // 카테고리 변경
         existingInventory.changeCategory(category);
 
-        // 추가 입고
+        // 추가 입고 (플래시 세일 중에는 샤드 재고와 어긋나므로 불가)
         Long add = request.getAdditionalStock();
         if (add != null && add > 0) {
+            requireNotOnFlashSale(inventoryId);
             existingInventory.restock(add);
         }
 
@@ -111,6 +121,8 @@ public class ProductManagementService {
 
 //        InventoryUpdateDto.updateInventoryForm(existingInventory, request);
 
+        eventPublisher.publishEvent(ProductChangedEvent.of(existingInventory.getProduct().getProductId()));
+        stockReservationService.evictAfterCommit(inventoryId); // 가용 재고를 바뀐 DB 재고 기준으로 다시 적재
         return productManagementRepository.save(existingInventory);
     }
 
@@ -122,6 +134,15 @@ public class ProductManagementService {
     public void deleteInventory(Long inventoryId) {
         ProductManagement existingInventory = productManagementRepository.findById(inventoryId)
                 .orElseThrow(() -> new NoSuchElementException(PRODUCT_NOT_FOUND));
+        requireNotOnFlashSale(inventoryId);
         productManagementRepository.delete(existingInventory);
+        eventPublisher.publishEvent(ProductChangedEvent.of(existingInventory.getProduct().getProductId()));
+        stockReservationService.evictAfterCommit(inventoryId);
+    }
+
+    private void requireNotOnFlashSale(Long inventoryId) {
+        if (flashSaleStockService.isActive(inventoryId)) {
+            throw new IllegalStateException("플래시 세일 중인 옵션입니다. 세일 종료 후 변경해 주세요. inventoryId=" + inventoryId);
+        }
     }
 }
@@ -0,0 +1,393 @@
+package JOO.jooshop.productManagement.stock;
+
+import JOO.jooshop.global.authorization.RequiresRole;
+import JOO.jooshop.global.transaction.AfterRollback;
+import JOO.jooshop.members.entity.enums.MemberRole;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.model.FlashSaleStatusDto;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.productManagement.repository.StockDecrementRepository;
+import JOO.jooshop.productManagement.repository.StockDecrementRepository.ClaimResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FlashSaleStockService {
+
+    /*
+        플래시 세일 모드 (옵션 = inventoryId 단위, 관리자가 켜고 끈다)
+
+        기존
+        - 결제 완료 시 product_management 행 하나에 조건부 UPDATE → 한정 판매처럼 한 옵션에 결제가 몰리면
+          행 락 하나에 줄을 서서 처리량이 행 락 보유 시간에 묶인다.
+
+        변경
+        - 시작 시 가용 재고(DB 재고 - 예약 중 수량)를 M 개 Redis 샤드 stock:flash:{inventoryId}:{i} 로 나눈다.
+        - 결제 완료 시 무작위 샤드에서 차감, 샤드가 비면 다음 샤드로 넘어간다. (샤드별 단일 키 스크립트)
+          전체 샤드를 돌아도 모자라면 가져간 수량을 돌려놓고 재고 부족
+        - 판매 수량은 stock:flash:pending 에 쌓고 reconcile 주기마다 DB product_stock 에 한 번에 반영
+          → 결제 트랜잭션은 이 옵션의 행 락을 잡지 않는다.
+        - 결제 트랜잭션이 롤백되면 샤드 / 미반영 수량을 되돌린다. (AfterRollback)
+        - 플래시 세일 옵션은 임시 주문 단계의 Redis 예약(StockReservationService)을 건너뛰고 결제 시점에 경쟁한다.
+        - 시작 전에 예약된 수량은 샤드에 넣지 않고 예약분 stock:flash:{inventoryId}:reserved 로 따로 둔다.
+          · 예약한 회원의 결제는 자기 예약 수량만큼 예약분에서 먼저 차감하고, 넘는 수량만 샤드에서 차감한다.
+          · 세일 중 해제 / 만료된 예약분은 reconcile 주기마다 샤드로 돌려놓는다. (flash_unhold.lua)
+          · 예약분에서 차감한 결제가 롤백되면 예약으로 되돌리지 않고 샤드로 돌려놓는다. (그 사이 예약이 만료되었을 수 있음)
+        - 진행 중에는 관리자 재고 수정 / 옵션 삭제 불가 (샤드와 DB 재고가 어긋나지 않도록)
+        - 종료하면 설정을 지우고 미반영분을 반영한 뒤 샤드를 삭제 → 다음 결제부터 기존 DB 경로
+        - reconcile 은 미반영 수량을 claim token 과 함께 stock:flash:processing 으로 옮긴 뒤
+          product_stock 반영 + 원장 기록 + claim 기록(flash_sale_claim)을 한 트랜잭션으로 커밋하고, 그 다음에만 processing 을 지운다.
+          → 중간에 인스턴스가 죽으면 processing 항목이 stale-millis 이후 같은 token 으로 다시 반영되고,
+            이미 커밋된 claim 은 claim 기록으로 건너뛴다. (판매분 유실 / 이중 반영 없음)
+     */
+
+    private static final String CONFIG_KEY = "stock:flash:config";
+    private static final String SHARD_KEY_PREFIX = "stock:flash:";
+    private static final String PENDING_KEY = "stock:flash:pending";
+    private static final String PENDING_SINCE_KEY = "stock:flash:pending-since";
+    private static final String PROCESSING_KEY = "stock:flash:processing";
+    private static final List<String> PENDING_KEYS = List.of(PENDING_KEY, PENDING_SINCE_KEY);
+    private static final List<String> CLAIM_KEYS = List.of(PENDING_KEY, PENDING_SINCE_KEY, PROCESSING_KEY);
+    private static final Duration CLAIM_RETENTION = Duration.ofDays(1);
+
+    private static final RedisScript<Long> TAKE = StockReservationService.script("flash_take.lua", Long.class);
+    private static final RedisScript<Long> PENDING = StockReservationService.script("flash_pending.lua", Long.class);
+    private static final RedisScript<String> CLAIM = StockReservationService.script("flash_claim.lua", String.class);
+    private static final RedisScript<Long> DONE = StockReservationService.script("flash_done.lua", Long.class);
+    private static final RedisScript<Long> HOLD = StockReservationService.script("flash_hold.lua", Long.class);
+    private static final RedisScript<Long> UNHOLD = StockReservationService.script("flash_unhold.lua", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductManagementRepository productManagementRepository;
+    private final StockDecrementRepository stockDecrementRepository;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stock.flash-sale.max-shards:64}")
+    private int maxShards;
+
+    @Value("${stock.flash-sale.stale-millis:30000}")
+    private long staleMillis;
+
+    /**
+     * 플래시 세일 시작 - 현재 가용 재고를 shards 개 샤드로 나눈다.
+     */
+    @RequiresRole({MemberRole.ADMIN})
+    public FlashSaleStatusDto start(Long inventoryId, int shards) {
+        if (shards < 1 || shards > maxShards) {
+            throw new IllegalArgumentException("샤드 수는 1 ~ " + maxShards + " 사이여야 합니다.");
+        }
+        if (Boolean.TRUE.equals(redisTemplate.opsForHash().hasKey(CONFIG_KEY, String.valueOf(inventoryId)))) {
+            throw new IllegalStateException("이미 플래시 세일 중인 옵션입니다. inventoryId=" + inventoryId);
+        }
+        ProductManagement option = productManagementRepository.findById(inventoryId)
+                .orElseThrow(() -> new NoSuchElementException("상품 옵션을 찾을 수 없습니다. inventoryId=" + inventoryId));
+
+        reconcile(inventoryId); // 이전 세일의 미반영분
+        if (Boolean.TRUE.equals(redisTemplate.opsForHash().hasKey(PROCESSING_KEY, String.valueOf(inventoryId)))) {
+            throw new IllegalStateException("이전 플래시 세일 판매분을 반영하는 중입니다. inventoryId=" + inventoryId);
+        }
+
+        String held = redisTemplate.opsForValue().get(StockReservationService.HELD_KEY_PREFIX + inventoryId);
+        long reserved = held == null ? 0 : Long.parseLong(held);
+        long available = option.getProductStock() - reserved;
+        if (available <= 0) {
+            throw new IllegalStateException("플래시 세일에 배정할 재고가 없습니다. inventoryId=" + inventoryId);
+        }
+
+        // 나머지는 앞 샤드부터 1 개씩
+        long base = available / shards;
+        long remainder = available % shards;
+        for (int i = 0; i < shards; i++) {
+            redisTemplate.opsForValue().set(shardKey(inventoryId, i), String.valueOf(base + (i < remainder ? 1 : 0)));
+        }
+        redisTemplate.opsForValue().set(reservedKey(inventoryId), String.valueOf(reserved));
+        redisTemplate.opsForHash().put(CONFIG_KEY, String.valueOf(inventoryId), String.valueOf(shards));
+        redisTemplate.delete(StockReservationService.AVAILABLE_KEY_PREFIX + inventoryId);
+
+        log.info("[FlashSale] started. inventoryId={}, stock={}, reserved={}, shards={}", inventoryId, available, reserved, shards);
+        return status(inventoryId);
+    }
+
+    /**
+     * 플래시 세일 종료 - 남은 샤드 재고는 DB 재고에 이미 포함되어 있으므로 미반영 판매분만 반영한다.
+     */
+    @RequiresRole({MemberRole.ADMIN})
+    public void stop(Long inventoryId) {
+        Integer shards = activeShards(List.of(inventoryId)).get(inventoryId);
+        if (shards == null) {
+            throw new IllegalStateException("플래시 세일 중인 옵션이 아닙니다. inventoryId=" + inventoryId);
+        }
+        redisTemplate.opsForHash().delete(CONFIG_KEY, String.valueOf(inventoryId));
+        reconcile(inventoryId);
+
+        List<String> shardKeys = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            shardKeys.add(shardKey(inventoryId, i));
+        }
+        shardKeys.add(reservedKey(inventoryId)); // 남은 예약은 held 로 남아 있고, 다음 적재 때 DB 재고 - held 로 계산된다.
+        redisTemplate.delete(shardKeys);
+        redisTemplate.delete(StockReservationService.AVAILABLE_KEY_PREFIX + inventoryId);
+        log.info("[FlashSale] stopped. inventoryId={}", inventoryId);
+    }
+
+    /**
+     * 플래시 세일 중인 옵션의 샤드 수 (HMGET 한 번)
+     */
+    public Map<Long, Integer> activeShards(Collection<Long> inventoryIds) {
+        if (inventoryIds.isEmpty()) return Map.of();
+
+        List<Object> fields = inventoryIds.stream().map(id -> (Object) String.valueOf(id)).toList();
+        List<Object> values = redisTemplate.opsForHash().multiGet(CONFIG_KEY, fields);
+
+        Map<Long, Integer> active = new HashMap<>();
+        int i = 0;
+        for (Long inventoryId : inventoryIds) {
+            Object value = values.get(i++);
+            if (value != null) {
+                active.put(inventoryId, Integer.parseInt(value.toString()));
+            }
+        }
+        return active;
+    }
+
+    public boolean isActive(Long inventoryId) {
+        return activeShards(List.of(inventoryId)).containsKey(inventoryId);
+    }
+
+    /**
+     * 결제 완료 재고 차감 중 플래시 세일 옵션을 회원의 시작 전 예약분 → 샤드 순으로 차감
+     * (호출 측 트랜잭션이 롤백되면 되돌린다)
+     * @return 플래시 세일이 아닌 나머지 라인 (DB 조건부 UPDATE 대상)
+     * @throws IllegalStateException 재고 부족
+     */
+    public List<StockLine> decrease(Long memberId, Collection<StockLine> lines) {
+        List<StockLine> normalized = StockLine.normalize(lines);
+        Map<Long, Integer> active = activeShards(normalized.stream().map(StockLine::inventoryId).toList());
+        if (active.isEmpty()) return normalized;
+
+        List<StockLine> rest = new ArrayList<>(normalized.size());
+        List<Taken> taken = new ArrayList<>();
+        try {
+            for (StockLine line : normalized) {
+                Integer shards = active.get(line.inventoryId());
+                if (shards == null) {
+                    rest.add(line);
+                    continue;
+                }
+                long fromHold = takeHeld(memberId, line);
+                if (fromHold > 0) {
+                    taken.add(new Taken(shardKey(line.inventoryId(), 0), fromHold));
+                }
+                if (fromHold < line.quantity()) {
+                    take(new StockLine(line.inventoryId(), line.quantity() - fromHold), shards, taken);
+                }
+            }
+        } catch (RuntimeException e) {
+            giveBack(taken);
+            throw e;
+        }
+
+        long now = System.currentTimeMillis();
+        for (StockLine line : normalized) {
+            if (active.containsKey(line.inventoryId())) {
+                addPending(line.inventoryId(), line.quantity(), now);
+            }
+        }
+        AfterRollback.run(() -> {
+            giveBack(taken);
+            long rolledBackAt = System.currentTimeMillis();
+            for (StockLine line : normalized) {
+                if (active.containsKey(line.inventoryId())) {
+                    addPending(line.inventoryId(), -line.quantity(), rolledBackAt);
+                }
+            }
+        });
+        return rest;
+    }
+
+    /**
+     * 해제된 시작 전 예약분을 샤드로 돌려놓고, 미반영 판매분 + 정리되지 않은 claim 을 DB product_stock 에 반영
+     */
+    @Scheduled(fixedDelayString = "${stock.flash-sale.reconcile-millis:1000}")
+    public void reconcileAll() {
+        try {
+            for (Object field : redisTemplate.opsForHash().keys(CONFIG_KEY)) {
+                returnReleasedHolds(Long.valueOf(field.toString()));
+            }
+
+            Set<Object> fields = new HashSet<>(redisTemplate.opsForHash().keys(PENDING_KEY));
+            fields.addAll(redisTemplate.opsForHash().keys(PROCESSING_KEY));
+            for (Object field : fields) {
+                reconcile(Long.valueOf(field.toString()));
+            }
+        } catch (Exception e) {
+            log.warn("[FlashSale] reconcile failed", e);
+        }
+    }
+
+    /**
+     * 보관 기간(stale-millis 보다 충분히 긴 1 일)이 지난 claim 기록 삭제
+     */
+    @Scheduled(fixedDelayString = "${stock.flash-sale.claim-purge-millis:3600000}")
+    public void purgeClaims() {
+        try {
+            int deleted = stockDecrementRepository.deleteClaimsAppliedBefore(LocalDateTime.now().minus(CLAIM_RETENTION));
+            if (deleted > 0) {
+                log.info("[FlashSale] purged applied claims. count={}", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("[FlashSale] claim purge failed", e);
+        }
+    }
+
+    /**
+     * 진행 중인 플래시 세일 상태 (샤드 수, 샤드별 재고, 미반영 수량, reconcile 지연)
+     */
+    @RequiresRole({MemberRole.ADMIN})
+    public List<FlashSaleStatusDto> statuses() {
+        List<FlashSaleStatusDto> result = new ArrayList<>();
+        for (Object field : redisTemplate.opsForHash().keys(CONFIG_KEY)) {
+            result.add(status(Long.valueOf(field.toString())));
+        }
+        return result;
+    }
+
+    private FlashSaleStatusDto status(Long inventoryId) {
+        int shards = activeShards(List.of(inventoryId)).getOrDefault(inventoryId, 0);
+        List<String> shardKeys = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            shardKeys.add(shardKey(inventoryId, i));
+        }
+
+        List<Long> shardStocks = new ArrayList<>(shards);
+        long remaining = 0;
+        if (shards > 0) {
+            for (String value : redisTemplate.opsForValue().multiGet(shardKeys)) {
+                long stock = value == null ? 0 : Long.parseLong(value);
+                shardStocks.add(stock);
+                remaining += stock;
+            }
+        }
+
+        Object pending = redisTemplate.opsForHash().get(PENDING_KEY, String.valueOf(inventoryId));
+        Object processing = redisTemplate.opsForHash().get(PROCESSING_KEY, String.valueOf(inventoryId));
+        Object since = redisTemplate.opsForHash().get(PENDING_SINCE_KEY, String.valueOf(inventoryId));
+        long lag = since == null ? 0 : Math.max(0, System.currentTimeMillis() - Long.parseLong(since.toString()));
+
+        return new FlashSaleStatusDto(
+                inventoryId,
+                shards,
+                shardStocks,
+                remaining,
+                (pending == null ? 0 : Long.parseLong(pending.toString()))
+                        + (processing == null ? 0 : Long.parseLong(processing.toString().split(":")[1])),
+                lag
+        );
+    }
+
+    // 무작위 샤드부터 한 바퀴 돌며 필요한 수량을 모은다.
+    private void take(StockLine line, int shards, List<Taken> taken) {
+        long needed = line.quantity();
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards && needed > 0; i++) {
+            String key = shardKey(line.inventoryId(), (start + i) % shards);
+            Long got = redisTemplate.execute(TAKE, List.of(key), String.valueOf(needed));
+            if (got != null && got > 0) {
+                taken.add(new Taken(key, got));
+                needed -= got;
+            }
+        }
+        if (needed > 0) {
+            throw new IllegalStateException("재고가 부족합니다. inventoryId=" + line.inventoryId());
+        }
+    }
+
+    private long takeHeld(Long memberId, StockLine line) {
+        Long inventoryId = line.inventoryId();
+        Long got = redisTemplate.execute(HOLD,
+                List.of(StockReservationService.HOLD_KEY_PREFIX + memberId, reservedKey(inventoryId),
+                        StockReservationService.HELD_KEY_PREFIX + inventoryId),
+                String.valueOf(inventoryId), String.valueOf(line.quantity()));
+        return got == null ? 0 : got;
+    }
+
+    private void returnReleasedHolds(Long inventoryId) {
+        Long returned = redisTemplate.execute(UNHOLD,
+                List.of(reservedKey(inventoryId), StockReservationService.HELD_KEY_PREFIX + inventoryId,
+                        shardKey(inventoryId, 0)));
+        if (returned != null && returned > 0) {
+            log.info("[FlashSale] released holds returned to shards. inventoryId={}, quantity={}", inventoryId, returned);
+        }
+    }
+
+    private void giveBack(List<Taken> taken) {
+        for (Taken t : taken) {
+            try {
+                redisTemplate.opsForValue().increment(t.shardKey(), t.quantity());
+            } catch (Exception e) {
+                log.warn("[FlashSale] failed to give back shard stock. key={}, quantity={}", t.shardKey(), t.quantity(), e);
+            }
+        }
+    }
+
+    private void addPending(Long inventoryId, long delta, long now) {
+        redisTemplate.execute(PENDING, PENDING_KEYS, String.valueOf(inventoryId), String.valueOf(delta), String.valueOf(now));
+    }
+
+    // 실패하면 processing 항목이 남아 stale-millis 이후 같은 token 으로 다시 반영된다.
+    private void reconcile(Long inventoryId) {
+        String claim = redisTemplate.execute(CLAIM, CLAIM_KEYS, String.valueOf(inventoryId),
+                UUID.randomUUID().toString(), String.valueOf(System.currentTimeMillis()), String.valueOf(staleMillis));
+        if (claim == null) return; // 반영할 것 없음 / 다른 인스턴스가 반영 중
+
+        int separator = claim.indexOf(':');
+        String token = claim.substring(0, separator);
+        long quantity = Long.parseLong(claim.substring(separator + 1));
+
+        ClaimResult result = transactionTemplate.execute(status -> {
+            ClaimResult applied = stockDecrementRepository.applyClaim(token, inventoryId, quantity);
+            if (applied == ClaimResult.APPLIED) {
+                productAvailabilityIndex.markInventoryDirtyAfterCommit(List.of(inventoryId));
+            }
+            return applied;
+        });
+        if (result == ClaimResult.OPTION_DELETED) {
+            log.warn("[FlashSale] option deleted, dropped pending quantity. inventoryId={}, quantity={}", inventoryId, quantity);
+        }
+
+        redisTemplate.execute(DONE, List.of(PROCESSING_KEY), String.valueOf(inventoryId), token);
+    }
+
+    private static String shardKey(Long inventoryId, int shard) {
+        return SHARD_KEY_PREFIX + inventoryId + ":" + shard;
+    }
+
+    private static String reservedKey(Long inventoryId) {
+        return SHARD_KEY_PREFIX + inventoryId + ":reserved";
+    }
+
+    private record Taken(String shardKey, long quantity) {}
+}
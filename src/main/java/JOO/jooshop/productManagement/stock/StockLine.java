@@ -0,0 +1,35 @@
+package JOO.jooshop.productManagement.stock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 재고 예약 / 차감 단위 (옵션 ID, 수량)
+ */
+public record StockLine(Long inventoryId, long quantity) {
+
+    public StockLine {
+        if (inventoryId == null) {
+            throw new IllegalArgumentException("inventoryId 는 필수입니다.");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("수량은 1 이상이어야 합니다. inventoryId=" + inventoryId);
+        }
+    }
+
+    /**
+     * 같은 옵션 라인을 합치고 inventoryId 오름차순 정렬 (락 / 차감 순서 고정)
+     */
+    public static List<StockLine> normalize(Collection<StockLine> lines) {
+        Map<Long, Long> merged = new TreeMap<>();
+        for (StockLine line : lines) {
+            merged.merge(line.inventoryId(), line.quantity(), Long::sum);
+        }
+        List<StockLine> result = new ArrayList<>(merged.size());
+        merged.forEach((inventoryId, quantity) -> result.add(new StockLine(inventoryId, quantity)));
+        return result;
+    }
+}
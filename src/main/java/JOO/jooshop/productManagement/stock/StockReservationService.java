@@ -0,0 +1,226 @@
+package JOO.jooshop.productManagement.stock;
+
+import JOO.jooshop.global.transaction.AfterCommit;
+import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    /*
+        Redis 재고 예약 (옵션 = inventoryId 단위)
+
+        기존
+        - 주문 생성 / 확정 / 결제 완료 어디에서도 재고를 확인 / 차감하지 않아 동시 구매 시 초과 판매
+
+        변경
+        - 옵션별 가용 재고 카운터 stock:avail:{inventoryId} 와 예약 중 수량 stock:held:{inventoryId}
+          가용 재고 = DB product_stock - 예약 중 수량 (처음 사용할 때 / 관리자 재고 변경 후 DB 에서 다시 적재)
+        - 임시 주문 생성 시 주문 라인 전체를 Lua 스크립트 하나로 예약 (전부 성공 또는 전부 실패)
+          예약 내용은 stock:hold:{memberId} 해시, 만료 시각은 stock:hold-deadlines ZSET
+        - 결제 완료 커밋 이후 commit → 예약 해제 + 가용 재고 차감 (DB 재고는 결제 트랜잭션에서 차감)
+        - 임시 주문 TTL 이 지나면 sweeper 가 예약을 해제해 가용 재고로 되돌린다.
+        - 한 옵션에 요청이 몰려도 옵션당 키 하나에 스크립트 한 번 (락 / 재시도 없음)
+        - 스크립트가 예약 내용에서 키 이름을 만들기 때문에 단일 Redis 기준 (Cluster 미지원)
+        - 플래시 세일 중인 옵션은 예약에서 제외 (FlashSaleStockService, 시작 전 예약은 결제 때 예약분에서 차감)
+        - stock.reservation.enabled=false 면 예약 없이 결제 시 DB 조건부 UPDATE(StockDecrementRepository)만 사용
+     */
+
+    static final String AVAILABLE_KEY_PREFIX = "stock:avail:";
+    static final String HELD_KEY_PREFIX = "stock:held:";
+    static final String HOLD_KEY_PREFIX = "stock:hold:";
+    private static final String DEADLINES_KEY = "stock:hold-deadlines";
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    private static final int SWEEP_BATCH = 100;
+
+    private static final RedisScript<List> RESERVE = script("reserve.lua", List.class);
+    private static final RedisScript<Long> RELEASE = script("release.lua", Long.class);
+    private static final RedisScript<Long> COMMIT = script("commit.lua", Long.class);
+    private static final RedisScript<Long> LOAD = script("load.lua", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ProductManagementRepository productManagementRepository;
+    private final FlashSaleStockService flashSaleStockService;
+
+    @Value("${stock.reservation.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 주문 라인 전체 예약 (기존 예약이 있으면 해제 후 다시 예약)
+     * @throws IllegalStateException 재고 부족
+     */
+    public void reserve(Long memberId, Collection<StockLine> lines, Duration holdFor) {
+        if (!enabled) return;
+
+        List<StockLine> normalized = StockLine.normalize(lines);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("예약할 주문 라인이 없습니다.");
+        }
+
+        release(memberId); // 같은 회원의 이전 임시 주문 예약
+
+        // 플래시 세일 옵션은 예약 없이 결제 시점에 샤드에서 차감
+        Set<Long> flashSale = flashSaleStockService.activeShards(
+                normalized.stream().map(StockLine::inventoryId).toList()).keySet();
+        List<StockLine> reservable = normalized.stream()
+                .filter(line -> !flashSale.contains(line.inventoryId()))
+                .toList();
+        if (reservable.isEmpty()) return;
+
+        String deadline = String.valueOf(System.currentTimeMillis() + holdFor.toMillis());
+        List<String> args = new ArrayList<>(2 + reservable.size() * 2);
+        args.add(String.valueOf(memberId));
+        args.add(deadline);
+        reservable.forEach(line -> {
+            args.add(String.valueOf(line.inventoryId()));
+            args.add(String.valueOf(line.quantity()));
+        });
+
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            List<?> result = redisTemplate.execute(RESERVE, holdKeys(memberId), args.toArray());
+            long status = ((Number) result.get(0)).longValue();
+            String subject = String.valueOf(result.get(1));
+
+            if (status == 1) {
+                log.debug("[StockReservation] reserved. memberId={}, lines={}", memberId, reservable.size());
+                return;
+            }
+            if (status == 0) {
+                throw new IllegalStateException("재고가 부족합니다. inventoryId=" + subject);
+            }
+            if (status == -2) {
+                throw new IllegalStateException("이미 처리 중인 주문이 있습니다. 잠시 후 다시 시도해 주세요.");
+            }
+            loadAvailable(reservable); // -1 : 가용 재고 미적재
+        }
+        throw new IllegalStateException("재고 정보를 불러오지 못했습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    /**
+     * 예약 해제 (멱등)
+     */
+    public void release(Long memberId) {
+        if (!enabled) return;
+        redisTemplate.execute(RELEASE, holdKeys(memberId), String.valueOf(memberId), "0");
+    }
+
+    /**
+     * 만료된 예약만 해제 (멱등, 그 사이 새로 예약되었으면 유지)
+     * - 임시 주문 키 만료 이벤트 / 인덱스 sweeper 에서 호출
+     * @return 해제한 라인 수
+     */
+    public long releaseIfExpired(Long memberId) {
+        if (!enabled) return 0;
+        Long lines = redisTemplate.execute(RELEASE, holdKeys(memberId),
+                String.valueOf(memberId), String.valueOf(System.currentTimeMillis()));
+        return lines == null ? 0 : lines;
+    }
+
+    /**
+     * 결제 완료 트랜잭션 커밋 이후 예약 확정 (DB 재고 차감은 호출 측 트랜잭션에서)
+     */
+    public void commitAfterCommit(Long memberId, Collection<StockLine> lines) {
+        if (!enabled) return;
+        List<StockLine> normalized = StockLine.normalize(lines);
+        AfterCommit.run(() -> commit(memberId, normalized));
+    }
+
+    private void commit(Long memberId, List<StockLine> lines) {
+        List<String> args = new ArrayList<>(1 + lines.size() * 2);
+        args.add(String.valueOf(memberId));
+        lines.forEach(line -> {
+            args.add(String.valueOf(line.inventoryId()));
+            args.add(String.valueOf(line.quantity()));
+        });
+        try {
+            Long held = redisTemplate.execute(COMMIT, holdKeys(memberId), args.toArray());
+            if (held == null || held == 0) {
+                log.info("[StockReservation] committed without active hold (expired). memberId={}", memberId);
+            }
+        } catch (Exception e) {
+            // DB 재고는 이미 차감됨 → 가용 재고를 DB 기준으로 다시 적재하도록 비운다.
+            lines.forEach(line -> evictQuietly(line.inventoryId()));
+            log.warn("[StockReservation] commit failed, available counters evicted. memberId={}", memberId, e);
+        }
+    }
+
+    /**
+     * 관리자 재고 변경 커밋 이후 가용 재고 카운터 폐기 → 다음 예약 때 DB 기준으로 다시 적재
+     */
+    public void evictAfterCommit(Long inventoryId) {
+        AfterCommit.run(() -> evictQuietly(inventoryId));
+    }
+
+    /**
+     * 임시 주문 TTL 이 지난 예약 해제
+     */
+    @Scheduled(fixedDelayString = "${stock.reservation.sweep-millis:10000}")
+    public void releaseExpired() {
+        if (!enabled) return;
+        long now = System.currentTimeMillis();
+        try {
+            Set<String> expired = redisTemplate.opsForZSet().rangeByScore(DEADLINES_KEY, 0, now, 0, SWEEP_BATCH);
+            if (expired == null || expired.isEmpty()) return;
+
+            int released = 0;
+            for (String holdId : expired) {
+                Long lines = redisTemplate.execute(RELEASE, List.of(HOLD_KEY_PREFIX + holdId, DEADLINES_KEY),
+                        holdId, String.valueOf(now));
+                if (lines != null && lines > 0) released++;
+            }
+            log.debug("[StockReservation] released {} expired holds", released);
+        } catch (Exception e) {
+            log.warn("[StockReservation] expired hold sweep failed", e);
+        }
+    }
+
+    // DB 재고로 가용 재고 카운터 적재 (이미 있는 키는 건드리지 않음)
+    private void loadAvailable(List<StockLine> lines) {
+        List<Long> inventoryIds = lines.stream().map(StockLine::inventoryId).toList();
+        List<ProductManagement> options = productManagementRepository.findAllById(inventoryIds);
+        if (options.size() != inventoryIds.size()) {
+            throw new IllegalArgumentException("존재하지 않는 상품 옵션이 포함되어 있습니다.");
+        }
+        for (ProductManagement option : options) {
+            redisTemplate.execute(LOAD,
+                    List.of(AVAILABLE_KEY_PREFIX + option.getInventoryId(), HELD_KEY_PREFIX + option.getInventoryId()),
+                    String.valueOf(option.getProductStock()));
+        }
+    }
+
+    private void evictQuietly(Long inventoryId) {
+        try {
+            redisTemplate.delete(AVAILABLE_KEY_PREFIX + inventoryId);
+        } catch (Exception e) {
+            log.warn("[StockReservation] failed to evict available counter. inventoryId={}", inventoryId, e);
+        }
+    }
+
+    private static List<String> holdKeys(Long memberId) {
+        return List.of(HOLD_KEY_PREFIX + memberId, DEADLINES_KEY);
+    }
+
+    static <T> RedisScript<T> script(String name, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/stock/" + name));
+        script.setResultType(resultType);
+        return script;
+    }
+}
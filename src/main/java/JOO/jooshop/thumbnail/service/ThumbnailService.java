@@ -2,11 +2,13 @@ package JOO.jooshop.thumbnail.service;
 
 import JOO.jooshop.global.file.FileStorageService;
 import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.model.ProductChangedEvent;
 import JOO.jooshop.thumbnail.entity.ProductThumbnail;
 import JOO.jooshop.thumbnail.model.ProductThumbnailDto;
 import JOO.jooshop.thumbnail.repository.ProductThumbnailRepositoryV1;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -32,6 +34,7 @@ public class ThumbnailService {
 
     private final ProductThumbnailRepositoryV1 productThumbnailRepository;
     private final FileStorageService fileStorageService;
+    private final ApplicationEventPublisher eventPublisher; // 목록 응답에 대표 썸네일이 포함되므로 변경 시 상품 변경 이벤트 발행
 
     private static final String UPLOAD_PREFIX = "/uploads/";
 
@@ -119,6 +122,7 @@ public class ThumbnailService {
 
             // DB 저장
             productThumbnailRepository.save(thumbnail);
+            publishChanged(product.getProductId());
 
         } catch (IOException e) {
             log.error("썸네일 업로드 실패: {}", file.getOriginalFilename(), e);
@@ -138,6 +142,7 @@ public class ThumbnailService {
 
         product.getProductThumbnails().add(thumbnail);
         productThumbnailRepository.save(thumbnail);
+        publishChanged(product.getProductId());
     }
 
     /* =========================
@@ -151,15 +156,18 @@ public class ThumbnailService {
             deleteFileIfLocal(thumbnail.getImagePath());
 
             // 컬렉션 정리(가능하면)
+            Long productId = null;
             try {
                 Product product = thumbnail.getProduct();
                 if (product != null) {
+                    productId = product.getProductId();
                     product.getProductThumbnails().remove(thumbnail);
                 }
             } catch (Exception ignore) {
             }
 
             productThumbnailRepository.delete(thumbnail);
+            publishChanged(productId);
         });
     }
 
@@ -176,12 +184,18 @@ public class ThumbnailService {
         }
 
         productThumbnailRepository.deleteAllInBatch(thumbnails);
+        publishChanged(productId);
     }
 
     /* =========================
        Utils
     ========================= */
 
+    /** 아직 저장 전인 상품(id 없음)은 상품 등록 쪽에서 발행하므로 건너뛴다. */
+    private void publishChanged(Long productId) {
+        if (productId != null) eventPublisher.publishEvent(ProductChangedEvent.of(productId));
+    }
+
     private void deleteFileIfLocal(String path) {
         if (!isLocalRelativePath(path)) return;
 
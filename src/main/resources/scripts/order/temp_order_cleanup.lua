@@ -0,0 +1,16 @@
+-- 만료된 임시 주문의 보조 인덱스 정리 (아직 키가 살아 있는 id 는 건드리지 않음 → 멱등)
+-- KEYS[1] = TemporaryOrder (Spring Data Redis id 인덱스 SET)
+-- ARGV[1] = 키 prefix 'TemporaryOrder:', ARGV[2..] = id
+-- return 인덱스에서 제거한 id 목록
+
+local removed = {}
+for i = 2, #ARGV do
+    local key = ARGV[1] .. ARGV[i]
+    if redis.call('EXISTS', key) == 0 then
+        if redis.call('SREM', KEYS[1], ARGV[i]) == 1 then
+            removed[#removed + 1] = ARGV[i]
+        end
+        redis.call('DEL', key .. ':idx')
+    end
+end
+return removed
@@ -0,0 +1,21 @@
+-- 이전 레이아웃 키의 누적 조회수를 현재 샤드로 옮기기 (멤버 단위로 원자적)
+-- KEYS[1] = 이전 키, KEYS[2..] = 현재 샤드 키
+-- ARGV = member1, shardIndex1, member2, shardIndex2, ... (shardIndex 는 0 부터)
+-- return 옮긴 멤버 수
+--
+-- 합친 값을 ZADD 로 쓰고 같은 스크립트에서 이전 키에서 지운다.
+-- → 중간에 실패 / 재시작해도 이미 옮긴 멤버는 이전 키에 없으므로 다시 더해지지 않는다.
+
+local moved = 0
+for i = 1, #ARGV, 2 do
+    local member = ARGV[i]
+    local score = redis.call('ZSCORE', KEYS[1], member)
+    if score then
+        local target = KEYS[tonumber(ARGV[i + 1]) + 2]
+        local merged = tonumber(score) + tonumber(redis.call('ZSCORE', target, member) or '0')
+        redis.call('ZADD', target, merged, member)
+        redis.call('ZREM', KEYS[1], member)
+        moved = moved + 1
+    end
+end
+return moved
@@ -0,0 +1,11 @@
+-- 체크포인트 값으로 누적 조회수 올리기 (현재 점수보다 클 때만)
+-- KEYS = 현재 샤드 키
+-- ARGV = member1, shardIndex1, score1, member2, shardIndex2, score2, ... (shardIndex 는 0 부터)
+-- return 처리한 멤버 수
+--
+-- ZADD GT → 재적재와 동시에 flush 된 조회수(ZINCRBY)가 있어도 더 큰 값이 남는다. (작은 값으로 덮어쓰지 않음)
+
+for i = 1, #ARGV, 3 do
+    redis.call('ZADD', KEYS[tonumber(ARGV[i + 1]) + 1], 'GT', ARGV[i + 2], ARGV[i])
+end
+return #ARGV / 3
@@ -0,0 +1,28 @@
+-- 결제 완료 (DB 재고 차감 커밋 이후) : 예약 해제 + 주문 수량만큼 가용 재고 차감
+-- 예약이 이미 만료되었거나 주문 라인이 예약과 달라도 가용 재고 = DB 재고 - held 가 유지된다.
+-- KEYS[1] = stock:hold:{holdId}, KEYS[2] = stock:hold-deadlines
+-- ARGV[1] = holdId, ARGV[2..] = inventoryId, quantity 반복 (주문 라인)
+-- return 1 예약이 있었음 / 0 예약 없음
+
+local lines = redis.call('HGETALL', KEYS[1])
+for i = 1, #lines, 2 do
+    local availKey = 'stock:avail:' .. lines[i]
+    if redis.call('EXISTS', availKey) == 1 then
+        redis.call('INCRBY', availKey, lines[i + 1])
+    end
+    redis.call('DECRBY', 'stock:held:' .. lines[i], lines[i + 1])
+end
+redis.call('DEL', KEYS[1])
+redis.call('ZREM', KEYS[2], ARGV[1])
+
+for i = 2, #ARGV, 2 do
+    local availKey = 'stock:avail:' .. ARGV[i]
+    if redis.call('EXISTS', availKey) == 1 then
+        redis.call('DECRBY', availKey, ARGV[i + 1])
+    end
+end
+
+if #lines > 0 then
+    return 1
+end
+return 0
@@ -0,0 +1,25 @@
+-- 플래시 세일 미반영 차감량 가져가기 (DB 반영 담당 인스턴스 하나만 가져간다)
+-- KEYS[1] = stock:flash:pending, KEYS[2] = stock:flash:pending-since, KEYS[3] = stock:flash:processing
+-- ARGV[1] = inventoryId, ARGV[2] = 새 claim token, ARGV[3] = now(ms), ARGV[4] = stale 기준(ms)
+-- processing 값 = "token:quantity:claimedAt" (DB 반영 + 원장 기록이 커밋될 때까지 남는다)
+-- return "token:quantity" (없거나 다른 인스턴스가 반영 중이면 nil)
+
+local processing = redis.call('HGET', KEYS[3], ARGV[1])
+if processing then
+    -- 이전 claim 이 아직 정리되지 않음 → stale 이면 같은 token 으로 다시 반영 (새 미반영분은 다음 주기)
+    local token, quantity, claimedAt = string.match(processing, '^([^:]+):([^:]+):([^:]+)$')
+    if tonumber(ARGV[3]) - tonumber(claimedAt) < tonumber(ARGV[4]) then
+        return false
+    end
+    redis.call('HSET', KEYS[3], ARGV[1], token .. ':' .. quantity .. ':' .. ARGV[3])
+    return token .. ':' .. quantity
+end
+
+local pending = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+redis.call('HDEL', KEYS[1], ARGV[1])
+redis.call('HDEL', KEYS[2], ARGV[1])
+if pending == 0 then
+    return false
+end
+redis.call('HSET', KEYS[3], ARGV[1], ARGV[2] .. ':' .. pending .. ':' .. ARGV[3])
+return ARGV[2] .. ':' .. pending
@@ -0,0 +1,11 @@
+-- 플래시 세일 claim 정리 (DB 반영 커밋 이후, 자기 token 일 때만)
+-- KEYS[1] = stock:flash:processing
+-- ARGV[1] = inventoryId, ARGV[2] = claim token
+-- return 1 = 정리됨, 0 = 이미 정리되었거나 다른 token
+
+local processing = redis.call('HGET', KEYS[1], ARGV[1])
+if processing and string.sub(processing, 1, string.len(ARGV[2]) + 1) == ARGV[2] .. ':' then
+    redis.call('HDEL', KEYS[1], ARGV[1])
+    return 1
+end
+return 0
@@ -0,0 +1,21 @@
+-- 플래시 세일 시작 전 예약분에서 차감 (회원 예약 수량과 남은 예약분 중 작은 만큼)
+-- KEYS[1] = stock:hold:{holdId}, KEYS[2] = stock:flash:{inventoryId}:reserved, KEYS[3] = stock:held:{inventoryId}
+-- ARGV[1] = inventoryId, ARGV[2] = wanted
+-- return 예약분에서 차감한 수량 (나머지는 샤드에서)
+
+local held = tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')
+local reserved = tonumber(redis.call('GET', KEYS[2]) or '0')
+local taken = math.min(tonumber(ARGV[2]), held, reserved)
+if taken <= 0 then
+    return 0
+end
+
+-- 예약분 / 예약 중 수량을 같이 줄여야 flash_unhold 의 (예약분 - 예약 중) 이 해제된 수량으로 남는다.
+redis.call('DECRBY', KEYS[2], taken)
+redis.call('DECRBY', KEYS[3], taken)
+if held == taken then
+    redis.call('HDEL', KEYS[1], ARGV[1])
+else
+    redis.call('HINCRBY', KEYS[1], ARGV[1], -taken)
+end
+return taken
@@ -0,0 +1,13 @@
+-- 플래시 세일 미반영 차감량 증감 (양수 = 판매, 음수 = 롤백 보상)
+-- KEYS[1] = stock:flash:pending, KEYS[2] = stock:flash:pending-since
+-- ARGV[1] = inventoryId, ARGV[2] = delta, ARGV[3] = now(ms)
+-- return 증감 후 미반영 수량
+
+local pending = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2])
+if pending == 0 then
+    redis.call('HDEL', KEYS[1], ARGV[1])
+    redis.call('HDEL', KEYS[2], ARGV[1])
+else
+    redis.call('HSETNX', KEYS[2], ARGV[1], ARGV[3])
+end
+return pending
@@ -0,0 +1,12 @@
+-- 플래시 세일 샤드 하나에서 최대 wanted 개 차감 (샤드 재고가 모자라면 남은 만큼만)
+-- KEYS[1] = stock:flash:{inventoryId}:{shard}
+-- ARGV[1] = wanted
+-- return 실제 차감한 수량 (0 이면 빈 샤드)
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+if current <= 0 then
+    return 0
+end
+local taken = math.min(current, tonumber(ARGV[1]))
+redis.call('DECRBY', KEYS[1], taken)
+return taken
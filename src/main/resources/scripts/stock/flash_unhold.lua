@@ -0,0 +1,13 @@
+-- 플래시 세일 중 해제 / 만료된 시작 전 예약분을 샤드로 돌려놓기
+-- KEYS[1] = stock:flash:{inventoryId}:reserved, KEYS[2] = stock:held:{inventoryId}, KEYS[3] = stock:flash:{inventoryId}:0
+-- return 샤드로 돌려놓은 수량
+
+local reserved = tonumber(redis.call('GET', KEYS[1]) or '0')
+local held = tonumber(redis.call('GET', KEYS[2]) or '0')
+local released = reserved - math.max(held, 0)
+if released <= 0 then
+    return 0
+end
+redis.call('DECRBY', KEYS[1], released)
+redis.call('INCRBY', KEYS[3], released)
+return released
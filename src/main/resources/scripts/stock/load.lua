@@ -0,0 +1,11 @@
+-- 가용 재고 적재 (없을 때만) : 가용 재고 = DB 재고 - 예약 중 수량
+-- KEYS[1] = stock:avail:{inventoryId}, KEYS[2] = stock:held:{inventoryId}
+-- ARGV[1] = DB product_stock
+-- return 1 적재 / 0 이미 있음
+
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+local held = tonumber(redis.call('GET', KEYS[2]) or '0')
+redis.call('SET', KEYS[1], tonumber(ARGV[1]) - held)
+return 1
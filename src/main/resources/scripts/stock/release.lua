@@ -0,0 +1,24 @@
+-- 예약 해제 (멱등: 예약이 없으면 아무것도 하지 않음)
+-- KEYS[1] = stock:hold:{holdId}, KEYS[2] = stock:hold-deadlines
+-- ARGV[1] = holdId, ARGV[2] = 현재 시각 (만료 해제일 때만, 아니면 0)
+-- return 해제한 라인 수
+
+if tonumber(ARGV[2]) > 0 then
+    local deadline = redis.call('ZSCORE', KEYS[2], ARGV[1])
+    if deadline and tonumber(deadline) > tonumber(ARGV[2]) then
+        return 0 -- 그 사이 새로 예약됨
+    end
+end
+
+local lines = redis.call('HGETALL', KEYS[1])
+for i = 1, #lines, 2 do
+    local availKey = 'stock:avail:' .. lines[i]
+    -- 가용 재고 키가 없으면(재적재 대기) 다음 적재 때 DB 재고 - held 로 계산되므로 held 만 줄인다.
+    if redis.call('EXISTS', availKey) == 1 then
+        redis.call('INCRBY', availKey, lines[i + 1])
+    end
+    redis.call('DECRBY', 'stock:held:' .. lines[i], lines[i + 1])
+end
+redis.call('DEL', KEYS[1])
+redis.call('ZREM', KEYS[2], ARGV[1])
+return #lines / 2
@@ -0,0 +1,26 @@
+-- 주문 라인 전체 재고 예약 (전부 성공 또는 전부 실패)
+-- KEYS[1] = stock:hold:{holdId}, KEYS[2] = stock:hold-deadlines
+-- ARGV[1] = holdId, ARGV[2] = 만료 시각 (epoch millis), ARGV[3..] = inventoryId, quantity 반복
+-- return {1, ''} 성공 / {0, inventoryId} 재고 부족 / {-1, inventoryId} 가용 재고 미적재 / {-2, holdId} 이미 예약 중
+
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return {-2, ARGV[1]}
+end
+
+for i = 3, #ARGV, 2 do
+    local available = redis.call('GET', 'stock:avail:' .. ARGV[i])
+    if not available then
+        return {-1, ARGV[i]}
+    end
+    if tonumber(available) < tonumber(ARGV[i + 1]) then
+        return {0, ARGV[i]}
+    end
+end
+
+for i = 3, #ARGV, 2 do
+    redis.call('DECRBY', 'stock:avail:' .. ARGV[i], ARGV[i + 1])
+    redis.call('INCRBY', 'stock:held:' .. ARGV[i], ARGV[i + 1])
+    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+end
+redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+return {1, ''}
@@ -0,0 +1,183 @@
+package JOO.jooshop.admin.products.service;
+
+import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.model.ProductOptionRow;
+import JOO.jooshop.productManagement.repository.InventoryLedgerRepository;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.productManagement.repository.ProductOptionBatchRepository;
+import JOO.jooshop.support.Benchmark;
+import JOO.jooshop.support.MySqlContainerTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 옵션 교체 방식 비교 벤치마크 (./gradlew benchmark)
+ *
+ * - 상품 옵션을 합성 옵션 N 개(A)로 바꾼 뒤, A 에서 재고 CHANGED 개 변경 + 추가 1 + 삭제 1 한 B 와 왕복
+ * - full-replace : 기존 방식 (deleteByProductId 후 전체 INSERT batch)
+ * - diff         : ProductOptionDiff + 바뀐 행만 INSERT / UPDATE / DELETE batch
+ * - 수정 1 회 latency, 쓴 행 수, inventory_id 가 유지된 옵션 수 비교 (테스트 트랜잭션은 롤백)
+ * - diff 는 바뀐 행만 써서 full-replace 의 1/10 미만이어야 한다.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductOptionBatchRepository.class, InventoryLedgerRepository.class})
+class ProductOptionBenchmarkTest extends MySqlContainerTest {
+
+    private static final int OPTIONS = 120;
+    private static final int CHANGED = 5;
+    private static final int ROUNDS = 5;
+    private static final long BASE_STOCK = 10L;
+
+    @Autowired
+    private ProductManagementRepository productManagementRepository;
+    @Autowired
+    private ProductOptionBatchRepository productOptionBatchRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long productId;
+    private final List<ProductColor> colors = new ArrayList<>();
+    private final List<Category> categories = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Product product = Product.create("option-benchmark", ProductType.HOME_JERSEY, BigDecimal.valueOf(10000),
+                "info", "maker", false, null, false);
+        entityManager.persist(product);
+
+        // 2 색상 × 3 카테고리 × 성별 3 × 사이즈 7 = 126 조합
+        for (int i = 0; i < 2; i++) {
+            ProductColor color = ProductColor.ofName("benchmark-color-" + i);
+            entityManager.persist(color);
+            colors.add(color);
+        }
+        for (int i = 0; i < 3; i++) {
+            Category category = Category.ofName("benchmark-category-" + i);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        entityManager.flush();
+        productId = product.getProductId();
+    }
+
+    @Test
+    void compareReplaceStrategies() {
+        List<ProductOptionRow> keys = syntheticOptions(OPTIONS + 1);
+        List<ProductOptionRow> a = keys.subList(0, OPTIONS);
+        List<ProductOptionRow> b = new ArrayList<>(keys.subList(1, OPTIONS + 1)); // 첫 옵션 삭제, 마지막 옵션 추가
+        for (int i = 0; i < CHANGED; i++) {
+            b.set(i, b.get(i).withStock(BASE_STOCK + 1));
+        }
+
+        Result fullReplace = measure("full-replace", a, b, false);
+        Result diff = measure("diff", a, b, true);
+        System.out.println("[ProductOptionBenchmark] " + fullReplace);
+        System.out.println("[ProductOptionBenchmark] " + diff);
+
+        // diff 는 바뀐 행(변경 CHANGED + 추가 1 + 삭제 1)만 쓰고 나머지 옵션의 inventory_id 를 유지한다.
+        assertThat(diff.rowsWrittenPerUpdate()).isEqualTo(CHANGED + 2);
+        assertThat(fullReplace.rowsWrittenPerUpdate()).isEqualTo(OPTIONS * 2); // DELETE 전체 + INSERT 전체
+        assertThat(diff.rowsWrittenPerUpdate() * 10).isLessThan(fullReplace.rowsWrittenPerUpdate());
+        assertThat(diff.idsPreservedPerUpdate()).isEqualTo(OPTIONS - 1);
+        assertThat(fullReplace.idsPreservedPerUpdate()).isZero();
+    }
+
+    private Result measure(String strategy, List<ProductOptionRow> a, List<ProductOptionRow> b, boolean diff) {
+        // 시작 상태 A
+        productManagementRepository.deleteByProductId(productId);
+        productOptionBatchRepository.insert(productId, a);
+
+        int updates = ROUNDS * 2;
+        Benchmark.Samples samples = new Benchmark.Samples(updates);
+        long[] rowsWritten = new long[1];
+        long idsPreserved = 0;
+        for (int i = 0; i < updates; i++) {
+            List<ProductOptionRow> target = (i % 2 == 0) ? b : a;
+            Set<Long> before = inventoryIds();
+
+            // 전후 inventory_id 조회는 측정에서 제외
+            samples.time(() -> rowsWritten[0] += diff ? applyDiff(target) : applyFullReplace(target, before.size()));
+
+            Set<Long> after = inventoryIds();
+            after.retainAll(before);
+            idsPreserved += after.size();
+        }
+
+        return new Result(
+                strategy,
+                a.size(),
+                updates,
+                samples.stats(),
+                (double) rowsWritten[0] / updates,
+                (double) idsPreserved / updates
+        );
+    }
+
+    private int applyFullReplace(List<ProductOptionRow> target, int currentSize) {
+        productManagementRepository.deleteByProductId(productId);
+        productOptionBatchRepository.insert(productId, target);
+        return currentSize + target.size();
+    }
+
+    private int applyDiff(List<ProductOptionRow> target) {
+        List<Long> stocks = target.stream().map(row -> (Long) row.stock()).toList();
+        ProductOptionDiff.Plan plan = ProductOptionDiff.diff(
+                productOptionBatchRepository.findByProductId(productId), target, stocks);
+        productOptionBatchRepository.delete(plan.deletes());
+        productOptionBatchRepository.updateStock(plan.updates());
+        productOptionBatchRepository.insert(productId, plan.inserts());
+        return plan.rowsWritten();
+    }
+
+    private Set<Long> inventoryIds() {
+        Set<Long> ids = new HashSet<>();
+        productOptionBatchRepository.findByProductId(productId).forEach(row -> ids.add(row.inventoryId()));
+        return ids;
+    }
+
+    // 색상 × 카테고리 × 성별 × 사이즈 조합에서 count 개
+    private List<ProductOptionRow> syntheticOptions(int count) {
+        List<ProductOptionRow> rows = new ArrayList<>(count);
+        for (ProductColor color : colors) {
+            for (Category category : categories) {
+                for (Gender gender : Gender.values()) {
+                    for (Size size : Size.values()) {
+                        if (rows.size() == count) return rows;
+                        rows.add(new ProductOptionRow(null, color.getColorId(), category.getCategoryId(),
+                                gender, size, BASE_STOCK, 0L));
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("합성 옵션 조합이 부족합니다. " + rows.size() + " < " + count);
+    }
+
+    /**
+     * 교체 방식별 결과
+     * - rowsWrittenPerUpdate: 수정 1 회당 INSERT + UPDATE + DELETE 행 수
+     * - idsPreservedPerUpdate: 수정 1 회 전후로 inventory_id 가 유지된 옵션 수 (장바구니 참조가 살아남는 수)
+     */
+    private record Result(String strategy, int options, int updates, Benchmark.Stats latency,
+                          double rowsWrittenPerUpdate, double idsPreservedPerUpdate) {}
+}
@@ -0,0 +1,126 @@
+package JOO.jooshop.categorys.service;
+
+import JOO.jooshop.categorys.model.CategoryNode;
+import JOO.jooshop.categorys.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 카테고리 트리 스냅샷의 하위 카테고리 / 최상위 카테고리 계산과 다시 적재 조건 단위 테스트 (DB / Redis 없음)
+ */
+class CategoryTreeSnapshotTest {
+
+    // 상의(1) ─ 반팔(2) ─ 기능성(3) ─ 경량(4), 상의(1) ─ 긴팔(5), 하의(6), 부모가 없는 고아(7 → 99)
+    private static final List<CategoryNode> NODES = List.of(
+            new CategoryNode(1L, "상의", 0L, null),
+            new CategoryNode(2L, "반팔", 1L, 1L),
+            new CategoryNode(3L, "기능성", 2L, 2L),
+            new CategoryNode(4L, "경량", 3L, 3L),
+            new CategoryNode(5L, "긴팔", 1L, 1L),
+            new CategoryNode(6L, "하의", 0L, null),
+            new CategoryNode(7L, "고아", 1L, 99L)
+    );
+
+    private CategoryRepository categoryRepository;
+    private ValueOperations<String, String> valueOperations;
+    private CategoryTreeSnapshot snapshot;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        categoryRepository = mock(CategoryRepository.class);
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        given(redisTemplate.opsForValue()).willReturn(valueOperations);
+        given(valueOperations.get("category:tree:version")).willReturn("0");
+        given(categoryRepository.findAllNodes()).willReturn(NODES);
+
+        // check-millis 0 → 조회마다 Redis 버전 키를 확인
+        snapshot = new CategoryTreeSnapshot(categoryRepository, redisTemplate);
+    }
+
+    @Test
+    void descendantsIncludeSelfAndAllDepths() {
+        assertThat(snapshot.descendantIdsOf(1L)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(snapshot.descendantIdsOf(2L)).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(snapshot.descendantIdsOf(4L)).containsExactly(4L);
+        assertThat(snapshot.descendantIdsOf(6L)).containsExactly(6L);
+    }
+
+    @Test
+    void unknownCategoryResolvesToItself() {
+        assertThat(snapshot.descendantIdsOf(42L)).containsExactly(42L);
+        assertThat(snapshot.topLevelIdOf(42L)).isNull();
+    }
+
+    @Test
+    void topLevelResolvesThroughEveryDepth() {
+        assertThat(snapshot.topLevelIdOf(4L)).isEqualTo(1L);
+        assertThat(snapshot.topLevelIdOf(5L)).isEqualTo(1L);
+        assertThat(snapshot.topLevelIdOf(6L)).isEqualTo(6L);
+        // 부모가 스냅샷에 없으면 최상위로 취급
+        assertThat(snapshot.topLevelIdOf(7L)).isEqualTo(7L);
+        assertThat(snapshot.topLevelNodes()).extracting(CategoryNode::categoryId).containsExactly(1L, 6L, 7L);
+    }
+
+    @Test
+    void cyclicParentsDoNotLoopForever() {
+        given(categoryRepository.findAllNodes()).willReturn(List.of(
+                new CategoryNode(1L, "a", 1L, 2L),
+                new CategoryNode(2L, "b", 1L, 1L)
+        ));
+
+        assertThat(snapshot.descendantIdsOf(1L)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(snapshot.topLevelNodes()).isEmpty();
+    }
+
+    @Test
+    void snapshotIsReusedWhileSharedVersionIsUnchanged() {
+        snapshot.descendantIdsOf(1L);
+        snapshot.descendantIdsOf(2L);
+        snapshot.getTopLevelCategories();
+
+        verify(categoryRepository, times(1)).findAllNodes();
+    }
+
+    @Test
+    void localInvalidateReloadsNewChildren() {
+        assertThat(snapshot.descendantIdsOf(1L)).doesNotContain(8L);
+
+        given(categoryRepository.findAllNodes()).willReturn(withChild(8L, 4L));
+        snapshot.invalidate();
+
+        assertThat(snapshot.descendantIdsOf(1L)).contains(8L);
+        assertThat(snapshot.descendantIdsOf(3L)).containsExactlyInAnyOrder(3L, 4L, 8L);
+        assertThat(snapshot.topLevelIdOf(8L)).isEqualTo(1L);
+    }
+
+    @Test
+    void sharedVersionChangeFromAnotherInstanceReloads() {
+        assertThat(snapshot.descendantIdsOf(6L)).containsExactly(6L);
+
+        // 다른 인스턴스가 하의(6) 아래에 카테고리를 만들고 버전 키를 올림
+        given(categoryRepository.findAllNodes()).willReturn(withChild(9L, 6L));
+        given(valueOperations.get("category:tree:version")).willReturn("1");
+
+        assertThat(snapshot.descendantIdsOf(6L)).containsExactlyInAnyOrder(6L, 9L);
+        verify(categoryRepository, times(2)).findAllNodes();
+    }
+
+    private static List<CategoryNode> withChild(Long childId, Long parentId) {
+        List<CategoryNode> nodes = new ArrayList<>(NODES);
+        nodes.add(new CategoryNode(childId, "추가", 4L, parentId));
+        return nodes;
+    }
+}
@@ -0,0 +1,158 @@
+package JOO.jooshop.order.service;
+
+import JOO.jooshop.cart.entity.Cart;
+import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.global.authentication.jwts.entity.CustomMemberDto;
+import JOO.jooshop.global.authentication.jwts.entity.CustomUserDetails;
+import JOO.jooshop.members.entity.Member;
+import JOO.jooshop.members.entity.enums.MemberRole;
+import JOO.jooshop.order.entity.TemporaryOrderRedis;
+import JOO.jooshop.order.entity.enums.PayMethod;
+import JOO.jooshop.order.model.OrderDto;
+import JOO.jooshop.order.repository.RedisOrderRepository;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.stock.StockReservationService;
+import JOO.jooshop.support.MySqlContainerTest;
+import JOO.jooshop.support.QueryCounter;
+import JOO.jooshop.support.QueryCounterConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * 주문 생성 / 확정이 장바구니 수와 무관한 조회 쿼리 수로 끝나는지 검증
+ * - 기존: 라인마다 장바구니 / 옵션 / 상품 / 썸네일 lazy 로딩 → 1 + 3N
+ * - 확정의 주문 라인 INSERT 는 IDENTITY 키라 라인 수만큼 나가므로 SELECT 수만 비교한다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderService.class, QueryCounterConfig.class})
+class OrderServiceQueryCountTest extends MySqlContainerTest {
+
+    private static final int CARTS = 5;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private RedisOrderRepository redisOrderRepository;
+    @MockBean
+    private StockReservationService stockReservationService;
+
+    private Long memberId;
+    private final List<Long> cartIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Member member = Member.registerGeneral("order-count@test.com", "{noop}password", "orderer", "orderer",
+                "010-0000-0000", null);
+        entityManager.persist(member);
+
+        ProductColor color = ProductColor.ofName("order-count-black");
+        Category category = Category.ofName("order-count-top");
+        entityManager.persist(color);
+        entityManager.persist(category);
+
+        Product product = Product.create("order-count-product", ProductType.HOME_JERSEY, BigDecimal.valueOf(10000),
+                "info", "maker", false, null, false);
+        product.addThumbnailPath("/thumbnails/order-count/0.png");
+        product.addThumbnailPath("/thumbnails/order-count/1.png");
+        Size[] sizes = Size.values();
+        for (int i = 0; i < CARTS; i++) {
+            product.addOption(color, category, Gender.UNISEX, sizes[i], 100);
+        }
+        entityManager.persist(product);
+
+        for (ProductManagement option : product.optionsView()) {
+            Cart cart = Cart.createCart(member, option, 1);
+            entityManager.persist(cart);
+            cartIds.add(cart.getCartId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        memberId = member.getId();
+        CustomUserDetails principal = new CustomUserDetails(CustomMemberDto.builder()
+                .memberId(memberId)
+                .email(member.getEmail())
+                .memberRole(MemberRole.USER)
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createOrderQueryCountDoesNotGrowWithCarts() {
+        Count single = measure(() -> orderService.createOrder(cartIds.subList(0, 1), orderDto()));
+        Count all = measure(() -> orderService.createOrder(cartIds, orderDto()));
+
+        assertThat(all.selects()).isEqualTo(single.selects());
+        assertThat(all.statements()).isEqualTo(single.statements()); // 임시 주문은 Redis → DB 쓰기 없음
+    }
+
+    @Test
+    void confirmOrderSelectCountDoesNotGrowWithCarts() {
+        Count single = measure(() -> orderService.confirmOrder(givenTemporaryOrder(cartIds.subList(0, 1))));
+        Count all = measure(() -> orderService.confirmOrder(givenTemporaryOrder(cartIds)));
+
+        assertThat(all.selects()).isEqualTo(single.selects());
+    }
+
+    private Count measure(Runnable action) {
+        entityManager.clear(); // 1 차 캐시 hit 로 쿼리가 숨지 않도록
+        QueryCounter.reset();
+        action.run();
+        entityManager.flush();
+        return new Count(QueryCounter.selects(), QueryCounter.statements());
+    }
+
+    private OrderDto givenTemporaryOrder(List<Long> ids) {
+        TemporaryOrderRedis tempOrder = TemporaryOrderRedis.createTemporaryOrder(
+                memberId, "orderer", "orderer", "010-0000-0000", List.copyOf(ids),
+                null, null, null, null, BigDecimal.valueOf(10000L * ids.size()));
+        given(redisOrderRepository.findById("tempOrder:" + memberId)).willReturn(Optional.of(tempOrder));
+        return orderDto();
+    }
+
+    private OrderDto orderDto() {
+        return OrderDto.builder()
+                .memberId(memberId)
+                .postCode("12345")
+                .address("서울")
+                .detailAddress("101호")
+                .username("orderer")
+                .phoneNumber("010-0000-0000")
+                .payMethod(PayMethod.card)
+                .build();
+    }
+
+    private record Count(long selects, long statements) {}
+}
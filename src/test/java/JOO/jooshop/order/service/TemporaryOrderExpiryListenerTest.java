@@ -0,0 +1,138 @@
+package JOO.jooshop.order.service;
+
+import JOO.jooshop.global.config.RedisConfig;
+import JOO.jooshop.productManagement.stock.StockReservationService;
+import JOO.jooshop.support.RedisContainerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 임시 주문 만료 처리 검증 (키 만료 이벤트 → 인덱스 정리 스크립트 → 예약 해제, 이벤트 유실 시 sweeper)
+ * - 예약 해제는 인덱스에서 id 를 실제로 제거한 경우에만 한 번 호출되어야 한다.
+ */
+@SpringJUnitConfig({RedisConfig.class, TemporaryOrderExpiryListenerTest.Config.class, TemporaryOrderExpiryListener.class})
+class TemporaryOrderExpiryListenerTest extends RedisContainerTest {
+
+    private static final String INDEX_KEY = "TemporaryOrder";
+
+    @Autowired
+    private TemporaryOrderExpiryListener listener;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @MockBean
+    private StockReservationService stockReservationService;
+
+    @AfterEach
+    void tearDown() {
+        Set<String> keys = redisTemplate.keys(INDEX_KEY + "*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Test
+    void keyExpiryEventCleansIndexAndReleasesHold() throws InterruptedException {
+        givenTempOrder(5L, Duration.ofMillis(200));
+        assertThat(isIndexed(5L)).isTrue();
+
+        // 만료 알림은 구독 스레드로 비동기 전달 → flush 를 반복하며 기다린다.
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (isIndexed(5L) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            listener.flushExpired();
+        }
+
+        assertThat(isIndexed(5L)).isFalse();
+        assertThat(redisTemplate.hasKey("TemporaryOrder:tempOrder:5:idx")).isFalse();
+        verify(stockReservationService, times(1)).releaseIfExpired(5L);
+    }
+
+    @Test
+    void duplicateEventsReleaseOnce() {
+        redisTemplate.opsForSet().add(INDEX_KEY, "tempOrder:6"); // 키는 이미 만료됨
+
+        // 같은 이벤트가 여러 번(여러 인스턴스) 전달되어도 인덱스에서 제거한 한 번만 해제
+        listener.onMessage(expired("TemporaryOrder:tempOrder:6"), null);
+        listener.onMessage(expired("TemporaryOrder:tempOrder:6"), null);
+        listener.flushExpired();
+        listener.onMessage(expired("TemporaryOrder:tempOrder:6"), null);
+        listener.flushExpired();
+
+        assertThat(isIndexed(6L)).isFalse();
+        verify(stockReservationService, times(1)).releaseIfExpired(6L);
+    }
+
+    @Test
+    void eventForLiveOrRecreatedKeyIsIgnored() {
+        givenTempOrder(7L, Duration.ofMinutes(30)); // 만료 직후 같은 회원이 임시 주문을 다시 만든 상태
+
+        listener.onMessage(expired("TemporaryOrder:tempOrder:7"), null);
+        listener.onMessage(expired("TemporaryOrder:tempOrder:7:phantom"), null);
+        listener.onMessage(expired("cart:7"), null);
+        listener.flushExpired();
+
+        assertThat(isIndexed(7L)).isTrue();
+        verify(stockReservationService, never()).releaseIfExpired(anyLong());
+    }
+
+    @Test
+    void sweepCleansOrdersWhoseEventWasLost() {
+        givenTempOrder(8L, Duration.ofMinutes(30));
+        for (long memberId = 100; memberId < 350; memberId++) {
+            redisTemplate.opsForSet().add(INDEX_KEY, "tempOrder:" + memberId); // 이벤트 유실 (키 없음)
+        }
+
+        listener.sweep();
+        listener.sweep();
+
+        assertThat(redisTemplate.opsForSet().members(INDEX_KEY)).containsExactly("tempOrder:8");
+        verify(stockReservationService, times(250)).releaseIfExpired(anyLong());
+        verify(stockReservationService, times(1)).releaseIfExpired(100L);
+        verify(stockReservationService, never()).releaseIfExpired(8L);
+    }
+
+    private void givenTempOrder(Long memberId, Duration ttl) {
+        String id = "tempOrder:" + memberId;
+        redisTemplate.opsForHash().put(INDEX_KEY + ":" + id, "memberId", String.valueOf(memberId));
+        redisTemplate.expire(INDEX_KEY + ":" + id, ttl);
+        redisTemplate.opsForSet().add(INDEX_KEY + ":" + id + ":idx", "TemporaryOrder:memberId:" + memberId);
+        redisTemplate.opsForSet().add(INDEX_KEY, id);
+    }
+
+    private boolean isIndexed(Long memberId) {
+        return Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(INDEX_KEY, "tempOrder:" + memberId));
+    }
+
+    private static DefaultMessage expired(String key) {
+        return new DefaultMessage("__keyevent@0__:expired".getBytes(StandardCharsets.UTF_8),
+                key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package JOO.jooshop.product.facet;
+
+import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.global.queries.QueryDSLConfig;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductRepository;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.support.MySqlContainerTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 가용 인덱스가 옵션 재고(product_stock > 0) SQL 결과와 같은지 검증 (전체 적재 / 상품 · 옵션 변경 반영)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryDSLConfig.class)
+class ProductAvailabilityIndexTest extends MySqlContainerTest {
+
+    private static final int PRODUCTS = 12;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductManagementRepository productManagementRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProductAvailabilityIndex productAvailabilityIndex;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ProductColor color = ProductColor.ofName("availability-black");
+        Category category = Category.ofName("availability-top");
+        entityManager.persist(color);
+        entityManager.persist(category);
+
+        // 옵션 없음 / 전부 품절 / 일부 재고 / 전부 재고
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.create("availability-" + i, ProductType.HOME_JERSEY, BigDecimal.valueOf(1000),
+                    "info", "maker", false, null, false);
+            switch (i % 4) {
+                case 1 -> product.addOption(color, category, Gender.UNISEX, Size.M, 0);
+                case 2 -> {
+                    product.addOption(color, category, Gender.UNISEX, Size.M, 0);
+                    product.addOption(color, category, Gender.UNISEX, Size.L, 3);
+                }
+                case 3 -> {
+                    product.addOption(color, category, Gender.UNISEX, Size.M, 2);
+                    product.addOption(color, category, Gender.UNISEX, Size.L, 3);
+                }
+                default -> { }
+            }
+            entityManager.persist(product);
+            productIds.add(product.getProductId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // 테스트마다 새 인덱스 (롤백된 이전 테스트 상품의 비트가 남지 않도록)
+        productAvailabilityIndex = new ProductAvailabilityIndex(productRepository, productManagementRepository);
+        productAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    void rebuildMatchesInStockOptionsInDb() {
+        assertMatchesSql();
+    }
+
+    @Test
+    void productChangedEventRecountsOnRefresh() {
+        Long soldOut = productIds.get(3); // 전부 재고 → 전부 품절
+        Long restocked = productIds.get(1); // 전부 품절 → 재고
+        setStock(soldOut, 0);
+        setStock(restocked, 7);
+        long version = productAvailabilityIndex.version();
+
+        productAvailabilityIndex.on(ProductChangedEvent.of(List.of(soldOut, restocked)));
+        assertThat(productAvailabilityIndex.isAvailable(soldOut)).contains(true); // refresh 전까지는 이전 값
+        productAvailabilityIndex.refresh();
+
+        assertThat(productAvailabilityIndex.isAvailable(soldOut)).contains(false);
+        assertThat(productAvailabilityIndex.isAvailable(restocked)).contains(true);
+        assertThat(productAvailabilityIndex.version()).isGreaterThan(version);
+        assertMatchesSql();
+    }
+
+    private void assertMatchesSql() {
+        Set<Long> inStock = new HashSet<>(entityManager.createQuery(
+                        "select distinct pm.product.productId from ProductManagement pm " +
+                                "where pm.productStock > 0 and pm.product.productId in :ids", Long.class)
+                .setParameter("ids", productIds)
+                .getResultList());
+
+        for (Long productId : productIds) {
+            assertThat(productAvailabilityIndex.isAvailable(productId)).as("productId=" + productId)
+                    .contains(inStock.contains(productId));
+            long options = entityManager.createQuery(
+                            "select count(pm) from ProductManagement pm where pm.productStock > 0 and pm.product.productId = :id",
+                            Long.class)
+                    .setParameter("id", productId)
+                    .getSingleResult();
+            assertThat(productAvailabilityIndex.inStockOptions(productId)).as("productId=" + productId)
+                    .isEqualTo((int) options);
+        }
+
+        // 재고 있는 상품만 보기 조건도 같은 결과
+        ProductAvailabilityIndex.InStockFilter filter = productAvailabilityIndex.inStockFilter().orElseThrow();
+        for (Long productId : productIds) {
+            assertThat(filter.productIds().contains(productId) == filter.include())
+                    .as("productId=" + productId)
+                    .isEqualTo(inStock.contains(productId));
+        }
+    }
+
+    private void setStock(Long productId, long stock) {
+        entityManager.createQuery("update ProductManagement pm set pm.productStock = :stock where pm.product.productId = :id")
+                .setParameter("stock", stock)
+                .setParameter("id", productId)
+                .executeUpdate();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,174 @@
+package JOO.jooshop.product.facet;
+
+import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.global.queries.Condition;
+import JOO.jooshop.global.queries.QueryDSLConfig;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductRepository;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.support.MySqlContainerTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 패싯 비트셋 카운트가 같은 필터의 SQL COUNT 와 같은지 검증 (전체 적재 직후 / 증분 반영 이후)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryDSLConfig.class)
+class ProductFacetIndexTest extends MySqlContainerTest {
+
+    private static final int PRODUCTS = 24;
+    private static final ProductType[] TYPES = {ProductType.HOME_JERSEY, ProductType.AWAY_JERSEY, ProductType.ACCESSORY};
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductManagementRepository productManagementRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProductFacetIndex productFacetIndex;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private Long top;
+    private Long shortSleeve;
+    private Long bottom;
+
+    @BeforeEach
+    void setUp() {
+        // 상의(top) ─ 반팔(shortSleeve), 하의(bottom)
+        Category topCategory = new Category(0L, "facet-top");
+        Category shortSleeveCategory = new Category(topCategory, 1L, "facet-short-sleeve");
+        Category bottomCategory = new Category(0L, "facet-bottom");
+        ProductColor color = ProductColor.ofName("facet-black");
+        entityManager.persist(topCategory);
+        entityManager.persist(shortSleeveCategory);
+        entityManager.persist(bottomCategory);
+        entityManager.persist(color);
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            boolean discount = i % 2 == 0;
+            Product product = Product.create("facet-" + i, TYPES[i % TYPES.length], BigDecimal.valueOf(1000),
+                    "info", "maker", discount, discount ? 10 : null, i % 3 == 0);
+            // 반팔만 / 하의만 / 둘 다 / 옵션 없음
+            if (i % 4 == 0 || i % 4 == 2) product.addOption(color, shortSleeveCategory, Gender.UNISEX, Size.M, 5);
+            if (i % 4 == 1 || i % 4 == 2) product.addOption(color, bottomCategory, Gender.UNISEX, Size.L, 5);
+            entityManager.persist(product);
+            productIds.add(product.getProductId());
+        }
+        entityManager.flush();
+
+        // BEST(위시리스트 30 이상) 는 일부 상품만
+        entityManager.createQuery("update Product p set p.wishListCount = 30 where p.productId in :ids")
+                .setParameter("ids", productIds.subList(0, 5))
+                .executeUpdate();
+        entityManager.clear();
+
+        top = topCategory.getCategoryId();
+        shortSleeve = shortSleeveCategory.getCategoryId();
+        bottom = bottomCategory.getCategoryId();
+
+        // 테스트마다 새 인덱스 (롤백된 이전 테스트 상품의 비트가 남지 않도록)
+        productFacetIndex = new ProductFacetIndex(productRepository, productManagementRepository);
+        productFacetIndex.rebuild();
+    }
+
+    @Test
+    void countsMatchSqlCountForEveryFilter() {
+        assertMatchesSql();
+    }
+
+    @Test
+    void changedProductsMatchSqlCountAfterEvent() {
+        Long flipped = productIds.get(1);
+        Long moved = productIds.get(4);
+        entityManager.createQuery("update Product p set p.isDiscount = true, p.discountRate = 20, p.isRecommend = true " +
+                        "where p.productId = :id")
+                .setParameter("id", flipped)
+                .executeUpdate();
+        entityManager.createQuery("update ProductManagement pm set pm.category = :category where pm.product.productId = :id")
+                .setParameter("category", entityManager.getReference(Category.class, bottom))
+                .setParameter("id", moved)
+                .executeUpdate();
+        entityManager.clear();
+
+        productFacetIndex.on(ProductChangedEvent.of(List.of(flipped, moved)));
+
+        assertMatchesSql();
+    }
+
+    private void assertMatchesSql() {
+        Map<Long, Set<Long>> groups = Map.of(top, Set.of(top, shortSleeve), bottom, Set.of(bottom));
+        List<Condition> conditions = new ArrayList<>(ProductFacetIndex.FACET_CONDITIONS);
+        conditions.add(null);
+        List<Set<Long>> categoryFilters = Arrays.asList(null, Set.of(top, shortSleeve), Set.of(shortSleeve), Set.of(bottom));
+
+        for (Condition condition : conditions) {
+            for (Set<Long> categoryIds : categoryFilters) {
+                ProductFacetCounts counts = productFacetIndex.count(condition, categoryIds, null, groups).orElseThrow();
+                String filter = condition + " / " + categoryIds;
+
+                assertThat(counts.total()).as(filter).isEqualTo(sqlCount(condition, categoryIds, null));
+                for (Condition facet : ProductFacetIndex.FACET_CONDITIONS) {
+                    assertThat(counts.conditions().get(facet)).as(filter + " / " + facet)
+                            .isEqualTo(sqlCount(facet, categoryIds, null));
+                }
+                for (ProductType type : ProductType.values()) {
+                    assertThat(counts.productTypes().get(type)).as(filter + " / " + type)
+                            .isEqualTo(sqlCount(condition, categoryIds, type));
+                }
+                groups.forEach((groupId, ids) -> assertThat(counts.categories().get(groupId)).as(filter + " / " + groupId)
+                        .isEqualTo(sqlCount(condition, ids, null)));
+            }
+        }
+    }
+
+    // ProductQueryHelper 의 목록 필터와 같은 조건의 COUNT
+    private long sqlCount(Condition condition, Set<Long> categoryIds, ProductType type) {
+        StringBuilder jpql = new StringBuilder("select count(p) from Product p where 1 = 1");
+        if (condition != null) {
+            switch (condition) {
+                case NEW -> jpql.append(" and p.createdAt > :threshold");
+                case BEST -> jpql.append(" and p.wishListCount >= 30");
+                case DISCOUNT -> jpql.append(" and p.isDiscount = true");
+                case RECOMMEND -> jpql.append(" and p.isRecommend = true");
+                default -> throw new IllegalArgumentException(condition.name());
+            }
+        }
+        if (categoryIds != null) {
+            jpql.append(" and exists (select 1 from ProductManagement pm " +
+                    "where pm.product = p and pm.category.categoryId in :categoryIds)");
+        }
+        if (type != null) {
+            jpql.append(" and p.productType = :type");
+        }
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        if (condition == Condition.NEW) query.setParameter("threshold", LocalDateTime.now().minusMonths(1));
+        if (categoryIds != null) query.setParameter("categoryIds", categoryIds);
+        if (type != null) query.setParameter("type", type);
+        return query.getSingleResult();
+    }
+}
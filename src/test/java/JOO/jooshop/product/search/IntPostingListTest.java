@@ -0,0 +1,73 @@
+package JOO.jooshop.product.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 정렬 int 배열 posting list 단위 테스트 - TreeSet 과 같은 결과인지 (추가 / 삭제 / 교집합)
+ */
+class IntPostingListTest {
+
+    @Test
+    void addKeepsSortedDistinctIds() {
+        IntPostingList list = new IntPostingList();
+        for (int id : new int[]{5, 1, 9, 5, 3, 1, 7, 2}) {
+            list.add(id);
+        }
+
+        assertThat(list.toArray()).containsExactly(1, 2, 3, 5, 7, 9);
+        assertThat(list.size()).isEqualTo(6);
+    }
+
+    @Test
+    void removeMissingIdIsNoop() {
+        IntPostingList list = new IntPostingList();
+        list.add(1);
+        list.remove(2);
+        list.remove(1);
+        list.remove(1);
+
+        assertThat(list.isEmpty()).isTrue();
+        assertThat(list.toArray()).isEmpty();
+    }
+
+    @Test
+    void randomAddRemoveAndIntersectMatchTreeSet() {
+        Random random = new Random(42);
+        IntPostingList left = new IntPostingList();
+        IntPostingList right = new IntPostingList();
+        TreeSet<Integer> leftExpected = new TreeSet<>();
+        TreeSet<Integer> rightExpected = new TreeSet<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            int id = random.nextInt(500);
+            boolean toLeft = random.nextBoolean();
+            IntPostingList list = toLeft ? left : right;
+            TreeSet<Integer> expected = toLeft ? leftExpected : rightExpected;
+            // 삭제를 섞어 배열 축소 경로도 거치게 한다.
+            if (random.nextInt(3) == 0) {
+                list.remove(id);
+                expected.remove(id);
+            } else {
+                list.add(id);
+                expected.add(id);
+            }
+        }
+
+        assertThat(left.toArray()).containsExactly(toArray(leftExpected));
+        assertThat(right.toArray()).containsExactly(toArray(rightExpected));
+
+        TreeSet<Integer> both = new TreeSet<>(leftExpected);
+        both.retainAll(rightExpected);
+        assertThat(IntPostingList.intersect(left.toArray(), right)).containsExactly(toArray(both));
+        assertThat(IntPostingList.intersect(new int[0], right)).isEmpty();
+    }
+
+    private static int[] toArray(TreeSet<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
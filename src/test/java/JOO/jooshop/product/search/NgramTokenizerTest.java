@@ -0,0 +1,55 @@
+package JOO.jooshop.product.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * n-gram 토크나이저 단위 테스트 - 연속 부분 문자열이면 검색 gram 이 색인 gram 에 모두 들어 있어야 한다. (후보 누락 없음)
+ */
+class NgramTokenizerTest {
+
+    @Test
+    void normalizeOnlyLowercases() {
+        assertThat(NgramTokenizer.normalize("Man Utd 반팔 T-Shirt")).isEqualTo("man utd 반팔 t-shirt");
+        assertThat(NgramTokenizer.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void indexGramsAreAllUnigramsAndBigrams() {
+        assertThat(NgramTokenizer.indexGrams("반팔티")).containsExactly("반", "반팔", "팔", "팔티", "티");
+        assertThat(NgramTokenizer.indexGrams("")).isEmpty();
+    }
+
+    @Test
+    void queryGramsAreBigramsOrSingleUnigram() {
+        assertThat(NgramTokenizer.queryGrams("티셔츠")).containsExactly("티셔", "셔츠");
+        assertThat(NgramTokenizer.queryGrams("티")).containsExactly("티");
+        // 공백도 문자로 취급 (LIKE '%a b%' 와 같은 의미)
+        assertThat(NgramTokenizer.queryGrams("a b")).containsExactly("a ", " b");
+    }
+
+    @Test
+    void surrogatePairsAreNotSplit() {
+        String text = "⚽🏆컵"; // 🏆 은 서로게이트 쌍
+        assertThat(NgramTokenizer.indexGrams(text)).contains("🏆", "⚽🏆", "🏆컵");
+        assertThat(NgramTokenizer.queryGrams("🏆")).containsExactly("🏆");
+    }
+
+    @Test
+    void everySubstringQueryIsCoveredByIndexGrams() {
+        for (String text : List.of("2025 맨유 홈 저지", "반팔티셔츠", "aaab", "t-shirt xl")) {
+            String normalized = NgramTokenizer.normalize(text);
+            Set<String> indexed = NgramTokenizer.indexGrams(normalized);
+            for (int from = 0; from < normalized.length(); from++) {
+                for (int to = from + 1; to <= normalized.length(); to++) {
+                    String query = normalized.substring(from, to);
+                    assertThat(indexed).as(text + " / " + query).containsAll(NgramTokenizer.queryGrams(query));
+                }
+            }
+        }
+    }
+}
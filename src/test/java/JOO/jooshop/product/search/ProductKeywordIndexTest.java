@@ -0,0 +1,123 @@
+package JOO.jooshop.product.search;
+
+import JOO.jooshop.global.queries.QueryDSLConfig;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.repository.ProductRepository;
+import JOO.jooshop.support.MySqlContainerTest;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static JOO.jooshop.product.entity.QProduct.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * n-gram 역색인 검색 결과가 기존 LIKE(containsIgnoreCase) 결과와 같은지 검증 (전체 적재 / 변경 이벤트 반영)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryDSLConfig.class)
+class ProductKeywordIndexTest extends MySqlContainerTest {
+
+    private static final List<String[]> CATALOG = List.of(
+            new String[]{"2025 맨유 홈 저지", "홈 경기용 반팔 저지"},
+            new String[]{"2025 맨유 어웨이 저지", "Away Jersey - Dri-FIT"},
+            new String[]{"맨유 트레이닝 웨어", "트레이닝 상의 + 하의"},
+            new String[]{"맨유 롱슬리브", null},
+            new String[]{"반팔티셔츠", "면 100%"},
+            new String[]{"맨유 키즈 홈 저지", "키즈 사이즈"},
+            new String[]{"Retro T-Shirt", "RETRO collection"},
+            new String[]{"저지저지", "반복 gram"}
+    );
+    private static final List<String> KEYWORDS = List.of(
+            "저지", "홈 저지", "홈저지", "맨유 홈", "티셔츠", "셔", "반", "t-shirt", "RETRO", "dri-fit",
+            "지저", "저지저지", "저지저지저지", " ", "2025", "상의 + 하의", "없는상품", "x"
+    );
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JPAQueryFactory queryFactory;
+    @Autowired
+    private EntityManager entityManager;
+
+    private ProductKeywordIndex productKeywordIndex;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (String[] row : CATALOG) {
+            Product saved = Product.create(row[0], ProductType.HOME_JERSEY, BigDecimal.valueOf(10000),
+                    row[1], "maker", false, null, false);
+            entityManager.persist(saved);
+            productIds.add(saved.getProductId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // 테스트마다 새 인덱스 (롤백된 이전 테스트 상품이 남지 않도록)
+        productKeywordIndex = new ProductKeywordIndex(productRepository);
+        ReflectionTestUtils.setField(productKeywordIndex, "activeEngine", ProductKeywordIndex.NAME);
+        ReflectionTestUtils.setField(productKeywordIndex, "maxCandidates", 5000);
+        productKeywordIndex.rebuild();
+    }
+
+    @Test
+    void searchMatchesLikeForEveryKeyword() {
+        assertMatchesLike();
+    }
+
+    @Test
+    void changedAndDeletedProductsMatchLikeAfterEvent() {
+        Long renamed = productIds.get(0);
+        Long deleted = productIds.get(4);
+        entityManager.createQuery("update Product p set p.productName = :name, p.productInfo = null where p.productId = :id")
+                .setParameter("name", "Retro 롱슬리브")
+                .setParameter("id", renamed)
+                .executeUpdate();
+        entityManager.createQuery("delete from Product p where p.productId = :id")
+                .setParameter("id", deleted)
+                .executeUpdate();
+        entityManager.clear();
+
+        productKeywordIndex.on(ProductChangedEvent.of(List.of(renamed, deleted)));
+
+        assertMatchesLike();
+        assertThat(search("홈 경기")).isEmpty();
+        assertThat(search("retro 롱")).containsExactly(renamed);
+    }
+
+    private void assertMatchesLike() {
+        for (String keyword : KEYWORDS) {
+            assertThat(search(keyword)).as(keyword).containsExactlyInAnyOrderElementsOf(like(keyword));
+        }
+    }
+
+    private List<Long> search(String keyword) {
+        return productKeywordIndex.search(keyword).orElseThrow().productIds().stream()
+                .filter(productIds::contains)
+                .toList();
+    }
+
+    // ProductQueryHelper.addKeywordFilter 와 같은 조건
+    private List<Long> like(String keyword) {
+        return queryFactory.select(product.productId)
+                .from(product)
+                .where(product.productName.containsIgnoreCase(keyword)
+                                .or(product.productInfo.containsIgnoreCase(keyword)),
+                        product.productId.in(productIds))
+                .fetch();
+    }
+}
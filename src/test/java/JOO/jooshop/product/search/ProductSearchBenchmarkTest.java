@@ -0,0 +1,191 @@
+package JOO.jooshop.product.search;
+
+import JOO.jooshop.global.queries.ProductQueryHelper;
+import JOO.jooshop.global.queries.QueryDSLConfig;
+import JOO.jooshop.support.Benchmark;
+import JOO.jooshop.support.MySqlContainerTest;
+import JOO.jooshop.support.QueryCounter;
+import JOO.jooshop.support.QueryCounterConfig;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static JOO.jooshop.product.entity.QProduct.product;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 엔진 비교 벤치마크 (./gradlew benchmark)
+ *
+ * - 같은 검색어 세트를 등록된 모든 엔진에 반복 실행해서 latency 분포, SELECT 수, recall 을 비교한다.
+ * - n-gram 인덱스: recall 1.0, 처리한 검색어는 SQL 0 회, 처리한 검색어의 p50 이 LIKE 보다 빨라야 한다.
+ * - 기준선(정답)은 기존 LIKE 검색 결과
+ * - 엔진이 처리하지 않는 검색어(Optional.empty)는 실제 목록 조회와 동일하게 LIKE 쿼리 시간으로 측정
+ * - 운영 DB 가 아닌 Testcontainers MySQL 에 임의 카탈로그를 적재해서 측정한다.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // FULLTEXT 인덱스 생성(DDL)은 암묵적 커밋
+@Import({QueryDSLConfig.class, ProductSearchEngineRegistry.class, ProductKeywordIndex.class,
+        LikeProductSearchEngine.class, FulltextProductSearchEngine.class, QueryCounterConfig.class})
+@TestPropertySource(properties = {
+        "product.search.index.always-build=true",
+        "product.search.fulltext.create-index=true"
+})
+class ProductSearchBenchmarkTest extends MySqlContainerTest {
+
+    private static final int PRODUCTS = 20_000;
+    private static final int ITERATIONS = 5;
+    private static final List<String> KEYWORDS = List.of("저지", "홈", "어웨이 저지", "트레이닝", "롱슬리브", "머플러", "zz");
+    private static final String[] WORDS = {"홈", "어웨이", "서드", "저지", "롱슬리브", "트레이닝", "웨어", "머플러", "캡", "스카프"};
+
+    @Autowired
+    private ProductSearchEngineRegistry registry;
+    @Autowired
+    private ProductKeywordIndex productKeywordIndex;
+    @Autowired
+    private FulltextProductSearchEngine fulltextProductSearchEngine;
+    @Autowired
+    private JPAQueryFactory queryFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            rows.add(new Object[]{
+                    WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i,
+                    "benchmark " + WORDS[random.nextInt(WORDS.length)]
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products_table (productType, productName, price, productInfo, " +
+                "isDiscount, isRecommend, dummy, created_at) VALUES ('HOME_JERSEY', ?, 10000, ?, false, false, true, NOW())", rows);
+
+        // ApplicationReadyEvent 가 없는 슬라이스 테스트 → 직접 적재
+        productKeywordIndex.rebuild();
+        fulltextProductSearchEngine.ensureIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM products_table WHERE dummy = true");
+    }
+
+    @Test
+    void compareEngines() {
+        // 기준선 (LIKE 결과)
+        Map<String, Set<Long>> baseline = new HashMap<>();
+        KEYWORDS.forEach(k -> baseline.put(k, new HashSet<>(likeIds(k))));
+
+        List<Result> results = new ArrayList<>();
+        for (ProductSearchEngine engine : registry.all()) {
+            results.add(measure(engine, baseline));
+        }
+        results.forEach(r -> System.out.println("[ProductSearchBenchmark] " + r));
+
+        Result like = result(results, LikeProductSearchEngine.NAME);
+        Result ngram = result(results, ProductKeywordIndex.NAME);
+
+        // n-gram 인덱스는 LIKE 와 같은 결과여야 하고, 인덱스가 처리한 검색어는 SQL 을 실행하지 않는다.
+        assertThat(ngram.recall()).isEqualTo(1.0);
+        assertThat(ngram.handled()).isPositive();
+        assertThat(ngram.selects()).isEqualTo((long) (KEYWORDS.size() - ngram.handled()) * ITERATIONS);
+        assertThat(ngram.selects()).isLessThan(like.selects());
+    }
+
+    @Test
+    void ngramIndexIsFasterThanLikeForHandledKeywords() {
+        // 후보가 max-candidates 를 넘는 검색어는 LIKE 로 fallback 하므로 인덱스가 처리하는 검색어만 비교
+        List<String> handled = KEYWORDS.stream()
+                .filter(k -> productKeywordIndex.search(k).isPresent())
+                .toList();
+        assertThat(handled).isNotEmpty();
+
+        int iterations = handled.size() * ITERATIONS;
+        Benchmark.Stats index = Benchmark.run(handled.size(), iterations,
+                i -> productKeywordIndex.search(handled.get(i % handled.size())));
+        Benchmark.Stats like = Benchmark.run(handled.size(), iterations,
+                i -> likeIds(handled.get(i % handled.size())));
+        System.out.println("[ProductSearchBenchmark] " + new Speedup(handled, index, like));
+
+        assertThat(index.p50Micros()).isLessThan(like.p50Micros());
+    }
+
+    private Result measure(ProductSearchEngine engine, Map<String, Set<Long>> baseline) {
+        // recall 확인 (측정 전 한 바퀴 → warm-up 겸용)
+        double recallSum = 0;
+        int handled = 0;
+        for (String keyword : KEYWORDS) {
+            Optional<List<Long>> found = engine.search(keyword).map(ProductSearchResult::productIds);
+            if (found.isPresent()) handled++;
+            recallSum += recall(found.orElseGet(() -> likeIds(keyword)), baseline.get(keyword));
+        }
+
+        QueryCounter.reset();
+        Benchmark.Stats latency = Benchmark.run(0, KEYWORDS.size() * ITERATIONS,
+                i -> resolve(engine, KEYWORDS.get(i % KEYWORDS.size())));
+
+        return new Result(engine.name(), handled, latency, QueryCounter.selects(), recallSum / KEYWORDS.size());
+    }
+
+    private static Result result(List<Result> results, String engine) {
+        return results.stream()
+                .filter(r -> r.engine().equals(engine))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("등록되지 않은 검색 엔진입니다. " + engine));
+    }
+
+    private List<Long> resolve(ProductSearchEngine engine, String keyword) {
+        return engine.search(keyword)
+                .map(ProductSearchResult::productIds)
+                .orElseGet(() -> likeIds(keyword));
+    }
+
+    private List<Long> likeIds(String keyword) {
+        return queryFactory.select(product.productId)
+                .from(product)
+                .where(ProductQueryHelper.createFilterBuilder(null, null, keyword, product))
+                .fetch();
+    }
+
+    private static double recall(List<Long> found, Set<Long> expected) {
+        if (expected.isEmpty()) return 1.0;
+        long hit = found.stream().filter(expected::contains).distinct().count();
+        return (double) hit / expected.size();
+    }
+
+    /**
+     * 엔진별 결과
+     * - handled 는 엔진이 직접 처리한 검색어 수 (나머지는 LIKE fallback)
+     * - latency 는 "검색어 → 매칭 productId 확정" 까지의 시간 (엔진이 처리하지 않으면 LIKE 쿼리 시간)
+     * - selects 는 측정 구간에서 실행된 SELECT 수
+     * - recall 은 기존 LIKE 결과 대비 엔진이 찾아낸 비율의 평균
+     */
+    private record Result(String engine, int handled, Benchmark.Stats latency, long selects, double recall) {}
+
+    /**
+     * n-gram 인덱스가 처리하는 검색어에서 인덱스 검색 vs LIKE 쿼리
+     */
+    private record Speedup(List<String> keywords, Benchmark.Stats index, Benchmark.Stats like) {}
+}
@@ -0,0 +1,50 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.global.queries.Condition;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 상품 수 캐시가 가득 찼을 때 가장 오래 안 쓰인 엔트리만 내보내는지 검증 (DB 없음)
+ */
+class ProductCountCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ProductCountCache productCountCache =
+            new ProductCountCache(mock(ProductAvailabilityIndex.class), 30, 2);
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        count("a");
+        count("b");
+        count("a"); // a 를 최근 사용으로
+        count("c"); // 가득 참 → b 만 내보냄
+
+        assertThat(loads).hasValue(3);
+        count("a");
+        count("c");
+        assertThat(loads).hasValue(3);
+        count("b");
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void keywordIsCaseInsensitiveAndInvalidateAllClears() {
+        count("Jersey");
+        count("jersey");
+        assertThat(loads).hasValue(1);
+
+        productCountCache.invalidateAll();
+        count("JERSEY");
+        assertThat(loads).hasValue(2);
+    }
+
+    private long count(String keyword) {
+        return productCountCache.getOrLoad(Condition.NEW, null, keyword, false, () -> loads.incrementAndGet());
+    }
+}
@@ -0,0 +1,114 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.product.model.ProductChangedEvent;
+import JOO.jooshop.product.model.ProductListResponseDto;
+import JOO.jooshop.support.MySqlContainerTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 상품 목록 캐시가 상품 변경 이벤트를 커밋 이후에만 반영하는지 검증 (롤백된 변경은 무효화하지 않음)
+ * - 이벤트는 서비스처럼 자기 트랜잭션에서 발행한다. (테스트 트랜잭션 없음)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ProductListCache.class)
+class ProductListCacheTest extends MySqlContainerTest {
+
+    @Autowired
+    private ProductListCache productListCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ProductCountCache productCountCache;
+    @MockBean
+    private ProductAvailabilityIndex productAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        // 캐시 빈은 테스트 간에 공유되므로 이전 테스트의 엔트리를 stale 로 만든다.
+        productListCache.invalidate();
+        clearInvocations(productCountCache);
+    }
+
+    @Test
+    void committedChangeInvalidatesAfterCommit() {
+        long before = productListCache.generation();
+        AtomicInteger loads = new AtomicInteger();
+        load(loads);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ProductChangedEvent.of(1L));
+            // 커밋 전에는 다른 요청이 이전 목록을 그대로 읽는다.
+            assertThat(productListCache.generation()).isEqualTo(before);
+            load(loads);
+        });
+
+        assertThat(productListCache.generation()).isEqualTo(before + 1);
+        verify(productCountCache, times(1)).invalidateAll();
+        load(loads);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void rolledBackChangeKeepsCachedPages() {
+        long before = productListCache.generation();
+        AtomicInteger loads = new AtomicInteger();
+        load(loads);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ProductChangedEvent.of(1L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(productListCache.generation()).isEqualTo(before);
+        verify(productCountCache, never()).invalidateAll();
+        load(loads);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void changeOutsideTransactionInvalidatesImmediately() {
+        long before = productListCache.generation();
+
+        eventPublisher.publishEvent(ProductChangedEvent.of(1L));
+
+        assertThat(productListCache.generation()).isEqualTo(before + 1);
+    }
+
+    // 같은 키의 목록 요청 (miss 일 때만 loader 실행)
+    private void load(AtomicInteger loads) {
+        Supplier<Page<ProductListResponseDto>> loader = () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of());
+        };
+        productListCache.getOrLoad(0, 10, null, null, null, null, false, loader);
+    }
+}
@@ -0,0 +1,163 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.categorys.service.CategoryTreeSnapshot;
+import JOO.jooshop.global.queries.OrderBy;
+import JOO.jooshop.global.queries.QueryDSLConfig;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.product.facet.ProductFacetIndex;
+import JOO.jooshop.product.model.ProductCursorResponseDto;
+import JOO.jooshop.product.model.ProductListResponseDto;
+import JOO.jooshop.product.search.ProductSearchEngineRegistry;
+import JOO.jooshop.support.MySqlContainerTest;
+import JOO.jooshop.support.QueryCounter;
+import JOO.jooshop.support.QueryCounterConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * 상품 목록 페이지 조회가 DB 에서 읽는 row 수가 페이지 크기에 비례하는지 (썸네일 수와 무관한지) 검증
+ * - 기존 컬렉션 fetch join + 페이징은 필터 결과 전체 × 썸네일 수만큼 row 를 읽었다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryDSLConfig.class, ProductHydrator.class, ProductOrderService.class, QueryCounterConfig.class})
+class ProductOrderServiceRowCountTest extends MySqlContainerTest {
+
+    private static final int PRODUCTS = 30;
+    private static final int THUMBNAILS_PER_PRODUCT = 5;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private ProductOrderService productOrderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private ModelMapper modelMapper;
+    @MockBean
+    private ProductCountCache productCountCache;
+    @MockBean
+    private ProductListCache productListCache;
+    @MockBean
+    private ProductSearchEngineRegistry productSearchEngineRegistry;
+    @MockBean
+    private CategoryTreeSnapshot categoryTreeSnapshot;
+    @MockBean
+    private ProductFacetIndex productFacetIndex;
+    @MockBean
+    private ProductAvailabilityIndex productAvailabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        // 캐시는 항상 miss → 실제 조회 경로
+        given(productListCache.getOrLoad(anyInt(), anyInt(), any(), any(), any(), any(), anyBoolean(), any()))
+                .willAnswer(invocation -> invocation.<Supplier<Page<ProductListResponseDto>>>getArgument(7).get());
+        given(productCountCache.getOrLoad(any(), any(), any(), anyBoolean(), any()))
+                .willAnswer(invocation -> invocation.<LongSupplier>getArgument(4).getAsLong());
+        given(productAvailabilityIndex.isAvailable(any())).willReturn(Optional.empty());
+
+        // 가격 1000 ~ 1029 (낮은 가격순 정렬이 결정적), 상품마다 썸네일 여러 개
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.create("product-" + i, ProductType.HOME_JERSEY, BigDecimal.valueOf(1000 + i),
+                    "info", "maker", false, null, false);
+            for (int t = 0; t < THUMBNAILS_PER_PRODUCT; t++) {
+                product.addThumbnailPath("/thumbnails/" + i + "/" + t + ".png");
+            }
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        QueryCounter.reset();
+    }
+
+    @Test
+    void offsetPageReadsRowsBoundedByPageSize() {
+        Page<ProductListResponseDto> page =
+                productOrderService.getFilteredAndSortedProducts(1, PAGE_SIZE, null, OrderBy.LOW_PRICE, null, null, false);
+
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS);
+        assertThat(page.getContent())
+                .extracting(ProductListResponseDto::getProductName)
+                .containsExactlyElementsOf(names(PAGE_SIZE, 2 * PAGE_SIZE));
+        assertThat(page.getContent())
+                .allSatisfy(dto -> assertThat(dto.getProductThumbnails()).hasSize(1));
+
+        // ID 페이지 + 상품/대표 썸네일 + COUNT
+        assertThat(QueryCounter.selects()).isEqualTo(3);
+        assertThat(QueryCounter.rows()).isLessThanOrEqualTo(2L * PAGE_SIZE + 1);
+    }
+
+    @Test
+    void cursorPageReadsRowsBoundedByPageSize() {
+        ProductCursorResponseDto first =
+                productOrderService.getFilteredAndSortedProductsByCursor(null, PAGE_SIZE, null, OrderBy.LOW_PRICE, null, null, false);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getContent())
+                .extracting(ProductListResponseDto::getProductName)
+                .containsExactlyElementsOf(names(0, PAGE_SIZE));
+
+        // ID 페이지(size + 1) + 상품/대표 썸네일, COUNT 없음
+        assertThat(QueryCounter.selects()).isEqualTo(2);
+        assertThat(QueryCounter.rows()).isLessThanOrEqualTo(2L * PAGE_SIZE + 1);
+    }
+
+    @Test
+    void cursorWalkVisitsNullSortKeysOnceInOrder() {
+        // 할인율 10 / 20 / 30 (동률 포함) + setUp 의 할인 없는(null) 상품 30 개
+        for (int i = 0; i < 12; i++) {
+            entityManager.persist(Product.create("discounted-" + i, ProductType.HOME_JERSEY, BigDecimal.valueOf(2000),
+                    "info", "maker", true, (i % 3 + 1) * 10, false));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // 할인율 내림차순, null 은 마지막, 동률은 productId 내림차순
+        List<Long> expected = entityManager.createQuery("select p from Product p", Product.class).getResultList().stream()
+                .sorted(Comparator.comparing(Product::getDiscountRate, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+                        .thenComparing(Product::getProductId, Comparator.reverseOrder()))
+                .map(Product::getProductId)
+                .toList();
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            ProductCursorResponseDto page = productOrderService.getFilteredAndSortedProductsByCursor(
+                    cursor, PAGE_SIZE, null, OrderBy.HIGH_DISCOUNT_RATE, null, null, false);
+            page.getContent().forEach(dto -> visited.add(dto.getProductId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    private static List<String> names(int fromInclusive, int toExclusive) {
+        return IntStream.range(fromInclusive, toExclusive).mapToObj(i -> "product-" + i).toList();
+    }
+}
@@ -0,0 +1,181 @@
+package JOO.jooshop.product.service;
+
+import JOO.jooshop.global.config.RedisConfig;
+import JOO.jooshop.product.service.ProductViewShards.ScoredId;
+import JOO.jooshop.support.Benchmark;
+import JOO.jooshop.support.RedisContainerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회수 ZSET 단일 키 vs 샤딩 비교 벤치마크 (./gradlew benchmark)
+ *
+ * - 같은 개수의 조회수 증가를 여러 스레드에서 pipeline ZINCRBY 로 기록 → 초당 증가 처리량
+ * - 같은 데이터에서 상위 K 조회 반복 → latency 분포 + 단일 키 결과와 일치 여부
+ * - 두 레이아웃 모두 점수 합이 증가 수와 같아야 한다. (유실 없음)
+ * - 운영 Redis 가 아닌 Testcontainers Redis 대상
+ * - 단일 Redis 노드에서는 처리량 차이가 크지 않고, 샤딩 효과는 키가 여러 노드로 나뉘는 Cluster 에서 나타난다.
+ */
+@Tag("benchmark")
+@SpringJUnitConfig({RedisConfig.class, ProductViewShards.class})
+class ProductRankingBenchmarkTest extends RedisContainerTest {
+
+    private static final String KEY_PREFIX = "benchmark:product_views:";
+    private static final int INCREMENTS = 100_000;
+    private static final int PRODUCTS = 10_000;
+    private static final int THREADS = 4;
+    private static final int BATCH_SIZE = 500;
+    private static final int SHARDS = 8;
+    private static final int TOP_K = 100;
+    private static final int READS = 50;
+
+    private static final List<String> SINGLE_KEYS = List.of(KEY_PREFIX + "single");
+    private static final List<String> SHARDED_KEYS = shardedKeys();
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+    @Autowired
+    private ProductViewShards productViewShards;
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(SINGLE_KEYS);
+        redisTemplate.delete(SHARDED_KEYS);
+    }
+
+    @Test
+    void compareSingleKeyAndShards() {
+        Measured single = measure(SINGLE_KEYS);
+        Measured sharded = measure(SHARDED_KEYS);
+
+        System.out.println("[ProductRankingBenchmark] " + single.toResult("single"));
+        System.out.println("[ProductRankingBenchmark] " + sharded.toResult("sharded"));
+
+        // 두 레이아웃 모두 증가가 유실되지 않아야 한다.
+        assertThat(single.totalScore()).isEqualTo(INCREMENTS);
+        assertThat(sharded.totalScore()).isEqualTo(INCREMENTS);
+
+        // 같은 데이터 → 샤드 k-way merge 결과가 단일 키 상위 K 와 순서까지 같아야 한다.
+        assertThat(sharded.top()).hasSize(TOP_K).isEqualTo(single.top());
+    }
+
+    private Measured measure(List<String> keys) {
+        // 같은 시드로 생성해서 두 레이아웃에 동일한 데이터가 들어가도록
+        long writeNanos = write(keys);
+
+        List<ScoredId> top = productViewShards.topK(keys, TOP_K);
+        Benchmark.Stats topK = Benchmark.run(1, READS, i -> productViewShards.topK(keys, TOP_K));
+        return new Measured(keys.size(), writeNanos, topK, top, totalScore(keys));
+    }
+
+    // 모든 키의 점수 합 (기록한 증가 수와 같아야 한다)
+    private long totalScore(List<String> keys) {
+        double total = 0;
+        for (String key : keys) {
+            Set<TypedTuple<Object>> tuples = redisTemplate.opsForZSet().rangeWithScores(key, 0, -1);
+            if (tuples == null) continue;
+            for (TypedTuple<Object> tuple : tuples) {
+                total += tuple.getScore() == null ? 0 : tuple.getScore();
+            }
+        }
+        return Math.round(total);
+    }
+
+    private long write(List<String> keys) {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(THREADS);
+            long start = System.nanoTime();
+            for (int t = 0; t < THREADS; t++) {
+                int seed = t;
+                int count = INCREMENTS / THREADS + (t < INCREMENTS % THREADS ? 1 : 0);
+                futures.add(executor.submit(() -> writeBatches(keys, count, seed)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("벤치마크가 중단되었습니다.", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("벤치마크 기록 중 오류가 발생했습니다.", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void writeBatches(List<String> keys, int count, int seed) {
+        Random random = new Random(seed);
+        int remaining = count;
+        while (remaining > 0) {
+            int batch = Math.min(BATCH_SIZE, remaining);
+            long[] ids = new long[batch];
+            for (int i = 0; i < batch; i++) {
+                // 제곱 분포로 앞쪽 ID 에 조회가 몰리게 (인기 상품 쏠림)
+                double r = random.nextDouble();
+                ids[i] = 1 + (long) (r * r * PRODUCTS);
+            }
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (long id : ids) {
+                        String key = keys.get(ProductViewShards.shardOf(id, keys.size()));
+                        ops.opsForZSet().incrementScore(key, String.valueOf(id), 1);
+                    }
+                    return null;
+                }
+            });
+            remaining -= batch;
+        }
+    }
+
+    private static List<String> shardedKeys() {
+        List<String> keys = new ArrayList<>(SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            keys.add(KEY_PREFIX + "shard:" + i);
+        }
+        return List.copyOf(keys);
+    }
+
+    private record Measured(int keys, long writeNanos, Benchmark.Stats topK, List<ScoredId> top, long totalScore) {
+
+        Result toResult(String layout) {
+            double seconds = writeNanos / 1_000_000_000.0;
+            return new Result(
+                    layout,
+                    keys,
+                    INCREMENTS,
+                    seconds == 0 ? 0 : INCREMENTS / seconds,
+                    TOP_K,
+                    topK
+            );
+        }
+    }
+
+    /**
+     * 레이아웃(단일 키 / 샤딩)별 결과
+     */
+    private record Result(String layout, int keys, long increments, double incrementsPerSec, int topK,
+                          Benchmark.Stats topKLatency) {}
+}
@@ -0,0 +1,71 @@
+package JOO.jooshop.productManagement.entity;
+
+import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.repository.InventoryLedgerRepository;
+import JOO.jooshop.support.MySqlContainerTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔티티 재고 변경이 save 호출 여부와 관계없이 원장에 남는지 검증
+ * - Product.addOption cascade 등록, dirty checking 으로만 반영되는 입고 / 판매 / 보정
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InventoryLedgerRepository.class)
+class InventoryLedgerListenerTest extends MySqlContainerTest {
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cascadeRegistrationAndDirtyCheckingAppendLedgerEntries() {
+        ProductColor color = ProductColor.ofName("ledger-black");
+        Category category = Category.ofName("ledger-top");
+        entityManager.persist(color);
+        entityManager.persist(category);
+
+        Product product = Product.create("ledger-product", ProductType.HOME_JERSEY, BigDecimal.valueOf(10000),
+                "info", "maker", false, null, false);
+        product.addOption(color, category, Gender.UNISEX, Size.M, 10);
+        entityManager.persist(product); // 옵션은 cascade 로 INSERT
+        entityManager.flush();
+
+        Long inventoryId = product.optionsView().get(0).getInventoryId();
+        entityManager.clear();
+
+        // save 없이 dirty checking 만으로 반영
+        ProductManagement option = entityManager.find(ProductManagement.class, inventoryId);
+        option.restock(5);
+        entityManager.flush();
+        option.decreaseStock(3);
+        entityManager.flush();
+        option.adjustStock(7);
+        entityManager.flush();
+
+        assertThat(entries(inventoryId)).containsExactly("ADJUST:10", "RESTOCK:5", "SALE:3", "ADJUST:7");
+    }
+
+    private List<String> entries(Long inventoryId) {
+        return jdbcTemplate.queryForList(
+                "SELECT CONCAT(entry_type, ':', quantity) FROM inventory_ledger WHERE inventory_id = ? ORDER BY ledger_id",
+                String.class, inventoryId);
+    }
+}
@@ -0,0 +1,168 @@
+package JOO.jooshop.productManagement.repository;
+
+import JOO.jooshop.categorys.entity.Category;
+import JOO.jooshop.product.entity.Product;
+import JOO.jooshop.product.entity.ProductColor;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.product.entity.enums.ProductType;
+import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.stock.StockLine;
+import JOO.jooshop.support.MySqlContainerTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 조건부 UPDATE 재고 차감 동시성 - 한 옵션에 결제가 몰려도 초과 판매가 없는지 검증
+ * - 각 차감은 결제 트랜잭션처럼 자기 트랜잭션에서 커밋한다. (테스트 트랜잭션 없음)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({StockDecrementRepository.class, InventoryLedgerRepository.class})
+class StockDecrementRepositoryConcurrencyTest extends MySqlContainerTest {
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int CHECKOUTS = 1_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private StockDecrementRepository stockDecrementRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ProductManagementRepository productManagementRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private Long productId;
+    private Long colorId;
+    private Long categoryId;
+    private Long inventoryId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            ProductColor color = ProductColor.ofName("black-" + suffix);
+            Category category = Category.ofName("top-" + suffix);
+            entityManager.persist(color);
+            entityManager.persist(category);
+
+            Product product = Product.create("limited-" + suffix, ProductType.HOME_JERSEY, BigDecimal.valueOf(10000),
+                    "info", "maker", false, null, false);
+            product.addOption(color, category, Gender.UNISEX, Size.M, INITIAL_STOCK);
+            entityManager.persist(product);
+            entityManager.flush();
+
+            productId = product.getProductId();
+            colorId = color.getColorId();
+            categoryId = category.getCategoryId();
+            inventoryId = product.optionsView().get(0).getInventoryId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM inventory_snapshot WHERE inventory_id = ?", inventoryId);
+        jdbcTemplate.update("DELETE FROM inventory_ledger WHERE inventory_id = ?", inventoryId);
+        jdbcTemplate.update("DELETE FROM product_management WHERE inventory_id = ?", inventoryId);
+        jdbcTemplate.update("DELETE FROM products_table WHERE productId = ?", productId);
+        jdbcTemplate.update("DELETE FROM product_color WHERE color_id = ?", colorId);
+        jdbcTemplate.update("DELETE FROM category WHERE category_id = ?", categoryId);
+    }
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(CHECKOUTS);
+            for (int i = 0; i < CHECKOUTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                stockDecrementRepository.decrease(List.of(new StockLine(inventoryId, 1))));
+                        succeeded.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        soldOut.incrementAndGet(); // 재고 부족 → 해당 결제만 롤백
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES); // 재고 부족 외의 예외는 여기서 실패
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Long stock = jdbcTemplate.queryForObject(
+                "SELECT product_stock FROM product_management WHERE inventory_id = ?", Long.class, inventoryId);
+        Boolean soldOutFlag = jdbcTemplate.queryForObject(
+                "SELECT is_sold_out FROM product_management WHERE inventory_id = ?", Boolean.class, inventoryId);
+        Long sold = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM inventory_ledger WHERE inventory_id = ? AND entry_type = 'SALE'",
+                Long.class, inventoryId);
+
+        assertThat(succeeded.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(soldOut.get()).isEqualTo(CHECKOUTS - INITIAL_STOCK);
+        assertThat(stock).isZero();
+        assertThat(soldOutFlag).isTrue();
+        assertThat(sold).isEqualTo(INITIAL_STOCK); // 롤백된 결제의 원장 항목은 남지 않는다.
+    }
+
+    @Test
+    void staleEntitySaveAfterConditionalDecrementFailsOptimisticLock() {
+        // 관리자 화면이 옵션을 읽어 둔 사이
+        ProductManagement stale = productManagementRepository.findById(inventoryId).orElseThrow();
+
+        // 결제가 별도 트랜잭션에서 조건부 UPDATE 로 차감 (version + 1)
+        transactionTemplate.executeWithoutResult(status ->
+                stockDecrementRepository.decrease(List.of(new StockLine(inventoryId, 3))));
+
+        // 읽어 둔 엔티티로 재고를 덮어쓰면 결제 차감이 사라지므로 저장이 실패해야 한다.
+        stale.adjustStock(INITIAL_STOCK + 50);
+        assertThatThrownBy(() -> productManagementRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        Long stock = jdbcTemplate.queryForObject(
+                "SELECT product_stock FROM product_management WHERE inventory_id = ?", Long.class, inventoryId);
+        assertThat(stock).isEqualTo(INITIAL_STOCK - 3);
+    }
+}
@@ -0,0 +1,138 @@
+package JOO.jooshop.productManagement.service;
+
+import JOO.jooshop.categorys.model.CategoryNode;
+import JOO.jooshop.product.entity.enums.Gender;
+import JOO.jooshop.productManagement.entity.enums.Size;
+import JOO.jooshop.productManagement.model.InventoryImportRow;
+import JOO.jooshop.productManagement.service.InventoryImportService.CategoryLookup;
+import JOO.jooshop.productManagement.service.InventoryImportService.Format;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 대량 재고 반영 파싱 / 이름 → ID 변환 단위 테스트 (DB 없음)
+ */
+class InventoryImportServiceTest {
+
+    // 상의(1) ─ 반팔(2), 하의(3) ─ 반팔(4), 악세서리(5)
+    private static final CategoryLookup CATEGORIES = CategoryLookup.of(List.of(
+            new CategoryNode(1L, "상의", 0L, null),
+            new CategoryNode(2L, "반팔", 1L, 1L),
+            new CategoryNode(3L, "하의", 0L, null),
+            new CategoryNode(4L, "반팔", 1L, 3L),
+            new CategoryNode(5L, "악세서리", 0L, null)
+    ));
+    private static final Map<String, Long> COLORS = Map.of("black", 10L, "white", 11L);
+
+    /* =========================
+       splitCsv
+    ========================= */
+
+    @Test
+    void splitCsvHandlesQuotedFieldsAndEscapedQuotes() {
+        assertThat(InventoryImportService.splitCsv("1,\"black, matte\",\"say \"\"hi\"\"\",,5"))
+                .containsExactly("1", "black, matte", "say \"hi\"", "", "5");
+    }
+
+    @Test
+    void splitCsvKeepsTrailingEmptyField() {
+        assertThat(InventoryImportService.splitCsv("a,b,")).containsExactly("a", "b", "");
+    }
+
+    @Test
+    void splitCsvRejectsUnclosedQuote() {
+        assertThatThrownBy(() -> InventoryImportService.splitCsv("1,\"black"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /* =========================
+       Format.of
+    ========================= */
+
+    @Test
+    void formatParameterWinsOverExtension() {
+        assertThat(Format.of(" ndjson ", "stock.csv")).isEqualTo(Format.NDJSON);
+        assertThat(Format.of("csv", "stock.jsonl")).isEqualTo(Format.CSV);
+    }
+
+    @Test
+    void formatFallsBackToExtension() {
+        assertThat(Format.of(null, "STOCK.NDJSON")).isEqualTo(Format.NDJSON);
+        assertThat(Format.of("", "stock.jsonl")).isEqualTo(Format.NDJSON);
+        assertThat(Format.of(null, "stock.txt")).isEqualTo(Format.CSV);
+        assertThat(Format.of(null, null)).isEqualTo(Format.CSV);
+    }
+
+    @Test
+    void formatRejectsUnknownParameter() {
+        assertThatThrownBy(() -> Format.of("xml", "stock.xml"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("xml");
+    }
+
+    /* =========================
+       resolve
+    ========================= */
+
+    @Test
+    void resolveMapsNamesToIds() {
+        InventoryImportRow row = InventoryImportService.resolve(2, fields("7", "black", "악세서리", "unisex", "m", "30"),
+                COLORS, CATEGORIES);
+
+        assertThat(row).isEqualTo(new InventoryImportRow(2, 7L, 10L, 5L, Gender.UNISEX, Size.M, 30));
+    }
+
+    @Test
+    void resolveUsesFullPathForDuplicatedCategoryName() {
+        assertThat(InventoryImportService.resolve(2, fields("7", "black", "상의/반팔", "MAN", "L", "1"),
+                COLORS, CATEGORIES).categoryId()).isEqualTo(2L);
+        assertThat(InventoryImportService.resolve(3, fields("7", "black", " 하의 / 반팔 ", "MAN", "L", "1"),
+                COLORS, CATEGORIES).categoryId()).isEqualTo(4L);
+    }
+
+    @Test
+    void resolveRejectsAmbiguousCategoryName() {
+        assertThatThrownBy(() -> InventoryImportService.resolve(2, fields("7", "black", "반팔", "MAN", "L", "1"),
+                COLORS, CATEGORIES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("경로");
+    }
+
+    @Test
+    void resolveRejectsUnknownValues() {
+        assertThatThrownBy(() -> InventoryImportService.resolve(2, fields("7", "red", "상의", "MAN", "L", "1"),
+                COLORS, CATEGORIES)).hasMessageContaining("color=red");
+        assertThatThrownBy(() -> InventoryImportService.resolve(2, fields("7", "black", "신발", "MAN", "L", "1"),
+                COLORS, CATEGORIES)).hasMessageContaining("category=신발");
+        assertThatThrownBy(() -> InventoryImportService.resolve(2, fields("7", "black", "상의", "KID", "L", "1"),
+                COLORS, CATEGORIES)).hasMessageContaining("gender=KID");
+    }
+
+    @Test
+    void resolveRejectsInvalidNumbers() {
+        assertThatThrownBy(() -> InventoryImportService.resolve(2, fields("abc", "black", "상의", "MAN", "L", "1"),
+                COLORS, CATEGORIES)).hasMessageContaining("productId");
+        assertThatThrownBy(() -> InventoryImportService.resolve(2, fields("7", "black", "상의", "MAN", "L", "-1"),
+                COLORS, CATEGORIES)).hasMessageContaining("0 이상");
+        assertThatThrownBy(() -> InventoryImportService.resolve(2, fields("7", "black", "상의", "MAN", "L", null),
+                COLORS, CATEGORIES)).hasMessageContaining("stock 값이 없습니다");
+    }
+
+    private static Map<String, String> fields(String productId, String color, String category,
+                                              String gender, String size, String stock) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("productId", productId);
+        fields.put("color", color);
+        fields.put("category", category);
+        fields.put("gender", gender);
+        fields.put("size", size);
+        fields.put("stock", stock);
+        return fields;
+    }
+}
@@ -0,0 +1,129 @@
+package JOO.jooshop.productManagement.stock;
+
+import JOO.jooshop.global.config.RedisConfig;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.productManagement.repository.StockDecrementRepository;
+import JOO.jooshop.support.RedisContainerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 플래시 세일 시작 전 예약이 세일 중에도 지켜지는지 검증 (Redis 만, DB 반영은 mock)
+ */
+@SpringJUnitConfig({RedisConfig.class, FlashSaleStockServiceTest.Config.class,
+        FlashSaleStockService.class, StockReservationService.class})
+class FlashSaleStockServiceTest extends RedisContainerTest {
+
+    private static final Long INVENTORY_ID = 9_001L;
+    private static final long STOCK = 10;
+    private static final Long HOLDER = 1L;
+    private static final Long OTHER = 2L;
+
+    @Autowired
+    private FlashSaleStockService flashSaleStockService;
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @MockBean
+    private ProductManagementRepository productManagementRepository;
+    @MockBean
+    private StockDecrementRepository stockDecrementRepository;
+    @MockBean
+    private ProductAvailabilityIndex productAvailabilityIndex;
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ProductManagement option = mock(ProductManagement.class);
+        given(option.getInventoryId()).willReturn(INVENTORY_ID);
+        given(option.getProductStock()).willReturn(STOCK);
+        given(productManagementRepository.findById(INVENTORY_ID)).willReturn(Optional.of(option));
+        given(productManagementRepository.findAllById(anyIterable())).willReturn(List.of(option));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Set<String> keys = redisTemplate.keys("stock:*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Test
+    void holdBeforeStartIsServedFromReservedBucket() {
+        stockReservationService.reserve(HOLDER, List.of(line(3)), Duration.ofMinutes(10));
+        flashSaleStockService.start(INVENTORY_ID, 2);
+
+        // 샤드에는 예약되지 않은 7 개만 → 다른 구매자가 다 사면 샤드는 비어 있다.
+        assertThat(flashSaleStockService.decrease(OTHER, List.of(line(7)))).isEmpty();
+        assertThatThrownBy(() -> flashSaleStockService.decrease(OTHER, List.of(line(1))))
+                .isInstanceOf(IllegalStateException.class);
+
+        // 예약한 회원은 예약 수량만큼 그대로 살 수 있다.
+        assertThat(flashSaleStockService.decrease(HOLDER, List.of(line(3)))).isEmpty();
+        assertThat(redisTemplate.opsForHash().get("stock:flash:pending", String.valueOf(INVENTORY_ID))).isEqualTo("10");
+        assertThat(redisTemplate.opsForValue().get("stock:held:" + INVENTORY_ID)).isEqualTo("0");
+    }
+
+    @Test
+    void holdCannotBuyMoreThanItsReservationWhenShardsAreEmpty() {
+        stockReservationService.reserve(HOLDER, List.of(line(3)), Duration.ofMinutes(10));
+        flashSaleStockService.start(INVENTORY_ID, 2);
+        flashSaleStockService.decrease(OTHER, List.of(line(7)));
+
+        assertThatThrownBy(() -> flashSaleStockService.decrease(HOLDER, List.of(line(4))))
+                .isInstanceOf(IllegalStateException.class);
+        // 실패한 결제의 예약분은 샤드로 돌아가 다른 구매자도 살 수 있다.
+        assertThat(flashSaleStockService.decrease(OTHER, List.of(line(3)))).isEmpty();
+    }
+
+    @Test
+    void releasedHoldReturnsToShards() {
+        stockReservationService.reserve(HOLDER, List.of(line(3)), Duration.ofMinutes(10));
+        flashSaleStockService.start(INVENTORY_ID, 2);
+
+        stockReservationService.release(HOLDER);
+        flashSaleStockService.reconcileAll();
+
+        assertThat(flashSaleStockService.decrease(OTHER, List.of(line(10)))).isEmpty();
+        assertThat(redisTemplate.opsForValue().get("stock:flash:" + INVENTORY_ID + ":reserved")).isEqualTo("0");
+    }
+
+    private static StockLine line(long quantity) {
+        return new StockLine(INVENTORY_ID, quantity);
+    }
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+    }
+}
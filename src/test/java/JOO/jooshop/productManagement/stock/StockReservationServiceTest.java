@@ -0,0 +1,177 @@
+package JOO.jooshop.productManagement.stock;
+
+import JOO.jooshop.global.config.RedisConfig;
+import JOO.jooshop.product.facet.ProductAvailabilityIndex;
+import JOO.jooshop.productManagement.entity.ProductManagement;
+import JOO.jooshop.productManagement.repository.ProductManagementRepository;
+import JOO.jooshop.productManagement.repository.StockDecrementRepository;
+import JOO.jooshop.support.RedisContainerTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Redis 재고 예약 수명 주기 검증 (예약 → 만료 → sweep, 해제와 결제 확정의 경합)
+ * - 가용 재고 = DB 재고 - 예약 중 수량 이 항상 유지되는지 본다. (DB 는 mock)
+ */
+@SpringJUnitConfig({RedisConfig.class, StockReservationServiceTest.Config.class,
+        StockReservationService.class, FlashSaleStockService.class})
+class StockReservationServiceTest extends RedisContainerTest {
+
+    private static final Long INVENTORY_ID = 9_101L;
+    private static final long STOCK = 10;
+    private static final Long MEMBER = 1L;
+    private static final Long OTHER = 2L;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @MockBean
+    private ProductManagementRepository productManagementRepository;
+    @MockBean
+    private StockDecrementRepository stockDecrementRepository;
+    @MockBean
+    private ProductAvailabilityIndex productAvailabilityIndex;
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        ProductManagement option = mock(ProductManagement.class);
+        given(option.getInventoryId()).willReturn(INVENTORY_ID);
+        given(option.getProductStock()).willReturn(STOCK);
+        given(productManagementRepository.findAllById(anyIterable())).willReturn(List.of(option));
+        given(productManagementRepository.findById(INVENTORY_ID)).willReturn(Optional.of(option));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Set<String> keys = redisTemplate.keys("stock:*");
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Test
+    void reserveLoadsCounterAndRejectsOversell() {
+        stockReservationService.reserve(MEMBER, List.of(line(7)), Duration.ofMinutes(10));
+
+        assertThat(available()).isEqualTo(3);
+        assertThat(held()).isEqualTo(7);
+        assertThatThrownBy(() -> stockReservationService.reserve(OTHER, List.of(line(4)), Duration.ofMinutes(10)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(available()).isEqualTo(3); // 실패한 예약은 아무것도 바꾸지 않는다.
+    }
+
+    @Test
+    void expiredHoldIsReturnedBySweep() throws InterruptedException {
+        stockReservationService.reserve(MEMBER, List.of(line(4)), Duration.ofMillis(1));
+        Thread.sleep(20);
+
+        stockReservationService.releaseExpired();
+
+        assertThat(available()).isEqualTo(STOCK);
+        assertThat(held()).isZero();
+        assertThat(redisTemplate.hasKey("stock:hold:" + MEMBER)).isFalse();
+        assertThat(redisTemplate.opsForZSet().score("stock:hold-deadlines", String.valueOf(MEMBER))).isNull();
+
+        // sweep 은 멱등 - 두 번 돌아도 가용 재고가 늘지 않는다.
+        stockReservationService.releaseExpired();
+        assertThat(available()).isEqualTo(STOCK);
+    }
+
+    @Test
+    void sweepKeepsHoldRenewedBeforeDeadline() throws InterruptedException {
+        stockReservationService.reserve(MEMBER, List.of(line(4)), Duration.ofMillis(1));
+        Thread.sleep(20);
+        // 같은 회원이 임시 주문을 다시 만들어 예약이 연장됨
+        stockReservationService.reserve(MEMBER, List.of(line(5)), Duration.ofMinutes(10));
+
+        stockReservationService.releaseExpired();
+        assertThat(stockReservationService.releaseIfExpired(MEMBER)).isZero();
+
+        assertThat(available()).isEqualTo(STOCK - 5);
+        assertThat(held()).isEqualTo(5);
+    }
+
+    @Test
+    void releaseRacingCommitNeverDoubleCounts() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 200; round++) {
+                tearDown();
+                stockReservationService.reserve(MEMBER, List.of(line(3)), Duration.ofMinutes(10));
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> release = executor.submit(() -> {
+                    start.await();
+                    stockReservationService.release(MEMBER);
+                    return null;
+                });
+                Future<?> commit = executor.submit(() -> {
+                    start.await();
+                    // 트랜잭션 밖이므로 바로 확정 (결제 트랜잭션 커밋 직후와 같은 상태)
+                    stockReservationService.commitAfterCommit(MEMBER, List.of(line(3)));
+                    return null;
+                });
+                start.countDown();
+                release.get(10, TimeUnit.SECONDS);
+                commit.get(10, TimeUnit.SECONDS);
+
+                // 어느 쪽이 먼저든 결제된 3 개만 빠지고 예약은 남지 않는다.
+                assertThat(available()).as("round " + round).isEqualTo(STOCK - 3);
+                assertThat(held()).as("round " + round).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long available() {
+        return Long.parseLong(redisTemplate.opsForValue().get("stock:avail:" + INVENTORY_ID));
+    }
+
+    private long held() {
+        String value = redisTemplate.opsForValue().get("stock:held:" + INVENTORY_ID);
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    private static StockLine line(long quantity) {
+        return new StockLine(INVENTORY_ID, quantity);
+    }
+
+    @Configuration
+    static class Config {
+
+        @Bean
+        StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
+            return new StringRedisTemplate(connectionFactory);
+        }
+    }
+}
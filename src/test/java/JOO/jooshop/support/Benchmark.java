@@ -0,0 +1,82 @@
+package JOO.jooshop.support;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 벤치마크 공용 측정 도구 (./gradlew benchmark)
+ * - warm-up(측정 제외) 후 같은 작업을 반복 실행하고 latency 분포(µs)를 Stats 로 돌려준다.
+ * - 측정 사이에 시간에 넣지 않을 작업(결과 검증, 상태 확인)이 있으면 Samples 에 직접 time() 으로 모은다.
+ */
+public final class Benchmark {
+
+    private Benchmark() {
+    }
+
+    /**
+     * @param action 반복 번호(warm-up 도 0 부터)를 받아 한 번 실행
+     */
+    public static Stats run(int warmups, int iterations, IntConsumer action) {
+        for (int i = 0; i < warmups; i++) {
+            action.accept(i);
+        }
+        Samples samples = new Samples(iterations);
+        for (int i = 0; i < iterations; i++) {
+            int iteration = i;
+            samples.time(() -> action.accept(iteration));
+        }
+        return samples.stats();
+    }
+
+    /** p (0~1) 백분위 값 (nearest-rank, sorted 는 오름차순) */
+    public static long percentile(long[] sorted, double p) {
+        int idx = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(idx, sorted.length - 1))];
+    }
+
+    /**
+     * 측정값 모음 (time() 으로 감싼 구간만 기록)
+     */
+    public static final class Samples {
+
+        private long[] micros;
+        private int size;
+
+        public Samples(int expected) {
+            this.micros = new long[Math.max(expected, 1)];
+        }
+
+        public void time(Runnable action) {
+            long start = System.nanoTime();
+            action.run();
+            add((System.nanoTime() - start) / 1_000);
+        }
+
+        private void add(long elapsedMicros) {
+            if (size == micros.length) {
+                micros = Arrays.copyOf(micros, size * 2);
+            }
+            micros[size++] = elapsedMicros;
+        }
+
+        public Stats stats() {
+            if (size == 0) {
+                throw new IllegalStateException("측정값이 없습니다.");
+            }
+            long[] sorted = Arrays.copyOf(micros, size);
+            Arrays.sort(sorted);
+            return new Stats(
+                    sorted.length,
+                    Arrays.stream(sorted).average().orElse(0),
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    sorted[sorted.length - 1]
+            );
+        }
+    }
+
+    /**
+     * latency 분포 (µs)
+     */
+    public record Stats(int samples, double avgMicros, long p50Micros, long p95Micros, long maxMicros) {}
+}
@@ -0,0 +1,29 @@
+package JOO.jooshop.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * 테스트용 MySQL (Testcontainers) - 테스트 JVM 당 컨테이너 하나를 띄워 모든 테스트가 공유
+ * - 운영과 같은 MySQL 방언 / 락 동작으로 검증한다. (조건부 UPDATE, FOR UPDATE, ON DUPLICATE KEY)
+ * - 스키마는 application.yml 의 ddl-auto 로 생성
+ */
+public abstract class MySqlContainerTest {
+
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withDatabaseName("shop");
+
+    static {
+        MYSQL.start();
+    }
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl() + "?serverTimezone=UTC&characterEncoding=UTF-8");
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+}
@@ -0,0 +1,119 @@
+package JOO.jooshop.support;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행된 SQL 문 / 읽은 row 수 카운터 (테스트 전용 DataSource 프록시)
+ * - Connection → Statement → ResultSet 을 JDK 프록시로 감싸 execute* 호출 수와 ResultSet.next() 성공 수를 센다.
+ * - QueryCounterConfig 가 컨텍스트의 DataSource 를 감싼다.
+ */
+public final class QueryCounter {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private static final AtomicLong statements = new AtomicLong();
+    private static final AtomicLong selects = new AtomicLong();
+    private static final AtomicLong rows = new AtomicLong();
+
+    private QueryCounter() {
+    }
+
+    public static void reset() {
+        statements.set(0);
+        selects.set(0);
+        rows.set(0);
+    }
+
+    /** 실행된 SQL 문 수 (batch 실행은 1) */
+    public static long statements() {
+        return statements.get();
+    }
+
+    /** 실행된 SELECT 문 수 */
+    public static long selects() {
+        return selects.get();
+    }
+
+    /** 조회 결과로 읽은 row 수 */
+    public static long rows() {
+        return rows.get();
+    }
+
+    public static DataSource wrap(DataSource dataSource) {
+        return (DataSource) proxy(DataSource.class, dataSource, (method, args, result) ->
+                result instanceof Connection connection ? wrapConnection(connection) : result);
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) proxy(Connection.class, connection, (method, args, result) -> {
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            String sql = method.getName().startsWith("prepare") ? String.valueOf(args[0]) : null;
+            return wrapStatement(statement, sql);
+        });
+    }
+
+    private static Statement wrapStatement(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) proxy(type, statement, (method, args, result) -> {
+            String name = method.getName();
+            if (EXECUTE_METHODS.contains(name)) {
+                statements.incrementAndGet();
+                String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? String.valueOf(args[0]) : "";
+                if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                    selects.incrementAndGet();
+                }
+            }
+            if (result instanceof ResultSet resultSet && (name.equals("executeQuery") || name.equals("getResultSet"))) {
+                return wrapResultSet(resultSet);
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return (ResultSet) proxy(ResultSet.class, resultSet, (method, args, result) -> {
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows.incrementAndGet();
+            }
+            return result;
+        });
+    }
+
+    // 실제 호출 결과를 handler 가 감싸서 돌려준다. (unwrap 은 원본 그대로)
+    private static Object proxy(Class<?> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && args[0] instanceof Class<?> c && c.isInstance(target)) {
+                return target;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return handler.handle(method, args, result);
+        };
+        return Proxy.newProxyInstance(QueryCounter.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args, Object result);
+    }
+}
@@ -0,0 +1,24 @@
+package JOO.jooshop.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * 컨텍스트의 DataSource 를 QueryCounter 프록시로 교체 (@Import 로 사용)
+ */
+@TestConfiguration
+public class QueryCounterConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? QueryCounter.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
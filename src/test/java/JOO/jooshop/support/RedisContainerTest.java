@@ -0,0 +1,25 @@
+package JOO.jooshop.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * 테스트용 Redis (Testcontainers) - 테스트 JVM 당 컨테이너 하나를 띄워 모든 테스트가 공유
+ * - RedisConfig 가 spring.data.redis.host / port 로 연결한다.
+ */
+public abstract class RedisContainerTest {
+
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine")
+            .withExposedPorts(6379);
+
+    static {
+        REDIS.start();
+    }
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+}